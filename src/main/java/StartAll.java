@@ -1,8 +1,16 @@
 import lombok.extern.slf4j.Slf4j;
+import utils.Bot;
+import utils.JobUtils;
+import utils.RunReport;
 
-// 并发相关导入不再需要
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Slf4j
 public class StartAll {
@@ -14,24 +22,102 @@ public class StartAll {
     private static final String PLATFORM_LAGOU = "lagou";
     private static final String PLATFORM_ZHILIAN = "zhilian";
     private static final String ALL_PLATFORMS = "all";
+    private static final String PARALLEL_FLAG = "--parallel";
+
+    // 各平台的入口类，入口类提供isLoginValid()，顺序模式下据此离线判断是否需要扫码
+    // Boss通过BossAccounts启动，配置了accounts时按账号投递，否则按单账号运行
+    private static final Map<String, String> CLASS_NAMES = Map.of(
+            PLATFORM_BOSS, "boss.BossAccounts",
+            PLATFORM_LIEPIN, "liepin.Liepin",
+            PLATFORM_JOB51, "job51.Job51",
+            PLATFORM_LAGOU, "lagou.Lagou",
+            PLATFORM_ZHILIAN, "zhilian.ZhiLian");
+
+    /**
+     * 单个平台的执行结果
+     *
+     * @param platform  平台名称
+     * @param submitted 投递（发起聊天）的岗位数量
+     * @param skipped   跳过的已投递或重复岗位数量
+     * @param millis    耗时（毫秒）
+     * @param error     失败原因，成功时为null
+     */
+    private record PlatformResult(String platform, int submitted, int skipped, long millis, String error) {
+    }
 
     public static void main(String[] args) {
         // 解析命令行参数，确定要运行的平台
         Set<String> platformsToRun = parsePlatformArgs(args);
         log.info("将执行的招聘平台: {}", platformsToRun);
 
-        // 顺序执行各平台，避免并发覆盖全局驱动
+        int parallelism = parseParallelism(args);
+        if (parallelism != 0) {
+            runParallel(platformsToRun, parallelism);
+            return;
+        }
+
+        runSequential(platformsToRun);
+    }
+
+    /**
+     * 顺序执行各平台
+     * 登录状态文件缺失或已过期的平台需要扫码，放到单独的线程中先行启动，扫码完成后自动继续投递；
+     * 已登录的平台在当前线程中按原顺序执行，不再被扫码等待阻塞。
+     *
+     * @param platformsToRun 要运行的平台
+     */
+    private static void runSequential(Set<String> platformsToRun) {
+        List<String> ready = new ArrayList<>();
+        List<String> needLogin = new ArrayList<>();
+        for (String platform : List.of(PLATFORM_JOB51, PLATFORM_LAGOU, PLATFORM_ZHILIAN, PLATFORM_LIEPIN, PLATFORM_BOSS)) {
+            if (!platformsToRun.contains(platform)) {
+                continue;
+            }
+            if (isLoginValid(CLASS_NAMES.get(platform))) {
+                ready.add(platform);
+            } else {
+                needLogin.add(platform);
+            }
+        }
+
+        List<Thread> loginThreads = new ArrayList<>();
+        if (!needLogin.isEmpty()) {
+            log.info("需要扫码登录的平台: {}，在单独线程中等待扫码，其余平台先行投递", needLogin);
+            // 多个平台同时运行，各平台结束时不再停止日志上下文
+            JobUtils.setSharedRun(true);
+        }
+        for (String platform : needLogin) {
+            Thread thread = new Thread(() -> {
+                try {
+                    executeTask(CLASS_NAMES.get(platform));
+                } catch (Exception e) {
+                    log.error("执行 {} 时发生错误: {}", platform, e.getMessage());
+                }
+            }, "login-" + platform);
+            thread.start();
+            loginThreads.add(thread);
+        }
+
         try {
-            if (platformsToRun.contains(PLATFORM_JOB51)) { log.info("执行 Job51..."); executeTask("job51.Job51"); }
-            if (platformsToRun.contains(PLATFORM_LAGOU)) { log.info("执行 Lagou..."); executeTask("lagou.Lagou"); }
-            if (platformsToRun.contains(PLATFORM_ZHILIAN)) { log.info("执行 Zhilian..."); executeTask("zhilian.ZhiLian"); }
-            if (platformsToRun.contains(PLATFORM_LIEPIN)) { log.info("执行 Liepin..."); executeTask("liepin.Liepin"); }
-            if (platformsToRun.contains(PLATFORM_BOSS)) { log.info("执行 Boss..."); executeTask("boss.Boss"); }
+            for (String platform : ready) {
+                log.info("执行 {}...", platform);
+                executeTask(CLASS_NAMES.get(platform));
+            }
         } catch (Exception e) {
             log.error("顺序执行任务时发生错误: {}", e.getMessage(), e);
         }
+
+        for (Thread thread : loginThreads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("等待扫码平台结束时被中断");
+            }
+        }
+        JobUtils.setSharedRun(false);
     }
-    
+
     /**
      * 解析命令行参数，确定要运行的招聘平台
      * @param args 命令行参数
@@ -53,6 +139,9 @@ public class StartAll {
         // 根据参数添加相应的平台
         for (String arg : args) {
             String lowerArg = arg.toLowerCase();
+            if (lowerArg.startsWith(PARALLEL_FLAG)) {
+                continue;
+            }
             if (PLATFORM_BOSS.equals(lowerArg)) {
                 platforms.add(PLATFORM_BOSS);
             } else if (PLATFORM_LIEPIN.equals(lowerArg)) {
@@ -70,7 +159,9 @@ public class StartAll {
         
         // 如果没有有效的平台参数，默认运行所有平台
         if (platforms.isEmpty()) {
-            log.warn("没有提供有效的平台参数，将运行所有平台");
+            if (args.length > 1 || !args[0].toLowerCase().startsWith(PARALLEL_FLAG)) {
+                log.warn("没有提供有效的平台参数，将运行所有平台");
+            }
             platforms.add(PLATFORM_BOSS);
             platforms.add(PLATFORM_LIEPIN);
             platforms.add(PLATFORM_JOB51);
@@ -81,6 +172,135 @@ public class StartAll {
         return platforms;
     }
     
+    /**
+     * 解析并行参数，支持 --parallel 与 --parallel=N 两种写法
+     * @param args 命令行参数
+     * @return 并行工作线程数，0表示顺序执行，-1表示线程数与通道数一致
+     */
+    private static int parseParallelism(String[] args) {
+        for (String arg : args) {
+            String lowerArg = arg.toLowerCase();
+            if (PARALLEL_FLAG.equals(lowerArg)) {
+                return -1;
+            }
+            if (lowerArg.startsWith(PARALLEL_FLAG + "=")) {
+                try {
+                    return Math.max(1, Integer.parseInt(lowerArg.substring(PARALLEL_FLAG.length() + 1)));
+                } catch (NumberFormatException e) {
+                    log.warn("无效的并行参数: {}，将按通道数并行", arg);
+                    return -1;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 并行执行各平台
+     * 每个平台持有独立的浏览器会话（Playwright实例或BrowserSession），各自成为一个通道
+     *
+     * @param platformsToRun 要运行的平台
+     * @param parallelism    工作线程数，-1表示与通道数一致
+     */
+    private static void runParallel(Set<String> platformsToRun, int parallelism) {
+        List<List<String>> lanes = new ArrayList<>();
+        if (platformsToRun.contains(PLATFORM_JOB51)) lanes.add(List.of(PLATFORM_JOB51));
+        if (platformsToRun.contains(PLATFORM_LAGOU)) lanes.add(List.of(PLATFORM_LAGOU));
+        if (platformsToRun.contains(PLATFORM_ZHILIAN)) lanes.add(List.of(PLATFORM_ZHILIAN));
+        if (platformsToRun.contains(PLATFORM_LIEPIN)) lanes.add(List.of(PLATFORM_LIEPIN));
+        if (platformsToRun.contains(PLATFORM_BOSS)) lanes.add(List.of(PLATFORM_BOSS));
+
+        int workers = parallelism < 0 ? lanes.size() : Math.min(parallelism, lanes.size());
+        log.info("并行模式启动，通道数: {}，工作线程数: {}", lanes.size(), workers);
+
+        // 各平台结束时不再停止日志上下文，避免影响其他仍在运行的平台
+        JobUtils.setSharedRun(true);
+        long start = System.currentTimeMillis();
+        List<Future<List<PlatformResult>>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, workers));
+        try {
+            for (List<String> lane : lanes) {
+                futures.add(executor.submit(() -> runLane(lane)));
+            }
+            List<PlatformResult> results = new ArrayList<>();
+            for (Future<List<PlatformResult>> future : futures) {
+                try {
+                    results.addAll(future.get());
+                } catch (Exception e) {
+                    log.error("获取平台执行结果失败: {}", e.getMessage(), e);
+                }
+            }
+            printSummary(results, System.currentTimeMillis() - start);
+        } finally {
+            executor.shutdownNow();
+            JobUtils.setSharedRun(false);
+        }
+    }
+
+    /**
+     * 在当前线程中顺序执行一个通道内的所有平台，单个平台失败不影响后续平台
+     * @param platforms 要执行的平台列表
+     * @return 各平台的执行结果
+     */
+    private static List<PlatformResult> runLane(List<String> platforms) {
+        List<PlatformResult> results = new ArrayList<>();
+        for (String platform : platforms) {
+            results.add(runPlatform(platform));
+        }
+        return results;
+    }
+
+    /**
+     * 执行单个平台并取出其登记的结果
+     * 各平台的main方法自行捕获异常，成败以平台登记到RunReport的失败原因为准；
+     * 没有登记结果时说明平台在输出结果前就已退出，同样视为失败
+     * @param platform 平台名称
+     * @return 执行结果
+     */
+    private static PlatformResult runPlatform(String platform) {
+        long begin = System.currentTimeMillis();
+        // 清除上一次运行遗留的结果
+        RunReport.take(platform);
+        String error = null;
+        try {
+            executeTask(CLASS_NAMES.get(platform));
+        } catch (Exception e) {
+            error = e.getMessage();
+        }
+        RunReport.Result report = RunReport.take(platform);
+        if (error == null) {
+            error = report == null ? "未登记投递结果" : report.error();
+        }
+        return new PlatformResult(platform, report == null ? 0 : report.submitted(), report == null ? 0 : report.skipped(),
+                System.currentTimeMillis() - begin, error);
+    }
+
+    /**
+     * 汇总输出各平台执行结果
+     * @param results     各平台执行结果
+     * @param totalMillis 总耗时（毫秒）
+     */
+    private static void printSummary(List<PlatformResult> results, long totalMillis) {
+        StringBuilder sb = new StringBuilder("\n并行投递完成，总用时").append(JobUtils.formatDuration(totalMillis / 1000));
+        for (PlatformResult result : results) {
+            sb.append("\n【").append(result.platform()).append("】")
+                    .append(result.error() == null ? "成功" : "失败")
+                    .append("，投递").append(result.submitted()).append("个")
+                    .append("，跳过").append(result.skipped()).append("个")
+                    .append("，用时").append(JobUtils.formatDuration(result.millis() / 1000));
+            if (result.error() != null) {
+                sb.append("，原因: ").append(result.error());
+            }
+        }
+        String message = sb.toString();
+        log.info(message);
+        try {
+            Bot.sendMessageByTime(message);
+        } catch (Exception e) {
+            log.error("发送消息失败: {}", e.getMessage());
+        }
+    }
+
     /**
      * 检查参数数组是否包含"all"关键字
      * @param args 参数数组
@@ -95,6 +315,21 @@ public class StartAll {
         return false;
     }
 
+    /**
+     * 使用反射调用指定类的isLoginValid方法，离线检查该平台的登录状态
+     *
+     * @param className 平台入口类名
+     * @return 登录状态是否有效，检查失败时按需要扫码处理
+     */
+    private static boolean isLoginValid(String className) {
+        try {
+            return (Boolean) Class.forName(className).getMethod("isLoginValid").invoke(null);
+        } catch (Exception e) {
+            log.warn("检查 {} 的登录状态失败: {}", className, e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * 使用反射直接调用指定类的main方法
      *
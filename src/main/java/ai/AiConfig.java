@@ -20,6 +20,26 @@ public class AiConfig {
      */
     private String prompt;
 
+    /**
+     * 相似JD复用AI结论的阈值：清洗后JD的SimHash汉明距离不超过该值时直接复用已有结论，默认3，0只复用几乎相同的JD，-1关闭
+     */
+    private Integer verdictDistance;
+
+    /**
+     * AI回复缓存的有效天数，相同模型与提示词在有效期内直接返回缓存的回复，默认7，0关闭缓存
+     */
+    private Integer cacheTtlDays;
+
+    /**
+     * AI回复磁盘缓存的容量上限（MB），超出时删除最久未使用的回复，默认50
+     */
+    private Integer cacheMaxMb;
+
+    /**
+     * AI回复内存缓存的条数，默认200
+     */
+    private Integer cacheMemoryEntries;
+
     public AiConfig() {
     }
 
@@ -30,7 +50,12 @@ public class AiConfig {
 
     public static AiConfig init() {
         AiConfig config = JobUtils.getConfig(AiConfig.class);
-        return new AiConfig(config.introduce, config.prompt);
+        AiConfig result = new AiConfig(config.introduce, config.prompt);
+        result.verdictDistance = config.verdictDistance == null ? 3 : config.verdictDistance;
+        result.cacheTtlDays = config.cacheTtlDays == null || config.cacheTtlDays < 0 ? 7 : config.cacheTtlDays;
+        result.cacheMaxMb = config.cacheMaxMb == null || config.cacheMaxMb <= 0 ? 50 : config.cacheMaxMb;
+        result.cacheMemoryEntries = config.cacheMemoryEntries == null || config.cacheMemoryEntries < 0 ? 200 : config.cacheMemoryEntries;
+        return result;
     }
 
 }
@@ -0,0 +1,241 @@
+package ai;
+
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * AI回复缓存
+ * 相同的关键词、岗位名称、JD与相同的提示词、介绍语组合在多次运行、多个平台之间会重复发送，
+ * 以模型、参数与完整提示词（模板填充后的内容）的SHA-256为键缓存回复，命中时不再请求AI。
+ * 前面是按访问顺序淘汰的内存LRU，后面是磁盘目录，每条回复一个文件，命中时更新文件修改时间；
+ * 超过有效期的回复视为未命中并删除，磁盘占用超过上限时按修改时间删除最久未使用的文件。
+ */
+@Slf4j
+public class AiResponseCache {
+
+    private static final Path DIR = Paths.get("src/main/java/ai/cache");
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    /**
+     * 每写入多少条检查一次磁盘容量
+     */
+    private static final int EVICT_INTERVAL = 50;
+
+    private record Entry(AiService.Reply reply, long created) {
+    }
+
+    private final Path dir;
+    private final long ttlMillis;
+    private final long maxBytes;
+    private final Map<String, Entry> memory;
+    private int memoryHits;
+    private int diskHits;
+    private int misses;
+    private int writes;
+
+    private AiResponseCache(Path dir, int ttlDays, int maxMb, int memoryEntries) {
+        this.dir = dir;
+        this.ttlMillis = ttlDays * DAY_MILLIS;
+        this.maxBytes = maxMb * 1024L * 1024L;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > memoryEntries;
+            }
+        };
+    }
+
+    /**
+     * 按ai配置创建缓存，读取配置失败时使用默认值
+     */
+    public static AiResponseCache open() {
+        int ttlDays = 7;
+        int maxMb = 50;
+        int memoryEntries = 200;
+        try {
+            AiConfig config = AiConfig.init();
+            ttlDays = config.getCacheTtlDays();
+            maxMb = config.getCacheMaxMb();
+            memoryEntries = config.getCacheMemoryEntries();
+        } catch (Exception e) {
+            log.warn("读取AI缓存配置失败，使用默认配置: {}", e.getMessage());
+        }
+        AiResponseCache cache = new AiResponseCache(DIR, ttlDays, maxMb, memoryEntries);
+        if (cache.isEnabled()) {
+            cache.evict();
+        }
+        return cache;
+    }
+
+    /**
+     * 缓存键：各部分依次计算SHA-256
+     */
+    public static String key(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 查询缓存，命中时返回的用量为原请求消耗的token数
+     *
+     * @return 缓存的回复，未命中返回null
+     */
+    public synchronized AiService.Reply get(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = memory.get(key);
+        if (entry != null && now - entry.created() <= ttlMillis) {
+            memoryHits++;
+            return entry.reply();
+        }
+        if (entry != null) {
+            memory.remove(key);
+        }
+        Path file = dir.resolve(key + ".json");
+        try {
+            if (Files.exists(file)) {
+                JSONObject json = new JSONObject(Files.readString(file, StandardCharsets.UTF_8));
+                long created = json.getLong("created");
+                if (now - created <= ttlMillis) {
+                    AiService.Reply reply = new AiService.Reply(json.getString("content"), json.optInt("tokens"));
+                    memory.put(key, new Entry(reply, created));
+                    Files.setLastModifiedTime(file, FileTime.fromMillis(now));
+                    diskHits++;
+                    return reply;
+                }
+                Files.deleteIfExists(file);
+            }
+        } catch (Exception e) {
+            log.warn("读取AI回复缓存失败: {} - {}", file, e.getMessage());
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * 缓存成功的回复，内容为空（请求失败）时不缓存
+     */
+    public synchronized void put(String key, AiService.Reply reply) {
+        if (!isEnabled() || reply == null || reply.content().isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        memory.put(key, new Entry(reply, now));
+        JSONObject json = new JSONObject()
+                .put("created", now)
+                .put("content", reply.content())
+                .put("tokens", reply.totalTokens());
+        try {
+            Files.createDirectories(dir);
+            Path temp = dir.resolve(key + ".tmp");
+            Files.writeString(temp, json.toString(), StandardCharsets.UTF_8);
+            Files.move(temp, dir.resolve(key + ".json"), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("写入AI回复缓存失败: {}", e.getMessage());
+        }
+        if (++writes % EVICT_INTERVAL == 0) {
+            evict();
+        }
+    }
+
+    public synchronized int hits() {
+        return memoryHits + diskHits;
+    }
+
+    public synchronized int misses() {
+        return misses;
+    }
+
+    /**
+     * 本次运行的统计
+     */
+    public synchronized String stats() {
+        int hits = hits();
+        int total = hits + misses;
+        double rate = total == 0 ? 0 : hits * 100.0 / total;
+        return String.format("AI回复缓存命中%d次（内存%d次，磁盘%d次），未命中%d次，命中率%.1f%%",
+                hits, memoryHits, diskHits, misses, rate);
+    }
+
+    private boolean isEnabled() {
+        return ttlMillis > 0;
+    }
+
+    /**
+     * 删除过期文件，磁盘占用超过上限时从最久未使用的文件开始删除
+     * 命中时会更新修改时间，修改时间早于有效期的文件一定已经过期
+     */
+    private void evict() {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Path> files = new ArrayList<>();
+        List<Long> times = new ArrayList<>();
+        long total = 0;
+        int removed = 0;
+        try (Stream<Path> stream = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) stream::iterator) {
+                if (!file.getFileName().toString().endsWith(".json")) {
+                    continue;
+                }
+                long modified = Files.getLastModifiedTime(file).toMillis();
+                if (now - modified > ttlMillis) {
+                    Files.deleteIfExists(file);
+                    removed++;
+                    continue;
+                }
+                files.add(file);
+                times.add(modified);
+                total += Files.size(file);
+            }
+            if (total > maxBytes) {
+                List<Integer> order = new ArrayList<>();
+                for (int i = 0; i < files.size(); i++) {
+                    order.add(i);
+                }
+                order.sort(Comparator.comparingLong(times::get));
+                for (int i : order) {
+                    if (total <= maxBytes) {
+                        break;
+                    }
+                    total -= Files.size(files.get(i));
+                    Files.deleteIfExists(files.get(i));
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("清理AI回复缓存失败: {}", e.getMessage());
+        }
+        if (removed > 0) {
+            log.info("已清理AI回复缓存{}条，剩余占用{}KB", removed, total / 1024);
+        }
+    }
+}
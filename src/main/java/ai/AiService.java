@@ -9,12 +9,15 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
 
 /**
  * @author loks666
@@ -28,20 +31,75 @@ public class AiService {
     private static final String API_KEY = dotenv.get("API_KEY");
     private static final String MODEL = dotenv.get("MODEL");
 
+    /**
+     * 连接超时与单次请求超时，单位：秒
+     */
+    private static final int CONNECT_TIMEOUT_SECONDS = 10;
+    private static final int REQUEST_TIMEOUT_SECONDS = 60;
+
+    /**
+     * 所有请求共用一个客户端，复用连接，HTTP/2下同一连接上并发多个请求，不再为每个JD重新握手；
+     * 客户端内部任务与回调在虚拟线程上执行
+     */
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(CONNECT_TIMEOUT_SECONDS))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private static final Reply EMPTY = new Reply("", 0);
+    private static final double TEMPERATURE = 0.5;
+
+    /**
+     * 相同模型与提示词的回复缓存，跨运行、跨平台复用
+     */
+    private static final AiResponseCache CACHE = AiResponseCache.open();
+
+    /**
+     * AI回复内容与本次请求消耗的token数，请求失败时内容为空、用量为0，命中缓存时为原请求的用量
+     */
+    public record Reply(String content, int totalTokens) {
+    }
 
     public static String sendRequest(String content) {
-        // 设置超时时间，单位：秒
-        int timeoutInSeconds = 60;  // 你可以修改这个变量来设置超时时间
+        return request(content).content();
+    }
 
-        // 创建 HttpClient 实例并设置超时
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(timeoutInSeconds))  // 设置连接超时
-                .build();
+    public static Reply request(String content) {
+        return requestAsync(content).join();
+    }
+
+    /**
+     * 回复缓存，可读取命中与未命中次数
+     */
+    public static AiResponseCache cache() {
+        return CACHE;
+    }
+
+    /**
+     * 异步发送请求，不占用调用线程，可同时发出多个检测请求
+     *
+     * @return AI回复内容，失败时为空字符串
+     */
+    public static CompletableFuture<String> sendRequestAsync(String content) {
+        return requestAsync(content).thenApply(Reply::content);
+    }
+
+    /**
+     * 异步发送请求，失败、超时都不抛出异常，返回内容为空的Reply
+     */
+    public static CompletableFuture<Reply> requestAsync(String content) {
+        // 提示词模板已填充在content中，相同模型、参数与内容直接返回缓存
+        String cacheKey = AiResponseCache.key(MODEL, String.valueOf(TEMPERATURE), content);
+        Reply cached = CACHE.get(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
 
         // 构建 JSON 请求体
         JSONObject requestData = new JSONObject();
         requestData.put("model", MODEL);
-        requestData.put("temperature", 0.5);
+        requestData.put("temperature", TEMPERATURE);
 
         // 添加消息内容
         JSONArray messages = new JSONArray();
@@ -52,64 +110,65 @@ public class AiService {
 
         requestData.put("messages", messages);
 
-        // 构建 HTTP 请求
+        // 构建 HTTP 请求，超时从发出请求到收到响应头为止
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(BASE_URL))
+                .timeout(Duration.ofSeconds(REQUEST_TIMEOUT_SECONDS))
                 .header("Content-Type", "application/json")
                 .header("Authorization", "Bearer " + API_KEY)
                 .POST(HttpRequest.BodyPublishers.ofString(requestData.toString()))
                 .build();
 
-        // 创建线程池用于执行请求
-        ExecutorService executor = Executors.newSingleThreadExecutor();
-        Callable<HttpResponse<String>> task = () -> client.send(request, HttpResponse.BodyHandlers.ofString());
+        return CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(AiService::parse)
+                .thenApply(reply -> {
+                    CACHE.put(cacheKey, reply);
+                    return reply;
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof HttpTimeoutException) {
+                        log.error("请求超时！超时设置为 {} 秒", REQUEST_TIMEOUT_SECONDS);
+                    } else {
+                        log.error("AI请求异常！", cause);
+                    }
+                    return EMPTY;
+                });
+    }
 
-        // 提交请求并控制超时
-        Future<HttpResponse<String>> future = executor.submit(task);
-        try {
-            // 使用 future.get 设置超时
-            HttpResponse<String> response = future.get(timeoutInSeconds, TimeUnit.SECONDS);
-
-            if (response.statusCode() == 200) {
-                // 解析响应体
-                log.info(response.body());
-                JSONObject responseObject = new JSONObject(response.body());
-                String requestId = responseObject.getString("id");
-                long created = responseObject.getLong("created");
-                String model = responseObject.getString("model");
-
-                // 解析返回的内容
-                JSONObject messageObject = responseObject.getJSONArray("choices")
-                        .getJSONObject(0)
-                        .getJSONObject("message");
-                String responseContent = messageObject.getString("content");
-
-                // 解析 usage 部分
-                JSONObject usageObject = responseObject.getJSONObject("usage");
-                int promptTokens = usageObject.getInt("prompt_tokens");
-                int completionTokens = usageObject.getInt("completion_tokens");
-                int totalTokens = usageObject.getInt("total_tokens");
-
-                // 格式化时间
-                LocalDateTime createdTime = Instant.ofEpochSecond(created)
-                        .atZone(ZoneId.systemDefault())
-                        .toLocalDateTime();
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-                String formattedTime = createdTime.format(formatter);
-
-                log.info("请求ID: {}, 创建时间: {}, 模型名: {}, 提示词: {}, 补全: {}, 总用量: {}", requestId, formattedTime, model, promptTokens, completionTokens, totalTokens);
-                return responseContent;
-            } else {
-                log.error("AI请求失败！状态码: {}", response.statusCode());
-            }
-        } catch (TimeoutException e) {
-            log.error("请求超时！超时设置为 {} 秒", timeoutInSeconds);
-        } catch (Exception e) {
-            log.error("AI请求异常！", e);
-        } finally {
-            executor.shutdownNow();  // 关闭线程池
+    private static Reply parse(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            log.error("AI请求失败！状态码: {}", response.statusCode());
+            return EMPTY;
         }
-        return "";
+        // 解析响应体
+        log.info(response.body());
+        JSONObject responseObject = new JSONObject(response.body());
+        String requestId = responseObject.getString("id");
+        long created = responseObject.getLong("created");
+        String model = responseObject.getString("model");
+
+        // 解析返回的内容
+        JSONObject messageObject = responseObject.getJSONArray("choices")
+                .getJSONObject(0)
+                .getJSONObject("message");
+        String responseContent = messageObject.getString("content");
+
+        // 解析 usage 部分
+        JSONObject usageObject = responseObject.getJSONObject("usage");
+        int promptTokens = usageObject.getInt("prompt_tokens");
+        int completionTokens = usageObject.getInt("completion_tokens");
+        int totalTokens = usageObject.getInt("total_tokens");
+
+        // 格式化时间
+        LocalDateTime createdTime = Instant.ofEpochSecond(created)
+                .atZone(ZoneId.systemDefault())
+                .toLocalDateTime();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        String formattedTime = createdTime.format(formatter);
+
+        log.info("请求ID: {}, 创建时间: {}, 模型名: {}, 提示词: {}, 补全: {}, 总用量: {}", requestId, formattedTime, model, promptTokens, completionTokens, totalTokens);
+        return new Reply(responseContent, totalTokens);
     }
 
 
@@ -0,0 +1,245 @@
+package ai;
+
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 相似JD的AI结论缓存
+ * 公司换个岗位ID或城市重新发布同一份JD时，不再重复请求AI，直接复用之前的结论与打招呼语。
+ * 对清洗后的JD（AiService.cleanBossDesc）去掉空白与标点，取字符三元组计算64位SimHash指纹，
+ * 与缓存中提示词上下文（关键词、岗位名称、介绍语、提示词等）相同的记录比较，汉明距离不超过阈值即视为同一份JD。
+ * 记录以JSON Lines追加保存，每行包含指纹、上下文、结论、打招呼语与当时消耗的token数，重启后继续复用。
+ * 记录数量有限，查找直接逐条比较指纹的汉明距离（一次异或加popcount）。
+ */
+@Slf4j
+public class JdVerdictCache implements AutoCloseable {
+
+    /**
+     * 清洗后少于该长度的JD信息太少，不参与复用
+     */
+    private static final int MIN_LENGTH = 30;
+    private static final int SHINGLE = 3;
+    private static final int MAX_ENTRIES = 5000;
+
+    private record Entry(long fingerprint, int context, boolean result, String greeting, int tokens) {
+    }
+
+    private final Path file;
+    private final int maxDistance;
+    private final List<Entry> entries = new ArrayList<>();
+    private BufferedWriter writer;
+    private int lookups;
+    private int hits;
+    private long tokensSaved;
+
+    private JdVerdictCache(Path file, int maxDistance) {
+        this.file = file;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * 打开缓存文件，不存在时在首次写入时创建
+     *
+     * @param path        缓存文件路径
+     * @param maxDistance 复用的最大汉明距离，小于0时不复用也不记录
+     */
+    public static JdVerdictCache open(String path, int maxDistance) {
+        JdVerdictCache cache = new JdVerdictCache(Paths.get(path), maxDistance);
+        if (maxDistance >= 0) {
+            cache.load();
+        }
+        return cache;
+    }
+
+    /**
+     * 提示词上下文，结论只在相同上下文之间复用
+     */
+    public static int context(String... parts) {
+        return String.join("\u0001", parts).hashCode();
+    }
+
+    /**
+     * 查找相似JD的结论，命中时计入命中次数与节省的token
+     *
+     * @param jd      清洗后的JD
+     * @param context 提示词上下文
+     * @return 复用的结论，未命中返回null
+     */
+    public synchronized AiFilter find(String jd, int context) {
+        lookups++;
+        String text = normalize(jd);
+        if (maxDistance < 0 || text.length() < MIN_LENGTH) {
+            return null;
+        }
+        long fingerprint = fingerprint(text);
+        Entry best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Entry entry : entries) {
+            if (entry.context() != context) {
+                continue;
+            }
+            int distance = Long.bitCount(entry.fingerprint() ^ fingerprint);
+            if (distance <= maxDistance && distance < bestDistance) {
+                best = entry;
+                bestDistance = distance;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        hits++;
+        tokensSaved += best.tokens();
+        return best.result() ? new AiFilter(true, best.greeting()) : new AiFilter(false);
+    }
+
+    /**
+     * 记录AI结论
+     *
+     * @param jd      清洗后的JD
+     * @param context 提示词上下文
+     * @param verdict AI结论
+     * @param tokens  本次请求消耗的token数
+     */
+    public synchronized void put(String jd, int context, AiFilter verdict, int tokens) {
+        String text = normalize(jd);
+        if (maxDistance < 0 || text.length() < MIN_LENGTH || verdict == null) {
+            return;
+        }
+        Entry entry = new Entry(fingerprint(text), context, Boolean.TRUE.equals(verdict.getResult()),
+                verdict.getMessage() == null ? "" : verdict.getMessage(), tokens);
+        entries.add(entry);
+        try {
+            if (writer == null) {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(format(entry));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("写入AI结论缓存失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 本次运行的统计
+     */
+    public synchronized String stats() {
+        double rate = lookups == 0 ? 0 : hits * 100.0 / lookups;
+        return String.format("AI检测%d次，复用相似JD结论%d次，命中率%.1f%%，节省约%d tokens", lookups, hits, rate, tokensSaved);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("关闭AI结论缓存失败: {}", e.getMessage());
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * 64位SimHash，特征为字符三元组，权重为出现次数
+     */
+    static long fingerprint(String text) {
+        int[] weights = new int[64];
+        for (int i = 0; i + SHINGLE <= text.length(); i++) {
+            long hash = mix(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += (hash >>> bit & 1) == 1 ? 1 : -1;
+            }
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 去掉空白、标点与符号并转为小写，排版差异不影响指纹
+     */
+    static String normalize(String jd) {
+        return jd == null ? "" : jd.replaceAll("[\\s\\p{P}\\p{S}]", "").toLowerCase();
+    }
+
+    /**
+     * MurmurHash3的64位混合函数
+     */
+    private static long mix(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return x;
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        int lines = 0;
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines++;
+                JSONObject json = new JSONObject(line);
+                entries.add(new Entry(Long.parseUnsignedLong(json.getString("fingerprint"), 16), json.getInt("context"),
+                        json.getBoolean("result"), json.optString("greeting"), json.optInt("tokens")));
+            }
+        } catch (Exception e) {
+            log.warn("读取AI结论缓存失败: {} - {}", file, e.getMessage());
+        }
+        if (entries.size() > MAX_ENTRIES) {
+            entries.subList(0, entries.size() - MAX_ENTRIES).clear();
+        }
+        log.info("已加载AI结论缓存{}条: {}", entries.size(), file);
+        if (lines > MAX_ENTRIES * 2) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        List<String> lines = new ArrayList<>(entries.size());
+        entries.forEach(entry -> lines.add(format(entry)));
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("已压缩AI结论缓存: {}，保留{}条", file, lines.size());
+        } catch (IOException e) {
+            log.warn("压缩AI结论缓存失败: {}", e.getMessage());
+        }
+    }
+
+    private static String format(Entry entry) {
+        return new JSONObject()
+                .put("fingerprint", Long.toHexString(entry.fingerprint()))
+                .put("context", entry.context())
+                .put("result", entry.result())
+                .put("greeting", entry.greeting())
+                .put("tokens", entry.tokens())
+                .toString();
+    }
+}
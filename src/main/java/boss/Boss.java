@@ -3,8 +3,11 @@ package boss;
 import ai.AiConfig;
 import ai.AiFilter;
 import ai.AiService;
+import ai.JdVerdictCache;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.LoadState;
 import lombok.SneakyThrows;
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -13,8 +16,6 @@ import utils.*;
 
 import java.io.File;
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 import java.net.URL;
 import java.net.URLEncoder;
@@ -22,8 +23,15 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static boss.Locators.*;
 import static utils.Bot.sendMessageByTime;
@@ -44,16 +52,165 @@ public class Boss {
     private static final Logger log = LoggerFactory.getLogger(Boss.class);
     static String homeUrl = "https://www.zhipin.com";
     static String baseUrl = "https://www.zhipin.com/web/geek/job?";
-    static Set<String> blackCompanies;
-    static Set<String> blackRecruiters;
-    static Set<String> blackJobs;
-    static List<Job> resultList = new ArrayList<>();
-    static String dataPath = "src/main/java/boss/data.json";
-    static String cookiePath = "src/main/java/boss/cookie.json";
-    static Date startDate;
-    static BossConfig config = BossConfig.init();
+    static final String DEFAULT_DATA_PATH = "src/main/java/boss/data.json";
+    static final String DEFAULT_COOKIE_PATH = "src/main/java/boss/cookie.json";
+    /**
+     * 滚动后等待新卡片出现的超时时间（毫秒）
+     */
+    private static final int SCROLL_LOAD_TIMEOUT = 3000;
+    /**
+     * 登录凭证所在的cookie，用于离线判断登录是否过期
+     */
+    private static final String AUTH_COOKIE = "wt2";
 
-    static {
+    /**
+     * 浏览器资源的键，单账号为boss，多账号为 boss@账号名
+     */
+    private final String platformKey;
+    private final BossConfig config;
+    private final String dataPath;
+    private final String cookiePath;
+    /**
+     * 共享Chromium的调试地址，为null时启动独立浏览器
+     */
+    private final String cdpEndpoint;
+    private Blacklist blackCompanies;
+    private Blacklist blackRecruiters;
+    private Blacklist blackJobs;
+    private final List<Job> resultList = Collections.synchronizedList(new ArrayList<>());
+    private Date startDate;
+    private PagePool detailTabs;
+    /**
+     * 已投递与已查看的岗位，提取列表时先行排除
+     */
+    private AppliedIndex applied;
+    /**
+     * 本次运行中已出现过的岗位，跨城市、关键词与工作线程共享
+     */
+    private JobDedupe dedupe = new JobDedupe();
+    /**
+     * 各平台共用的投递记录，同一岗位已在其他平台投递时跳过
+     */
+    private final CrossPlatformIndex crossPlatform = CrossPlatformIndex.shared();
+    /**
+     * 相似JD的AI结论，开启AI检测时使用
+     */
+    private JdVerdictCache verdicts;
+    /**
+     * 本次运行剩余的投递次数，所有线程共享
+     */
+    private final AtomicInteger submitQuota = new AtomicInteger(Integer.MAX_VALUE);
+    private final SelectorRegistry selectors;
+
+    public Boss(String platformKey, BossConfig config, String dataPath, String cookiePath, String cdpEndpoint) {
+        this.platformKey = platformKey;
+        this.config = config;
+        this.dataPath = dataPath;
+        this.cookiePath = cookiePath;
+        this.cdpEndpoint = cdpEndpoint;
+        this.selectors = SelectorRegistry.of(platformKey);
+        initDataFiles();
+    }
+
+    public static void main(String[] args) {
+        new Boss("boss", BossConfig.init(), DEFAULT_DATA_PATH, DEFAULT_COOKIE_PATH, null).run();
+    }
+
+    /**
+     * 离线检查登录状态是否有效（不打开浏览器），以登录凭证wt2是否存在且未过期为准
+     *
+     * @param cookiePath 账号的cookie文件
+     */
+    public static boolean isLoginValid(String cookiePath) {
+        return PlaywrightUtil.isCookieValid(cookiePath, AUTH_COOKIE);
+    }
+
+    /**
+     * 执行一次完整的投递
+     *
+     * @return 本次新发起聊天的岗位
+     */
+    public List<Job> run() {
+        List<Job> result = new ArrayList<>();
+        try {
+            loadData(dataPath);
+            applied = AppliedIndex.open(Paths.get(dataPath).resolveSibling("applied.log").toString());
+            dedupe = new JobDedupe();
+            if (config.getEnableAI()) {
+                verdicts = JdVerdictCache.open(Paths.get(dataPath).resolveSibling("ai_verdicts.jsonl").toString(),
+                        AiConfig.init().getVerdictDistance());
+            }
+            // 使用 PlayWright 获取岗位（使用平台特定的浏览器实例）
+            PlaywrightUtil.init(platformKey, cdpEndpoint, cookiePath);
+            startDate = new Date();
+            login();
+            // 登录完成后再拦截图片等资源，避免影响扫码登录
+            PlaywrightUtil.enableLeanRouting(platformKey);
+            submitQuota.set(config.getMaxSubmissions() > 0 ? config.getMaxSubmissions() : Integer.MAX_VALUE);
+
+            // 安全处理城市代码列表
+            if (config.getCityCode() != null && !config.getCityCode().isEmpty()) {
+                if (config.getParallelism() > 1) {
+                    postJobsInParallel();
+                } else {
+                    detailTabs = new PagePool(platformKey, PlaywrightUtil.getPageObject(platformKey).context(),
+                            config.getDetailTabs(), config.getDetailTabMaxUses());
+                    detailTabs.warmUp();
+                    config.getCityCode().forEach(cityCode -> {
+                        try {
+                            postJobByCity(cityCode);
+                        } catch (Exception e) {
+                            log.error("处理城市 [{}] 时发生异常: {}", cityCode, e.getMessage());
+                            log.debug("异常详情:", e);
+                        }
+                    });
+                    log.info(detailTabs.stats());
+                }
+            }
+            
+            log.info(selectors.stats());
+            selectors.save();
+            log.info(applied.stats());
+            log.info(crossPlatform.stats());
+            if (verdicts != null) {
+                log.info(verdicts.stats());
+                log.info(AiService.cache().stats());
+            }
+            log.info(resultList.isEmpty() ? "未发起新的聊天..." : "新发起聊天公司如下:\n{}",
+                    resultList.stream().map(Object::toString).collect(Collectors.joining("\n")));
+            result.addAll(resultList);
+            RunReport.record(platformKey, resultList.size(), dedupe.duplicates() + applied.skipped());
+            
+            if (!config.getDebugger()) {
+                printResult();
+            }
+        } catch (Exception e) {
+            log.error("程序运行发生异常: {}", e.getMessage(), e);
+            RunReport.fail(platformKey, e.getMessage());
+        } finally {
+            // 确保资源正确关闭
+            if (detailTabs != null) {
+                detailTabs.close();
+            }
+            if (applied != null) {
+                applied.close();
+            }
+            if (verdicts != null) {
+                verdicts.close();
+            }
+            if (!config.getDebugger()) {
+                try {
+                    PlaywrightUtil.closePlatform(platformKey);
+                    log.info("浏览器资源已释放");
+                } catch (Exception e) {
+                    log.warn("关闭浏览器资源时发生错误: {}", e.getMessage());
+                }
+            }
+        }
+        return result;
+    }
+
+    private void initDataFiles() {
         try {
             // 检查dataPath文件是否存在，不存在则创建
             File dataFile = new File(dataPath);
@@ -88,51 +245,10 @@ public class Boss {
         }
     }
 
-    public static void main(String[] args) {
-        try {
-            loadData(dataPath);
-            // 使用 PlayWright 获取岗位（使用平台特定的浏览器实例）
-            PlaywrightUtil.init("boss");
-            startDate = new Date();
-            login();
-            
-            // 安全处理城市代码列表
-            if (config.getCityCode() != null && !config.getCityCode().isEmpty()) {
-                config.getCityCode().forEach(cityCode -> {
-                    try {
-                        postJobByCity(cityCode);
-                    } catch (Exception e) {
-                        log.error("处理城市 [{}] 时发生异常: {}", cityCode, e.getMessage());
-                        log.debug("异常详情:", e);
-                    }
-                });
-            }
-            
-            log.info(resultList.isEmpty() ? "未发起新的聊天..." : "新发起聊天公司如下:\n{}",
-                    resultList.stream().map(Object::toString).collect(Collectors.joining("\n")));
-            
-            if (!config.getDebugger()) {
-                printResult();
-            }
-        } catch (Exception e) {
-            log.error("程序运行发生异常: {}", e.getMessage(), e);
-        } finally {
-            // 确保资源正确关闭
-            if (!config.getDebugger()) {
-                try {
-                    PlaywrightUtil.close();
-                    log.info("浏览器资源已释放");
-                } catch (Exception e) {
-                    log.warn("关闭浏览器资源时发生错误: {}", e.getMessage());
-                }
-            }
-        }
-    }
-
-    private static void printResult() {
+    private void printResult() {
         try {
-            String message = String.format("\nBoss投递完成，共发起%d个聊天，用时%s", resultList.size(),
-                    formatDuration(startDate, new Date()));
+            String message = String.format("\nBoss投递完成，共发起%d个聊天，跳过重复岗位%d个，用时%s", resultList.size(),
+                    dedupe.duplicates(), formatDuration(startDate, new Date()));
             log.info(message);
             
             // 安全调用sendMessageByTime
@@ -148,142 +264,340 @@ public class Boss {
             // 移除重复的PlaywrightUtil.close()调用，由main方法的finally块处理
             
             // 确保所有日志都被刷新到文件
-            try {
-                Thread.sleep(1000); // 等待1秒确保日志写入完成
-                // 强制刷新日志 - 使用正确的方法
-                ch.qos.logback.classic.LoggerContext loggerContext = (ch.qos.logback.classic.LoggerContext) org.slf4j.LoggerFactory.getILoggerFactory();
-                loggerContext.stop();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            JobUtils.flushLogs();
         } catch (Exception e) {
             log.error("打印结果时发生异常: {}", e.getMessage(), e);
         }
     }
 
-    private static void postJobByCity(String cityCode) {
-        String searchUrl = getSearchUrl(cityCode);
+    private void postJobByCity(String cityCode) {
+        Page page = PlaywrightUtil.getPageObject(platformKey);
         for (String keyword : config.getKeywords()) {
-            int postCount = 0;
-            // 使用 URLEncoder 对关键词进行编码
-            String encodedKeyword = URLEncoder.encode(keyword, StandardCharsets.UTF_8);
+            if (submitQuota.get() <= 0) {
+                log.info("已达到本次投递上限，停止投递");
+                return;
+            }
+            postJobByKeyword(page, detailTabs, cityCode, keyword);
+        }
+    }
+
+    /**
+     * 按城市×关键词并发投递，每个工作线程使用独立的浏览器实例
+     * Playwright对象只能在创建它的线程中使用，因此工作线程各自初始化浏览器，并加载主线程登录后的cookie
+     */
+    private void postJobsInParallel() throws InterruptedException {
+        Queue<String[]> tasks = new ConcurrentLinkedQueue<>();
+        for (String cityCode : config.getCityCode()) {
+            for (String keyword : config.getKeywords()) {
+                tasks.add(new String[]{cityCode, keyword});
+            }
+        }
+        int parallelism = Math.min(config.getParallelism(), tasks.size());
+        log.info("并发投递：共{}个城市×关键词组合，并发数：{}", tasks.size(), parallelism);
+        // 工作线程从cookie文件恢复登录状态
+        PlaywrightUtil.saveCookies(cookiePath, platformKey);
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        for (int i = 1; i <= parallelism; i++) {
+            String workerKey = platformKey + "#" + i;
+            executor.execute(() -> runWorker(workerKey, tasks));
+        }
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+
+    private void runWorker(String workerKey, Queue<String[]> tasks) {
+        try {
+            PlaywrightUtil.init(workerKey, cdpEndpoint, cookiePath);
+            PlaywrightUtil.loadCookies(cookiePath, workerKey);
+            PlaywrightUtil.initStealth(workerKey);
+            PlaywrightUtil.enableLeanRouting(workerKey);
+            Page page = PlaywrightUtil.getPageObject(workerKey);
+            try (PagePool tabs = new PagePool(workerKey, page.context(), config.getDetailTabs(), config.getDetailTabMaxUses())) {
+                tabs.warmUp();
+                String[] task;
+                while (submitQuota.get() > 0 && (task = tasks.poll()) != null) {
+                    try {
+                        postJobByKeyword(page, tabs, task[0], task[1]);
+                    } catch (Exception e) {
+                        log.error("[{}] 处理城市 [{}] 关键词【{}】时发生异常: {}", workerKey, task[0], task[1], e.getMessage());
+                    }
+                }
+                log.info(tabs.stats());
+            }
+        } catch (Exception e) {
+            log.error("[{}] 工作线程异常: {}", workerKey, e.getMessage(), e);
+        } finally {
+            PlaywrightUtil.closePlatform(workerKey);
+        }
+    }
+
+    private void postJobByKeyword(Page page, PagePool tabs, String cityCode, String keyword) {
+        // 使用 URLEncoder 对关键词进行编码
+        String encodedKeyword = URLEncoder.encode(keyword, StandardCharsets.UTF_8);
 
-            String url = searchUrl + "&query=" + encodedKeyword;
-            log.info("投递地址:{}", searchUrl + "&query=" + keyword);
-            com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject("boss");
+        String searchUrl = getSearchUrl(cityCode);
+        String url = searchUrl + "&query=" + encodedKeyword;
+        log.info("投递地址:{}", searchUrl + "&query=" + keyword);
+        // 在打开页面前开始监听列表接口，首屏与滚动加载的岗位都能采集到
+        List<BossListCollector.Listing> listings;
+        try (BossListCollector collector = new BossListCollector(page)) {
             page.navigate(url);
+            WaitEngine.visible(page, JOB_LIST_SELECTOR, 10000);
 
-            // 1. 滚动到底部，加载所有岗位卡片
-            int lastCount = -1;
-            while (true) {
-                // 滑动到底部
-                page.evaluate("window.scrollTo(0, document.body.scrollHeight);");
-                PlaywrightUtil.sleep(1); // 等待加载（可根据速度调整）
+            // 1~2. 滚动加载所有岗位卡片，新卡片挂载后立即继续滚动，安静期内无新卡片即结束并回到顶部
+            int loaded = ScrollLoader.loadAll(page, JOB_LIST_SELECTOR, null, SCROLL_LOAD_TIMEOUT, ScrollLoader.DEFAULT_MAX_ROUNDS);
+            log.info("【{}】岗位已全部加载，总数:{}", keyword, loaded);
+            listings = collector.listings();
+        }
+        // 排除已投递、近期已查看以及本次运行中其他关键词已处理过的岗位，不再请求详情与AI检测
+        int total = listings.size();
+        boolean collected = total > 0;
+        listings.removeIf(listing -> applied.isKnown(listing.job().getJobId()) || !dedupe.firstSeen(listing.job().getJobId()));
+        if (collected) {
+            log.info("【{}】列表接口采集到岗位{}个，排除已知与重复岗位后剩余{}个", keyword, total, listings.size());
+        }
 
-                // 获取所有卡片数
-                Locator cards = page.locator("//ul[contains(@class, 'rec-job-list')]//li[contains(@class, 'job-card-box')]");
-                int currentCount = cards.count();
+        // 3. 优先使用列表接口数据，未采集到时退回逐个点击卡片
+        BossDetailFetcher fetcher = new BossDetailFetcher(page.context());
+        IntFunction<Job> extractor;
+        int count;
+        if (!collected) {
+            log.warn("【{}】未采集到岗位列表接口数据，逐个点击卡片提取", keyword);
+            count = page.locator(JOB_LIST_SELECTOR).count();
+            extractor = i -> extractJob(page, i);
+        } else {
+            count = listings.size();
+            extractor = i -> extractListedJob(page, fetcher, listings.get(i), i);
+        }
 
-                // 判断是否继续滑动
-                if (currentCount == lastCount) {
-                    break; // 没有新内容，跳出循环
-                }
-                lastCount = currentCount;
+        // 4. 流水线处理所有岗位：浏览器线程负责提取与投递，AI检测在后台提前进行
+        Function<Job, AiFilter> scorer = config.getEnableAI() ? job -> scoreJob(keyword, job) : null;
+        int postCount;
+        try (BossPipeline pipeline = new BossPipeline(config.getAiConcurrency(), scorer, job -> tabs.prefetch(job.getHref()))) {
+            postCount = pipeline.run(count, extractor, (job, aiResult) -> resumeSubmission(tabs, job, aiResult));
+        }
+        if (collected) {
+            log.info("【{}】{}", keyword, fetcher.stats());
+        }
+        log.info("【{}】岗位已投递完毕！已投递岗位数量:{}", keyword, postCount);
+    }
+
+    /**
+     * 点击第i个岗位卡片，提取详情并按黑名单、活跃状态、薪资过滤
+     *
+     * @return 符合条件的岗位，不符合条件或提取失败时返回null
+     */
+    private Job extractJob(Page page, int i) {
+        if (submitQuota.get() <= 0) {
+            return null;
+        }
+        try {
+            // 重新获取卡片，避免元素过期
+            Locator card = page.locator(JOB_LIST_SELECTOR).nth(i);
+            // 卡片链接中带有岗位ID，已知岗位不再点击
+            String jobId = jobIdOf(detailHref(null, card));
+            if (applied.isKnown(jobId) || !dedupe.firstSeen(jobId)) {
+                return null;
+            }
+            Locator detailBox = openDetail(page, card);
+            if (detailBox == null) {
+                log.warn("第{}个岗位详情未加载，跳过", i + 1);
+                return null;
             }
-            log.info("【{}】岗位已全部加载，总数:{}", keyword, lastCount);
 
-            // 2. 回到页面顶部
-            page.evaluate("window.scrollTo(0, 0);");
-            PlaywrightUtil.sleep(1);
+            // 一次页面调用读取详情区域的所有字段
+            List<Map<String, String>> details = PlaywrightUtil.extractCards(page, JOB_DETAIL_BOX, JOB_DETAIL_FIELDS);
+            if (details.isEmpty()) {
+                log.warn("第{}个岗位详情未加载，跳过", i + 1);
+                return null;
+            }
+            Map<String, String> detail = details.get(0);
+
+            // 岗位名称
+            String jobName = detail.get("jobName");
+            if (isBlacklisted(blackJobs, jobName, "岗位")) return null;
+            // 薪资
+            String jobSalary = decodeSalary(detail.get("salary"));
+            // 城市/经验/学历
+            String tags = detail.get("tags");
+            // 岗位描述
+            String jobDesc = detail.get("jobInfo");
+            // Boss姓名、活跃
+            String[] bossInfo = splitBossName(detail.get("bossName"));
+            String bossName = bossInfo[0];
+            String bossActive = bossInfo[1];
+            if (config.getDeadStatus().stream().anyMatch(bossActive::contains)) {
+                applied.markSeen(jobId);
+                return null;
+            }
+            // Boss公司/职位
+            String[] bossTitleInfo = splitBossTitle(detail.get("bossTitle"));
+            String bossCompany = bossTitleInfo[0];
+            if (isBlacklisted(blackCompanies, bossCompany, "公司")) return null;
+            String bossJobTitle = bossTitleInfo[1];
+            if (isBlacklisted(blackRecruiters, bossJobTitle, "招聘者")) return null;
+
+            // 检查薪资是否符合预期
+            if (isSalaryNotExpected(jobSalary)) {
+                log.info("薪资不符合预期，跳过岗位：{} - {}", jobName, jobSalary);
+                return null;
+            }
 
-            // 3. 逐个遍历所有岗位
-            Locator cards = page.locator("//ul[contains(@class, 'rec-job-list')]//li[contains(@class, 'job-card-box')]");
-            int count = cards.count();
-            for (int i = 0; i < count; i++) {
-                // 重新获取卡片，避免元素过期
-                cards = page.locator("//ul[contains(@class, 'rec-job-list')]//li[contains(@class, 'job-card-box')]");
-                cards.nth(i).click();
-                PlaywrightUtil.sleep(1);
+            // 详情页链接：投递阶段直接打开，不再依赖列表页当前选中的卡片
+            String href = detailHref(detail.get("href"), card);
+            if (href == null) {
+                log.warn("未获取到岗位详情链接，跳过: {}", jobName);
+                return null;
+            }
 
-                // 等待详情内容加载
-                page.waitForSelector("div[class*='job-detail-box']", new Page.WaitForSelectorOptions().setTimeout(4000));
-                Locator detailBox = page.locator("div[class*='job-detail-box']");
-
-                // 岗位名称
-                String jobName = safeText(detailBox, "span[class*='job-name']");
-                if (blackJobs.stream().anyMatch(jobName::contains)) continue;
-                // 薪资(原始)
-                String jobSalaryRaw = safeText(detailBox, "span.job-salary");
-                String jobSalary = decodeSalary(jobSalaryRaw);
-                // 城市/经验/学历
-                List<String> tags = safeAllText(detailBox, "ul[class*='tag-list'] > li");
-                // 标签 (暂时不使用)
-                // List<String> jobLabels = safeAllText(detailBox, "ul[class*='job-label-list'] > li");
-                // 岗位描述
-                String jobDesc = safeText(detailBox, "p.desc");
-                // Boss姓名、活跃
-                String bossNameRaw = safeText(detailBox, "h2[class*='name']");
-                String[] bossInfo = splitBossName(bossNameRaw);
-                String bossName = bossInfo[0];
-                String bossActive = bossInfo[1];
-                if (config.getDeadStatus().stream().anyMatch(bossActive::contains)) continue;
-                // Boss公司/职位
-                String bossTitleRaw = safeText(detailBox, "div[class*='boss-info-attr']");
-                String[] bossTitleInfo = splitBossTitle(bossTitleRaw);
-                String bossCompany = bossTitleInfo[0];
-                if (blackCompanies.stream().anyMatch(bossCompany::contains)) continue;
-                String bossJobTitle = bossTitleInfo[1];
-                if (blackRecruiters.stream().anyMatch(bossJobTitle::contains)) continue;
-
-                // 创建Job对象
-                Job job = new Job();
-                job.setJobName(jobName);
-                job.setSalary(jobSalary);
-                job.setJobArea(String.join(", ", tags));
-                job.setCompanyName(bossCompany);
-                job.setRecruiter(bossName);
-                job.setJobInfo(jobDesc);
-
-                // 检查薪资是否符合预期
-                if (isSalaryNotExpected(jobSalary)) {
-                    log.info("薪资不符合预期，跳过岗位：{} - {}", jobName, jobSalary);
-                    continue;
-                }
+            // 创建Job对象
+            Job job = new Job();
+            job.setJobId(jobIdOf(href));
+            job.setHref(href);
+            job.setJobName(jobName);
+            job.setSalary(jobSalary);
+            job.setJobArea(tags);
+            job.setCompanyName(bossCompany);
+            job.setRecruiter(bossName);
+            job.setJobInfo(jobDesc);
+            if (isClaimedElsewhere(job)) return null;
+
+            log.info("待投递：第{}条 | 岗位名称：{} | 薪资：{} | 城市/经验/学历：{} | Boss姓名：{} | 活跃状态：{} | 公司：{} | 职位：{}", (i + 1), jobName, jobSalary, tags, bossName, bossActive, bossCompany, bossJobTitle);
+            return job;
+        } catch (Exception e) {
+            log.warn("提取第{}个岗位失败: {}", i + 1, e.getMessage());
+            return null;
+        }
+    }
 
-                // 输出
-                log.info("正在投递：第{}条 | 岗位名称：{} | 薪资：{} | 城市/经验/学历：{} | Boss姓名：{} | 活跃状态：{} | 公司：{} | 职位：{}", (i + 1), jobName, jobSalary, tags, bossName, bossActive, bossCompany, bossJobTitle);
-                resumeSubmission(page, keyword, job);
-                postCount++;
+    /**
+     * 使用列表接口数据过滤岗位，需要岗位描述或Boss活跃状态时先请求详情接口补全，请求失败才点击卡片
+     *
+     * @return 符合条件的岗位，不符合条件或补全失败时返回null
+     */
+    private Job extractListedJob(Page page, BossDetailFetcher fetcher, BossListCollector.Listing listing, int i) {
+        if (submitQuota.get() <= 0) {
+            return null;
+        }
+        Job job = listing.job();
+        String jobName = job.getJobName();
+        if (isBlacklisted(blackJobs, jobName, "岗位")) return null;
+        if (isBlacklisted(blackCompanies, job.getCompanyName(), "公司")) return null;
+        if (isBlacklisted(blackRecruiters, listing.bossTitle(), "招聘者")) return null;
+        if (isSalaryNotExpected(job.getSalary())) {
+            log.info("薪资不符合预期，跳过岗位：{} - {}", jobName, job.getSalary());
+            return null;
+        }
+        if (isClaimedElsewhere(job)) return null;
+
+        String bossActive = "";
+        boolean needDetail = config.getEnableAI() || !config.getDeadStatus().isEmpty();
+        BossDetailFetcher.Detail fetchedDetail = needDetail
+                ? fetcher.fetch(listing.securityId(), listing.lid(), job.getHref()) : null;
+        if (fetchedDetail != null) {
+            job.setJobInfo(fetchedDetail.description());
+            if (!fetchedDetail.companyInfo().isEmpty()) {
+                job.setCompanyInfo(fetchedDetail.companyInfo());
+            }
+            bossActive = fetchedDetail.activeTime();
+            if (config.getDeadStatus().stream().anyMatch(bossActive::contains)) {
+                applied.markSeen(job.getJobId());
+                return null;
+            }
+        } else if (needDetail) {
+            try {
+                Locator card = page.locator(JOB_LIST_SELECTOR)
+                        .filter(new Locator.FilterOptions().setHas(page.locator("a[href*='" + job.getJobId() + "']")));
+                Locator detailBox = card.count() > 0 ? openDetail(page, card.first()) : null;
+                if (detailBox == null) {
+                    log.warn("第{}个岗位详情未加载，跳过: {}", i + 1, jobName);
+                    return null;
+                }
+                Map<String, String> detail = PlaywrightUtil.extractCards(page, JOB_DETAIL_BOX, JOB_DETAIL_FIELDS).get(0);
+                job.setJobInfo(detail.get("jobInfo"));
+                bossActive = splitBossName(detail.get("bossName"))[1];
+                if (config.getDeadStatus().stream().anyMatch(bossActive::contains)) {
+                    applied.markSeen(job.getJobId());
+                    return null;
+                }
+            } catch (Exception e) {
+                log.warn("补全第{}个岗位详情失败: {}", i + 1, e.getMessage());
+                return null;
             }
-            log.info("【{}】岗位已投递完毕！已投递岗位数量:{}", keyword, postCount);
         }
+
+        log.info("待投递：第{}条 | 岗位名称：{} | 薪资：{} | 城市/经验/学历：{} | Boss姓名：{} | 活跃状态：{} | 公司：{} | 职位：{}", (i + 1), jobName, job.getSalary(), job.getJobArea(), job.getRecruiter(), bossActive, job.getCompanyName(), listing.bossTitle());
+        return job;
     }
 
-    public static String decodeSalary(String text) {
-        Map<Character, Character> fontMap = new HashMap<>();
-        fontMap.put('', '0');
-        fontMap.put('', '1');
-        fontMap.put('', '2');
-        fontMap.put('', '3');
-        fontMap.put('', '4');
-        fontMap.put('', '5');
-        fontMap.put('', '6');
-        fontMap.put('', '7');
-        fontMap.put('', '8');
-        fontMap.put('', '9');
-        StringBuilder result = new StringBuilder();
-        for (char c : text.toCharArray()) {
-            result.append(fontMap.getOrDefault(c, c));
+    /**
+     * 点击岗位卡片并等待详情区域刷新为该卡片的内容
+     *
+     * @return 详情区域，未加载时返回null
+     */
+    private Locator openDetail(Page page, Locator card) {
+        Locator detailBox = page.locator(JOB_DETAIL_BOX);
+        String previousDetail = detailBox.count() > 0 ? detailBox.first().innerText() : null;
+        card.click();
+        if (!WaitEngine.textChange(page, JOB_DETAIL_BOX, previousDetail, 4000) && detailBox.count() == 0) {
+            return null;
         }
-        return result.toString();
+        return detailBox;
+    }
+
+    /**
+     * 详情页链接，详情区域没有“更多职位”链接时再读取卡片上的链接
+     *
+     * @param detailLink 详情区域中读取到的链接，可为空
+     */
+    private String detailHref(String detailLink, Locator card) {
+        String href = detailLink;
+        if ((href == null || !href.contains("job_detail")) && card.locator("a[href*='job_detail']").count() > 0) {
+            href = card.locator("a[href*='job_detail']").first().getAttribute("href");
+        }
+        if (href == null || !href.contains("job_detail")) {
+            return null;
+        }
+        return href.startsWith("http") ? href : homeUrl + href;
+    }
+
+    /**
+     * 从详情页链接中取出岗位ID，如 /job_detail/xxx.html?lid=... 中的xxx
+     *
+     * @return 岗位ID，链接为空或格式不符时返回null
+     */
+    static String jobIdOf(String href) {
+        if (href == null) {
+            return null;
+        }
+        int start = href.indexOf("/job_detail/");
+        int end = href.indexOf(".html", start);
+        return start < 0 || end < 0 ? null : href.substring(start + "/job_detail/".length(), end);
+    }
+
+    /**
+     * AI检测岗位，在流水线的后台线程中执行，不操作浏览器
+     */
+    private AiFilter scoreJob(String keyword, Job job) {
+        String jd = job.getJobInfo();
+        if (jd == null || jd.isEmpty()) {
+            return null;
+        }
+        return checkJob(keyword, job.getJobName(), jd);
+    }
+
+    public static String decodeSalary(String text) {
+        return SalaryParser.decode(text);
     }
 
     // 安全获取单个文本内容
     public static String safeText(Locator root, String selector) {
         Locator node = root.locator(selector);
         try {
-            if (node.count() > 0 && node.innerText() != null) {
-                return node.innerText().trim();
+            if (node.count() > 0) {
+                String text = node.first().innerText();
+                return text == null ? "" : text.trim();
             }
         } catch (Exception e) {
             // ignore
@@ -316,7 +630,7 @@ public class Boss {
         return new String[]{company, job};
     }
 
-    private static boolean isJobsPresent() {
+    private boolean isJobsPresent() {
         try {
             // 判断页面是否存在岗位的元素
             PlaywrightUtil.waitForElement(JOB_LIST_CONTAINER);
@@ -327,7 +641,7 @@ public class Boss {
         }
     }
 
-    private static String getSearchUrl(String cityCode) {
+    private String getSearchUrl(String cityCode) {
         return baseUrl + JobUtils.appendParam("city", cityCode) +
                 JobUtils.appendParam("jobType", config.getJobType()) +
                 JobUtils.appendParam("salary", config.getSalary()) +
@@ -338,13 +652,13 @@ public class Boss {
                 JobUtils.appendListParam("stage", config.getStage());
     }
 
-    private static void saveData(String path) {
+    private void saveData(String path) {
         try {
             updateListData();
             Map<String, Set<String>> data = new HashMap<>();
-            data.put("blackCompanies", blackCompanies);
-            data.put("blackRecruiters", blackRecruiters);
-            data.put("blackJobs", blackJobs);
+            data.put("blackCompanies", blackCompanies.rules());
+            data.put("blackRecruiters", blackRecruiters.rules());
+            data.put("blackJobs", blackJobs.rules());
             String json = customJsonFormat(data);
             Files.write(Paths.get(path), json.getBytes());
         } catch (IOException e) {
@@ -352,8 +666,8 @@ public class Boss {
         }
     }
 
-    private static void updateListData() {
-        com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject("boss");
+    private void updateListData() {
+        com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject(platformKey);
         page.navigate("https://www.zhipin.com/web/geek/chat");
         PlaywrightUtil.sleep(3);
 
@@ -405,7 +719,7 @@ public class Boss {
                         boolean nomatch = message.contains("不是") || message.contains("不生");
                         if (match && !nomatch) {
                             log.info("黑名单公司：【{}】，信息：【{}】", companyName, message);
-                            if (blackCompanies.stream().anyMatch(companyName::contains)) {
+                            if (blackCompanies.matches(companyName)) {
                                 continue;
                             }
                             companyName = companyName.replaceAll("\\.{3}", "");
@@ -434,7 +748,7 @@ public class Boss {
         log.info("黑名单公司数量：{}", blackCompanies.size());
     }
 
-    private static String customJsonFormat(Map<String, Set<String>> data) {
+    private String customJsonFormat(Map<String, Set<String>> data) {
         StringBuilder sb = new StringBuilder();
         sb.append("{\n");
         for (Map.Entry<String, Set<String>> entry : data.entrySet()) {
@@ -448,7 +762,7 @@ public class Boss {
         return sb.toString();
     }
 
-    private static void loadData(String path) {
+    private void loadData(String path) {
         try {
             String json = new String(Files.readAllBytes(Paths.get(path)));
             parseJson(json);
@@ -457,142 +771,109 @@ public class Boss {
         }
     }
 
-    private static void parseJson(String json) {
+    private void parseJson(String json) {
         JSONObject jsonObject = new JSONObject(json);
-        blackCompanies = jsonObject.getJSONArray("blackCompanies").toList().stream().map(Object::toString)
-                .collect(Collectors.toSet());
-        blackRecruiters = jsonObject.getJSONArray("blackRecruiters").toList().stream().map(Object::toString)
-                .collect(Collectors.toSet());
-        blackJobs = jsonObject.getJSONArray("blackJobs").toList().stream().map(Object::toString)
-                .collect(Collectors.toSet());
+        blackCompanies = new Blacklist(jsonObject.getJSONArray("blackCompanies").toList().stream().map(Object::toString)
+                .collect(Collectors.toSet()));
+        blackRecruiters = new Blacklist(jsonObject.getJSONArray("blackRecruiters").toList().stream().map(Object::toString)
+                .collect(Collectors.toSet()));
+        blackJobs = new Blacklist(jsonObject.getJSONArray("blackJobs").toList().stream().map(Object::toString)
+                .collect(Collectors.toSet()));
     }
 
-    @SneakyThrows
-    private static void resumeSubmission(com.microsoft.playwright.Page page, String keyword, Job job) {
+    /**
+     * 检查文本是否命中黑名单，命中时记录匹配到的规则
+     */
+    private boolean isBlacklisted(Blacklist blacklist, String text, String type) {
+        String rule = blacklist.match(text);
+        if (rule == null) {
+            return false;
+        }
+        log.debug("{}【{}】命中黑名单【{}】，跳过", type, text, rule);
+        return true;
+    }
+
+    /**
+     * 检查同一岗位是否已在其他平台投递
+     */
+    private boolean isClaimedElsewhere(Job job) {
+        Platform owner = crossPlatform.claimedBy(Platform.BOSS, job.getCompanyName(), job.getJobName(), job.getJobArea());
+        if (owner == null) {
+            return false;
+        }
+        log.info("同一岗位已在{}投递，跳过：{} - {}", owner.getPlatformName(), job.getCompanyName(), job.getJobName());
+        return true;
+    }
+
+    private void resumeSubmission(PagePool tabs, Job job, AiFilter aiResult) {
+        // 先占用一次投递次数，避免多个线程同时投递时超出上限；未成功发送时归还
+        if (submitQuota.getAndUpdate(n -> n > 0 ? n - 1 : 0) <= 0) {
+            log.info("已达到本次投递上限，跳过岗位: {} - {}", job.getCompanyName(), job.getJobName());
+            return;
+        }
         log.info("开始处理岗位: {} - {}", job.getCompanyName(), job.getJobName());
-        PlaywrightUtil.sleep(1);
 
-        // 1. 查找“查看更多信息”按钮（必须存在且新开页）
-        Locator moreInfoBtn = page.locator("a.more-job-btn, a.job-card-left, div.job-card-wrapper");
-        if (moreInfoBtn.count() == 0) {
-            log.warn("未找到“查看更多信息”按钮或岗位卡片，跳过: {}", job.getJobName());
+        // 1. 从标签池获取详情页，提取阶段已按详情链接提前加载
+        Page detailPage;
+        try {
+            detailPage = tabs.acquire(job.getHref());
+        } catch (Exception e) {
+            log.warn("打开岗位详情页失败: {}，跳过: {}", e.getMessage(), job.getJobName());
+            submitQuota.incrementAndGet();
             return;
         }
-        // 强制用js新开tab
-        String href = moreInfoBtn.first().getAttribute("href");
-        String detailUrl = null;
-        com.microsoft.playwright.Page detailPage = null;
-        
-        // 如果直接点击按钮获取不到href，尝试点击整个卡片
-        if (href == null || !href.startsWith("/job_detail/")) {
-            try {
-                // 新开详情页
-                detailPage = page.context().newPage();
-                // 尝试点击卡片进入详情页
-                moreInfoBtn.first().click();
-                PlaywrightUtil.sleep(2);
-                // 获取当前页面URL作为详情页
-                detailUrl = page.url();
-                if (!detailUrl.contains("job_detail")) {
-                    log.warn("未获取到岗位详情链接，当前URL: {}，跳过: {}", detailUrl, job.getJobName());
-                    detailPage.close();
-                    return;
-                }
-                // 在新页面导航到相同的URL
-                detailPage.navigate(detailUrl);
-                PlaywrightUtil.sleep(2);
-            } catch (Exception e) {
-                log.warn("点击岗位卡片失败: {}，跳过: {}", e.getMessage(), job.getJobName());
-                if (detailPage != null) detailPage.close();
-                return;
+        boolean sent = false;
+        try {
+            sent = chatOnDetailPage(detailPage, job, aiResult);
+        } finally {
+            // 归还详情页，回到主页面
+            tabs.release(detailPage);
+            if (!sent) {
+                submitQuota.incrementAndGet();
             }
-        } else {
-            detailUrl = "https://www.zhipin.com" + href;
-            
-            // 2. 新开详情页
-            detailPage = page.context().newPage();
-            detailPage.navigate(detailUrl);
-            PlaywrightUtil.sleep(2); // 增加等待时间
         }
+    }
 
-        // 3. 查找“立即沟通”按钮 - 增强选择器和调试信息
-        boolean foundChatBtn = false;
-        Locator chatBtn = null;
-        
-        // 尝试多种可能的选择器，增加调试日志
-        String[] selectors = {
-            "a.btn-startchat, button.btn-startchat",
-            "a.op-btn-chat",
-            "div.btn-chat",
-            "a:has-text('立即沟通'), button:has-text('立即沟通')",
-            "a:has-text('沟通'), button:has-text('沟通')",
-            "a:has-text('聊一聊'), button:has-text('聊一聊')",
-            "div:has-text('立即沟通'), span:has-text('立即沟通')",
-            "[class*='chat'], [id*='chat'], [title*='沟通'], [aria-label*='沟通']"
-        };
-        
-        for (String selector : selectors) {
-            chatBtn = detailPage.locator(selector);
-            int count = chatBtn.count();
-            log.info("尝试选择器: {}，找到 {} 个元素", selector, count);
-            
-            if (count > 0) {
-                for (int j = 0; j < Math.min(count, 3); j++) { // 检查前3个匹配的元素
-                    try {
-                        String text = chatBtn.nth(j).textContent();
-                        String innerHTML = chatBtn.nth(j).innerHTML();
-                        log.info("找到潜在按钮 #{}: 文本='{}', HTML='{}', 可见={}, 可用={}", 
-                                j, text, innerHTML.substring(0, Math.min(innerHTML.length(), 50)), 
-                                chatBtn.nth(j).isVisible(), chatBtn.nth(j).isEnabled());
-                        
-                        // 放宽文本检查条件
-                        if (text != null && (text.contains("沟通") || text.contains("聊") || 
-                            innerHTML.contains("沟通") || innerHTML.contains("聊"))) {
-                            chatBtn = chatBtn.nth(j); // 选择第一个匹配的按钮
-                            foundChatBtn = true;
-                            break;
-                        }
-                    } catch (Exception e) {
-                        log.warn("检查按钮属性时出错: {}", e.getMessage());
-                    }
-                }
-                
-                if (foundChatBtn) break;
+    /**
+     * 检查选择器匹配的前几个元素，文本或HTML包含“沟通”“聊”的即为沟通按钮
+     *
+     * @return 沟通按钮，未找到返回null
+     */
+    private static Locator probeChatButton(Page detailPage, String selector) {
+        Locator candidates = detailPage.locator(selector);
+        int count = candidates.count();
+        // 通用扫描只检查前20个元素，避免性能问题
+        boolean scan = CHAT_BUTTON_SCAN.equals(selector);
+        for (int j = 0; j < Math.min(count, scan ? 20 : 3); j++) {
+            Locator candidate = candidates.nth(j);
+            String text = candidate.textContent();
+            if (text != null && (text.contains("沟通") || text.contains("聊"))) {
+                log.debug("选择器 {} 找到沟通按钮: 文本='{}'", selector, text.trim());
+                return candidate;
             }
-        }
-        
-        // 如果还没找到，尝试更通用的方法
-        if (!foundChatBtn) {
-            // 尝试直接搜索页面上所有可能的按钮
-            Locator allButtons = detailPage.locator("button, a, div, span");
-            int totalButtons = allButtons.count();
-            log.info("搜索页面上所有可能的按钮，总计: {}", totalButtons);
-            
-            // 只检查前20个按钮以避免性能问题
-            for (int j = 0; j < Math.min(totalButtons, 20); j++) {
-                try {
-                    String text = allButtons.nth(j).textContent();
-                    if (text != null && (text.contains("立即沟通") || text.contains("沟通") || text.contains("聊一聊"))) {
-                        chatBtn = allButtons.nth(j);
-                        foundChatBtn = true;
-                        log.info("在所有元素中找到匹配按钮: 文本='{}', 索引={}", text, j);
-                        break;
-                    }
-                } catch (Exception e) {
-                    // 忽略错误继续查找
+            if (!scan) {
+                String innerHTML = candidate.innerHTML();
+                if (innerHTML.contains("沟通") || innerHTML.contains("聊")) {
+                    return candidate;
                 }
             }
         }
-        
-        // 尝试使用XPath查找
-        if (!foundChatBtn) {
-            Locator xpathBtn = detailPage.locator("//*[contains(text(), '立即沟通') or contains(text(), '沟通') or contains(text(), '聊一聊')]");
-            if (xpathBtn.count() > 0) {
-                chatBtn = xpathBtn.first();
-                foundChatBtn = true;
-                log.info("通过XPath找到按钮");
-            }
-        }
+        return null;
+    }
+
+    /**
+     * 在详情页点击立即沟通并发送打招呼语
+     *
+     * @return 打招呼语是否发送成功
+     */
+    @SneakyThrows
+    private boolean chatOnDetailPage(Page detailPage, Job job, AiFilter aiResult) {
+        WaitEngine.loadState(detailPage, LoadState.DOMCONTENTLOADED, 10000);
+        WaitEngine.visible(detailPage, "a.btn-startchat, button.btn-startchat, a.op-btn-chat, div.btn-chat", 5000);
+
+        // 3. 查找“立即沟通”按钮：按注册表中的排名尝试候选选择器，多数岗位第一个即命中
+        Locator chatBtn = selectors.resolve("chatButton", CHAT_BUTTON_CANDIDATES, CHAT_BUTTON_FALLBACKS, selector -> probeChatButton(detailPage, selector));
+        boolean foundChatBtn = chatBtn != null;
         
         if (!foundChatBtn) {
             log.warn("未找到立即沟通按钮，跳过岗位: {} - {}", job.getCompanyName(), job.getJobName());
@@ -603,8 +884,7 @@ public class Boss {
             } catch (Exception e) {
                 log.warn("截图保存失败: {}", e.getMessage());
             }
-            detailPage.close();
-            return;
+            return false;
         }
         
         // 点击沟通按钮 - 增强点击逻辑
@@ -623,24 +903,20 @@ public class Boss {
                 } else {
                     // 滚动到元素再点击
                     chatBtn.scrollIntoViewIfNeeded();
-                    PlaywrightUtil.sleep(1);
                     chatBtn.click();
                 }
                 
-                PlaywrightUtil.sleep(3); // 增加等待时间
                 clicked = true;
                 log.info("成功点击立即沟通按钮");
                 break;
             } catch (Exception e) {
                 log.warn("点击立即沟通按钮失败 (第{}次尝试): {}", attempt + 1, e.getMessage());
-                PlaywrightUtil.sleep(1);
             }
         }
         
         if (!clicked) {
             log.warn("多次尝试点击立即沟通按钮失败，跳过: {} - {}", job.getCompanyName(), job.getJobName());
-            detailPage.close();
-            return;
+            return false;
         }
 
         // 4. 等待聊天输入框 - 增加更多选择器
@@ -650,34 +926,13 @@ public class Boss {
             "div.chat-input-container [contenteditable='true'], " +
             "div#message-input"
         );
-        boolean inputReady = false;
-        for (int i = 0; i < 15; i++) { // 增加尝试次数
-            if (inputLocator.count() > 0) {
-                try {
-                    if (inputLocator.first().isVisible() && inputLocator.first().isEnabled()) {
-                        inputReady = true;
-                        break;
-                    }
-                } catch (Exception e) {
-                    // 忽略暂时的可见性检查错误
-                }
-            }
-            PlaywrightUtil.sleep(1);
-        }
+        boolean inputReady = WaitEngine.ready(inputLocator, 15000);
         if (!inputReady) {
             log.warn("聊天输入框未出现或不可用，跳过: {} - {}", job.getCompanyName(), job.getJobName());
-            detailPage.close();
-            return;
+            return false;
         }
 
-        // 5. AI智能生成打招呼语
-        AiFilter aiResult = null;
-        if (config.getEnableAI()) {
-            String jd = job.getJobInfo();
-            if (jd != null && !jd.isEmpty()) {
-                aiResult = checkJob(keyword, job.getJobName(), jd);
-            }
-        }
+        // 5. 打招呼语：优先使用流水线中AI生成的内容
         String sayHi = config.getSayHi().replaceAll("[\\r\\n]", "");
         String message = (aiResult != null && aiResult.getResult() && isValidString(aiResult.getMessage()))
                 ? aiResult.getMessage() : sayHi;
@@ -729,17 +984,16 @@ public class Boss {
                 try {
                     // 发送第一条消息（打招呼语）
                     sendBtn.first().click();
-                    PlaywrightUtil.sleep(2); // 增加等待时间
+                    WaitEngine.inputCleared(detailPage, input, 3000);
                     sendSuccess = true;
                     log.info("成功发送打招呼消息: {}", job.getJobName());
                     break;
                 } catch (Exception e) {
                     log.warn("发送消息尝试 {} 失败: {}", attempt + 1, e.getMessage());
-                    PlaywrightUtil.sleep(1);
                 }
             } else {
                 log.warn("发送按钮不存在，尝试中...");
-                PlaywrightUtil.sleep(1);
+                WaitEngine.visible(detailPage, SEND_BUTTON, 1000);
                 // 重新定位发送按钮
                 sendBtn = detailPage.locator(
                     "div.send-message, " +
@@ -760,7 +1014,6 @@ public class Boss {
                 } else {
                     input.evaluate("(el, msg) => el.innerText = msg", introduce);
                 }
-                PlaywrightUtil.sleep(1);
                 
                 // 重新定位发送按钮
                 sendBtn = detailPage.locator(
@@ -774,7 +1027,7 @@ public class Boss {
                 
                 if (sendBtn.count() > 0) {
                     sendBtn.first().click();
-                    PlaywrightUtil.sleep(2);
+                    WaitEngine.inputCleared(detailPage, input, 3000);
                     log.info("已发送个人介绍信息: {}", job.getJobName());
                 }
             } catch (Exception e) {
@@ -788,14 +1041,16 @@ public class Boss {
 
         log.info("投递完成 | 岗位：{} | 招呼语：{} | 图片简历：{}", job.getJobName(), message, imgResume ? "已发送" : "未发送");
 
-        // 9. 关闭详情页，回到主页面
-        detailPage.close();
-        PlaywrightUtil.sleep(1);
+        // 保留配置的最短停顿，避免连续打招呼过快
+        WaitEngine.pace("boss.submit");
 
-        // 10. 成功投递加入结果
+        // 10. 成功投递加入结果，并记录到已投递索引，之后的运行不再打开该岗位
         if (sendSuccess) {
             resultList.add(job);
+            applied.markApplied(job.getJobId());
+            crossPlatform.record(Platform.BOSS, job.getCompanyName(), job.getJobName(), job.getJobArea());
         }
+        return sendSuccess;
     }
 
     public static boolean isValidString(String str) {
@@ -816,141 +1071,20 @@ public class Boss {
      * 期望的最低薪资如果比岗位最高薪资还小，则不符合（薪资给的太少）
      * 期望的最高薪资如果比岗位最低薪资还小，则不符合(要求太高满足不了)
      */
-    private static boolean isSalaryNotExpected(String salary) {
-        try {
-            // 1. 如果没有期望薪资范围，直接返回 false，表示"薪资并非不符合预期"
-            List<Integer> expectedSalary = config.getExpectedSalary();
-            if (!hasExpectedSalary(expectedSalary)) {
-                return false;
-            }
-
-            // 2. 清理薪资文本（比如去掉 "·15薪"）
-            salary = removeYearBonusText(salary);
-
-            // 3. 如果薪资格式不符合预期（如缺少 "K" / "k"），先尝试解析，失败再跳过
-            try {
-                // 4. 进一步清理薪资文本，比如去除 "K"、"k"、"·" 等
-                salary = cleanSalaryText(salary);
-
-                // 5. 判断是 "月薪" 还是 "日薪"
-                String jobType = detectJobType(salary);
-                salary = removeDayUnitIfNeeded(salary); // 如果是按天，则去除 "元/天"
-
-                // 6. 解析薪资范围并检查是否超出预期
-                Integer[] jobSalaryRange = parseSalaryRange(salary);
-                boolean outOfRange = isSalaryOutOfRange(jobSalaryRange,
-                        getMinimumSalary(expectedSalary),
-                        getMaximumSalary(expectedSalary),
-                        jobType);
-                
-                if (outOfRange) {
-                    log.info("薪资范围检查：岗位薪资{} 不在预期范围内{} - {}", 
-                            Arrays.toString(jobSalaryRange), 
-                            getMinimumSalary(expectedSalary), 
-                            getMaximumSalary(expectedSalary));
-                }
-                return outOfRange;
-            } catch (Exception ex) {
-                log.warn("薪资解析异常，尝试继续处理：{}", ex.getMessage());
-                // 薪资解析异常时，尝试继续处理而不是直接跳过
-                return false;
-            }
-
-        } catch (Exception e) {
-            log.error("岗位薪资获取异常！薪资文本【{}】,异常信息【{}】", salary, e.getMessage());
-            // 出错时，为了避免所有岗位都被跳过，返回false表示继续处理
-            return false;
-        }
-    }
-
-    /**
-     * 是否存在有效的期望薪资范围
-     */
-    private static boolean hasExpectedSalary(List<Integer> expectedSalary) {
-        return expectedSalary != null && !expectedSalary.isEmpty();
-    }
-
-    /**
-     * 去掉年终奖信息，如 "·15薪"、"·13薪"。
-     */
-    private static String removeYearBonusText(String salary) {
-        if (salary.contains("薪")) {
-            // 使用正则去除 "·任意数字薪"
-            return salary.replaceAll("·\\d+薪", "");
-        }
-        return salary;
-    }
-
-    /**
-     * 判断是否是按天计薪，如发现 "元/天" 则认为是日薪
-     */
-    private static String detectJobType(String salary) {
-        if (salary.contains("元/天")) {
-            return "day";
-        }
-        return "mouth";
-    }
-
-    /**
-     * 如果是日薪，则去除 "元/天"
-     */
-    private static String removeDayUnitIfNeeded(String salary) {
-        if (salary.contains("元/天")) {
-            return salary.replaceAll("元/天", "");
-        }
-        return salary;
-    }
-
-    private static Integer getMinimumSalary(List<Integer> expectedSalary) {
-        return expectedSalary != null && !expectedSalary.isEmpty() ? expectedSalary.get(0) : null;
-    }
-
-    private static Integer getMaximumSalary(List<Integer> expectedSalary) {
-        return expectedSalary != null && expectedSalary.size() > 1 ? expectedSalary.get(1) : null;
-    }
-
-    private static boolean isSalaryInExpectedFormat(String salaryText) {
-        return salaryText.contains("K") || salaryText.contains("k") || salaryText.contains("元/天");
-    }
-
-    private static String cleanSalaryText(String salaryText) {
-        salaryText = salaryText.replace("K", "").replace("k", "");
-        int dotIndex = salaryText.indexOf('·');
-        if (dotIndex != -1) {
-            salaryText = salaryText.substring(0, dotIndex);
-        }
-        return salaryText;
-    }
-
-    private static boolean isSalaryOutOfRange(Integer[] jobSalary, Integer miniSalary, Integer maxSalary,
-                                              String jobType) {
-        if (jobSalary == null) {
-            return true;
-        }
-        if (miniSalary == null) {
-            return false;
+    private boolean isSalaryNotExpected(String salary) {
+        boolean notExpected = SalaryParser.isNotExpected(salary, config.getExpectedSalary());
+        if (notExpected) {
+            log.info("薪资范围检查：岗位薪资{} 不在预期范围内{}", salary, config.getExpectedSalary());
         }
-        if (Objects.equals("day", jobType)) {
-            // 期望薪资转为平均每日的工资
-            maxSalary = BigDecimal.valueOf(maxSalary).multiply(BigDecimal.valueOf(1000))
-                    .divide(BigDecimal.valueOf(21.75), 0, RoundingMode.HALF_UP).intValue();
-            miniSalary = BigDecimal.valueOf(miniSalary).multiply(BigDecimal.valueOf(1000))
-                    .divide(BigDecimal.valueOf(21.75), 0, RoundingMode.HALF_UP).intValue();
-        }
-        // 如果职位薪资下限低于期望的最低薪资，返回不符合
-        if (jobSalary[1] < miniSalary) {
-            return true;
-        }
-        // 如果职位薪资上限高于期望的最高薪资，返回不符合
-        return maxSalary != null && jobSalary[0] > maxSalary;
+        return notExpected;
     }
 
-    private static void RandomWait() {
+    private void RandomWait() {
         PlaywrightUtil.sleep(JobUtils.getRandomNumberInRange(3, 20));
     }
 
-    private static void simulateWait() {
-        com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject("boss");
+    private void simulateWait() {
+        com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject(platformKey);
         for (int i = 0; i < 3; i++) {
             page.keyboard().press(" ");
             PlaywrightUtil.sleep(1);
@@ -959,7 +1093,7 @@ public class Boss {
         PlaywrightUtil.sleep(1);
     }
 
-    private static boolean isDeadHR(com.microsoft.playwright.Page page) {
+    private boolean isDeadHR(com.microsoft.playwright.Page page) {
         if (!config.getFilterDeadHR()) {
             return false;
         }
@@ -987,7 +1121,7 @@ public class Boss {
         return false;// 如果没有找到，返回 false
     }
 
-    private static String getCompanyAndHR(com.microsoft.playwright.Page page) {
+    private String getCompanyAndHR(com.microsoft.playwright.Page page) {
         Locator recruiterLocator = page.locator(RECRUITER_INFO);
         if (recruiterLocator.count() > 0) {
             return recruiterLocator.textContent().replaceAll("\n", "");
@@ -995,20 +1129,36 @@ public class Boss {
         return "未知公司和HR";
     }
 
-    private static void closeWindow(ArrayList<String> tabs) {
+    private void closeWindow(ArrayList<String> tabs) {
         log.warn("closeWindow方法已废弃，请使用playwright的page.close()方法");
         // 该方法已废弃，在playwright中直接使用page.close()
     }
 
-    private static AiFilter checkJob(String keyword, String jobName, String jd) {
+    private AiFilter checkJob(String keyword, String jobName, String jd) {
         AiConfig aiConfig = AiConfig.init();
-        String requestMessage = String.format(aiConfig.getPrompt(), aiConfig.getIntroduce(), keyword, jobName, jd,
+        // 同一份JD换岗位ID或城市重新发布时复用之前的结论；提示词包含岗位名称，同一份JD用于不同岗位时不复用
+        String cleaned = AiService.cleanBossDesc(jd);
+        int context = JdVerdictCache.context(keyword, CrossPlatformIndex.normalizeTitle(jobName),
+                aiConfig.getIntroduce(), aiConfig.getPrompt(), config.getSayHi());
+        AiFilter cached = verdicts.find(cleaned, context);
+        if (cached != null) {
+            log.info("复用相似JD的AI结论：{} - {}", jobName, cached.getResult() ? "匹配" : "不匹配");
+            return cached;
+        }
+        String requestMessage = String.format(aiConfig.getPrompt(), aiConfig.getIntroduce(), keyword, jobName, cleaned,
                 config.getSayHi());
-        String result = AiService.sendRequest(requestMessage);
+        AiService.Reply reply = AiService.request(requestMessage);
+        String result = reply.content();
+        if (result.isEmpty()) {
+            // 请求失败不缓存，按原逻辑视为匹配
+            return new AiFilter(true, result);
+        }
         
         // 检查是否返回false
         if (result.contains("false")) {
-            return new AiFilter(false);
+            AiFilter verdict = new AiFilter(false);
+            verdicts.put(cleaned, context, verdict, reply.totalTokens());
+            return verdict;
         }
         
         // 从返回内容中提取</think>分隔符后的部分作为打招呼语
@@ -1019,21 +1169,12 @@ public class Boss {
             greeting = result.substring(delimiterIndex + 3).trim();
         }
         
-        return new AiFilter(true, greeting);
-    }
-
-    private static Integer[] parseSalaryRange(String salaryText) {
-        try {
-            return Arrays.stream(salaryText.split("-")).map(s -> s.replaceAll("[^0-9]", "")) // 去除非数字字符
-                    .map(Integer::parseInt) // 转换为Integer
-                    .toArray(Integer[]::new); // 转换为Integer数组
-        } catch (Exception e) {
-            log.error("薪资解析异常！{}", e.getMessage(), e);
-        }
-        return null;
+        AiFilter verdict = new AiFilter(true, greeting);
+        verdicts.put(cleaned, context, verdict, reply.totalTokens());
+        return verdict;
     }
 
-    private static boolean isLimit(com.microsoft.playwright.Page page) {
+    private boolean isLimit(com.microsoft.playwright.Page page) {
         try {
             PlaywrightUtil.sleep(1);
             Locator dialogLocator = page.locator(DIALOG_CON);
@@ -1048,24 +1189,22 @@ public class Boss {
     }
 
     @SneakyThrows
-    private static void login() {
+    private void login() {
         log.info("打开Boss直聘网站中...");
 
-        com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject("boss");
-        page.navigate(homeUrl);
-        PlaywrightUtil.sleep(1);
-        // 检查滑块验证
-        waitForSliderVerify(page);
-
-        if (PlaywrightUtil.isCookieValid(cookiePath)) {
+        com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject(platformKey);
+        // 离线检查cookie是否过期，有效时在打开网站前加载，省去一次刷新；已过期则直接扫码
+        if (isLoginValid(cookiePath)) {
             // 使用boss平台的设备上下文加载cookies
-            PlaywrightUtil.loadCookies(cookiePath, "boss");
-            page.reload();
-            PlaywrightUtil.sleep(1);
-            waitForSliderVerify(page);
+            PlaywrightUtil.loadCookies(cookiePath, platformKey);
             // 启用反检测模式
-            PlaywrightUtil.initStealth("boss");
+            PlaywrightUtil.initStealth(platformKey);
+        } else {
+            log.info("cookie不存在或已过期，打开网站后扫码登录");
         }
+        page.navigate(homeUrl);
+        // 检查滑块验证
+        waitForSliderVerify(page);
 
         if (isLoginRequired()) {
             log.error("cookie失效，尝试扫码登录...");
@@ -1073,7 +1212,7 @@ public class Boss {
         }
     }
 
-    private static void waitForSliderVerify(com.microsoft.playwright.Page page) {
+    private void waitForSliderVerify(com.microsoft.playwright.Page page) {
         String SLIDER_URL = "https://www.zhipin.com/web/user/safe/verify-slider";
         // 最多等待5分钟（防呆，防止死循环）
         long start = System.currentTimeMillis();
@@ -1098,16 +1237,16 @@ public class Boss {
     }
 
 
-    private static boolean isLoginRequired() {
+    private boolean isLoginRequired() {
         try {
-            com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject("boss");
+            com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject(platformKey);
             Locator buttonLocator = page.locator(LOGIN_BTNS);
             if (buttonLocator.count() > 0 && buttonLocator.textContent().contains("登录")) {
                 return true;
             }
         } catch (Exception e) {
             try {
-                com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject("boss");
+                com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject(platformKey);
                 page.locator(PAGE_HEADER).waitFor();
                 Locator errorLoginLocator = page.locator(ERROR_PAGE_LOGIN);
                 if (errorLoginLocator.count() > 0) {
@@ -1124,9 +1263,9 @@ public class Boss {
     }
 
     @SneakyThrows
-    private static void scanLogin() {
+    private void scanLogin() {
         // 访问登录页面
-        com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject("boss");
+        com.microsoft.playwright.Page page = PlaywrightUtil.getPageObject(platformKey);
         page.navigate(homeUrl + "/web/user/?ka=header-login");
         PlaywrightUtil.sleep(1);
 
@@ -1147,40 +1286,16 @@ public class Boss {
             Locator scanButton = page.locator(LOGIN_SCAN_SWITCH);
             scanButton.click();
 
-            // 3. 登录逻辑
-            boolean login = false;
-
-            // 4. 记录开始时间，用于判断10分钟超时
-            long startTime = System.currentTimeMillis();
-            final long TIMEOUT = 10 * 60 * 1000; // 10分钟
-
-            while (!login) {
-                // 判断是否超时
-                long elapsed = System.currentTimeMillis() - startTime;
-                if (elapsed >= TIMEOUT) {
-                    log.error("超过10分钟未完成登录，程序退出...");
-                    System.exit(1);
-                }
-
-                try {
-                    // 判断页面上是否出现职位列表容器
-                    Locator jobList = page.locator("div.job-list-container");
-                    if (jobList.isVisible()) {
-                        login = true;
-                        log.info("用户已登录！");
-                        // 登录成功，保存Cookie
-                        PlaywrightUtil.saveCookies(cookiePath, "boss");
-                        break;
-                    }
-                } catch (Exception e) {
-                    log.error("检测元素时异常: {}", e.getMessage());
-                }
-                // 每2秒检查一次
-                Thread.sleep(2000);
+            // 3. 推送二维码并等待扫码，登录成功后职位列表容器出现；等待期间不占用其他平台
+            Locator jobList = page.locator("div.job-list-container");
+            boolean login = LoginWaiter.await("Boss直聘", jobList::isVisible, page::screenshot, 10 * 60 * 1000);
+            if (!login) {
+                throw new RuntimeException("Boss直聘扫码登录超时");
             }
-
-
-        } catch (Exception e) {
+            log.info("用户已登录！");
+            // 登录成功，保存Cookie
+            PlaywrightUtil.saveCookies(cookiePath, platformKey);
+        } catch (PlaywrightException e) {
             log.error("未找到二维码登录按钮，登录失败", e);
         }
     }
@@ -1191,7 +1306,7 @@ public class Boss {
      * @param scanner 用于读取控制台输入
      * @return 用户是否在指定时间内按回车
      */
-    private static boolean waitForUserInputOrTimeout(Scanner scanner) {
+    private boolean waitForUserInputOrTimeout(Scanner scanner) {
         long end = System.currentTimeMillis() + 2000;
         while (System.currentTimeMillis() < end) {
             try {
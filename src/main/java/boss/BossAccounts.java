@@ -0,0 +1,152 @@
+package boss;
+
+import lombok.extern.slf4j.Slf4j;
+import utils.AccountConfig;
+import utils.Bot;
+import utils.Job;
+import utils.JobUtils;
+import utils.RunReport;
+import utils.SharedChromium;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Boss多账号投递
+ * 读取config.yaml中的accounts节点，每个账号在同一进程中并发执行，互相隔离：
+ * - 浏览器：共用一个Chromium进程，每个账号各自的BrowserContext
+ * - cookie与黑名单：src/main/java/boss/accounts/账号名/ 下的cookie.json、data.json
+ * - 投递结果：各账号独立统计，结束后汇总通知，并以boss平台的名义登记到RunReport
+ */
+@Slf4j
+public class BossAccounts {
+
+    private static final String ACCOUNTS_DIR = "src/main/java/boss/accounts/";
+
+    private record AccountResult(String account, List<Job> jobs, int skipped, long millis, String error) {
+    }
+
+    public static void main(String[] args) {
+        List<AccountConfig> accounts = AccountConfig.loadAll();
+        if (accounts.isEmpty()) {
+            log.warn("config.yaml中未配置accounts，按单账号方式运行");
+            Boss.main(args);
+            return;
+        }
+
+        // 所有账号共用同一个常驻Chromium进程
+        String endpoint;
+        try {
+            endpoint = SharedChromium.acquire();
+        } catch (Exception e) {
+            log.error("启动共享Chromium失败: {}", e.getMessage(), e);
+            return;
+        }
+
+        // 各账号结束时不再停止日志上下文，避免影响仍在运行的账号；由StartAll启动时保留其设置
+        boolean sharedRun = JobUtils.isSharedRun();
+        JobUtils.setSharedRun(true);
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(accounts.size());
+        try {
+            Map<String, Future<AccountResult>> futures = new LinkedHashMap<>();
+            for (AccountConfig account : accounts) {
+                futures.put(account.getName(), executor.submit(() -> runAccount(account, endpoint)));
+            }
+            List<AccountResult> results = new ArrayList<>();
+            futures.forEach((name, future) -> {
+                try {
+                    results.add(future.get());
+                } catch (Exception e) {
+                    log.error("获取账号【{}】执行结果失败: {}", name, e.getMessage(), e);
+                    results.add(new AccountResult(name, List.of(), 0, 0, e.getMessage()));
+                }
+            });
+            printSummary(results, System.currentTimeMillis() - start);
+            report(results);
+        } catch (Exception e) {
+            log.error("多账号投递发生异常: {}", e.getMessage(), e);
+            RunReport.fail("boss", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+            SharedChromium.release(endpoint);
+            JobUtils.setSharedRun(sharedRun);
+            JobUtils.flushLogs();
+        }
+    }
+
+    /**
+     * 离线检查登录状态，未配置accounts时检查单账号的cookie，否则要求每个账号的cookie都有效
+     */
+    public static boolean isLoginValid() {
+        List<AccountConfig> accounts = AccountConfig.loadAll();
+        if (accounts.isEmpty()) {
+            return Boss.isLoginValid(Boss.DEFAULT_COOKIE_PATH);
+        }
+        return accounts.stream().allMatch(account -> Boss.isLoginValid(ACCOUNTS_DIR + account.getName() + "/cookie.json"));
+    }
+
+    private static AccountResult runAccount(AccountConfig account, String endpoint) {
+        long begin = System.currentTimeMillis();
+        String name = account.getName();
+        try {
+            String dir = ACCOUNTS_DIR + name + "/";
+            Boss boss = new Boss("boss@" + name, BossConfig.init(account.getBoss()),
+                    dir + "data.json", dir + "cookie.json", endpoint);
+            log.info("账号【{}】开始投递", name);
+            List<Job> jobs = boss.run();
+            // Boss.run自行捕获异常，失败原因与跳过数量从RunReport中取出
+            RunReport.Result report = RunReport.take("boss@" + name);
+            return new AccountResult(name, jobs, report == null ? 0 : report.skipped(),
+                    System.currentTimeMillis() - begin, report == null ? null : report.error());
+        } catch (Exception e) {
+            log.error("账号【{}】投递失败: {}", name, e.getMessage(), e);
+            return new AccountResult(name, List.of(), 0, System.currentTimeMillis() - begin, e.getMessage());
+        }
+    }
+
+    /**
+     * 汇总各账号的结果，以boss平台的名义登记，有账号失败时一并登记失败原因
+     */
+    private static void report(List<AccountResult> results) {
+        int submitted = 0;
+        int skipped = 0;
+        List<String> errors = new ArrayList<>();
+        for (AccountResult result : results) {
+            submitted += result.jobs().size();
+            skipped += result.skipped();
+            if (result.error() != null) {
+                errors.add(result.account() + ": " + result.error());
+            }
+        }
+        RunReport.record("boss", submitted, skipped);
+        if (!errors.isEmpty()) {
+            RunReport.fail("boss", String.join("；", errors));
+        }
+    }
+
+    private static void printSummary(List<AccountResult> results, long totalMillis) {
+        StringBuilder sb = new StringBuilder("\nBoss多账号投递完成，总用时").append(JobUtils.formatDuration(totalMillis / 1000));
+        for (AccountResult result : results) {
+            sb.append("\n【").append(result.account()).append("】")
+                    .append("发起").append(result.jobs().size()).append("个聊天")
+                    .append("，跳过").append(result.skipped()).append("个岗位")
+                    .append("，用时").append(JobUtils.formatDuration(result.millis() / 1000));
+            if (result.error() != null) {
+                sb.append("，失败原因: ").append(result.error());
+            }
+        }
+        String message = sb.toString();
+        log.info(message);
+        try {
+            Bot.sendMessageByTime(message);
+        } catch (Exception e) {
+            log.error("发送消息失败: {}", e.getMessage());
+        }
+    }
+}
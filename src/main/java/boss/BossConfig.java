@@ -1,7 +1,9 @@
 package boss;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.Data;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -86,6 +88,31 @@ public class BossConfig {
      */
     private Boolean enableAI;
 
+    /**
+     * 同时进行的AI检测请求数量，默认4
+     */
+    private Integer aiConcurrency;
+
+    /**
+     * 复用的详情页标签数量，默认3，设置为0时每个岗位新建标签页
+     */
+    private Integer detailTabs;
+
+    /**
+     * 单个详情页标签最多使用次数，达到后关闭重建，默认20
+     */
+    private Integer detailTabMaxUses;
+
+    /**
+     * 并发处理城市×关键词组合的工作线程数，默认1（顺序执行）
+     */
+    private Integer parallelism;
+
+    /**
+     * 本次运行最多投递的岗位数量，所有工作线程共享，0或不填表示不限制
+     */
+    private Integer maxSubmissions;
+
     /**
      * 是否过滤不活跃hr
      */
@@ -162,7 +189,27 @@ public class BossConfig {
 
     @SneakyThrows
     public static BossConfig init() {
-        BossConfig config = JobUtils.getConfig(BossConfig.class);
+        return init(null);
+    }
+
+    /**
+     * 读取boss节点配置，并用账号中的同名配置覆盖
+     *
+     * @param overrides 账号的boss配置，为空时只使用boss节点
+     * @return 转换后的配置
+     */
+    @SneakyThrows
+    public static BossConfig init(Map<String, Object> overrides) {
+        BossConfig config;
+        if (overrides == null || overrides.isEmpty()) {
+            config = JobUtils.getConfig(BossConfig.class);
+        } else {
+            ObjectMapper mapper = new ObjectMapper();
+            JsonNode bossNode = JobUtils.getConfigNode("boss");
+            ObjectNode node = bossNode.isObject() ? bossNode.deepCopy() : mapper.createObjectNode();
+            node.setAll((ObjectNode) mapper.valueToTree(overrides));
+            config = mapper.treeToValue(node, BossConfig.class);
+        }
 
         // 加载城市代码JSON数据
         loadCityCodeFromJson();
@@ -204,6 +251,24 @@ public class BossConfig {
         config.setStage(config.getStage().stream().map(value -> BossEnum.Financing.forValue(value).getCode()).collect(Collectors.toList()));
         // 转换行业
         config.setIndustry(config.getIndustry().stream().map(value -> BossEnum.Industry.forValue(value).getCode()).collect(Collectors.toList()));
+        // AI检测并发数
+        if (config.getAiConcurrency() == null || config.getAiConcurrency() < 1) {
+            config.setAiConcurrency(4);
+        }
+        // 详情页标签池
+        if (config.getDetailTabs() == null || config.getDetailTabs() < 0) {
+            config.setDetailTabs(3);
+        }
+        if (config.getDetailTabMaxUses() == null || config.getDetailTabMaxUses() < 1) {
+            config.setDetailTabMaxUses(20);
+        }
+        // 并发投递
+        if (config.getParallelism() == null || config.getParallelism() < 1) {
+            config.setParallelism(1);
+        }
+        if (config.getMaxSubmissions() == null || config.getMaxSubmissions() < 0) {
+            config.setMaxSubmissions(0);
+        }
 
         return config;
     }
@@ -0,0 +1,152 @@
+package boss;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.RequestOptions;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 不打开标签页读取岗位详情：通过浏览器上下文的APIRequestContext直接请求详情接口，
+ * 请求自动携带登录后的cookie，不渲染页面。
+ * 优先请求detail.json，接口异常时退回请求详情页HTML并从中截取岗位描述与活跃状态。
+ * 标签页只留给最后的沟通与打招呼。
+ */
+class BossDetailFetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(BossDetailFetcher.class);
+
+    static final String DETAIL_API = "/wapi/zpgeek/job/detail.json";
+    private static final int TIMEOUT_MILLIS = 10000;
+    private static final Pattern HTML_DESCRIPTION = Pattern.compile("<div class=\"job-sec-text\">(.*?)</div>", Pattern.DOTALL);
+    private static final Pattern HTML_ACTIVE_TIME = Pattern.compile("<span class=\"boss-active-time\">(.*?)</span>", Pattern.DOTALL);
+
+    /**
+     * 详情中列表接口没有的字段
+     *
+     * @param description 岗位描述
+     * @param salary      薪资
+     * @param activeTime  Boss活跃状态，如“刚刚活跃”
+     * @param companyInfo 公司信息（融资阶段、规模、行业）
+     */
+    record Detail(String description, String salary, String activeTime, String companyInfo) {
+    }
+
+    private final BrowserContext context;
+    private int fetched;
+    private int fallbacks;
+    private int failed;
+    private long totalMillis;
+
+    BossDetailFetcher(BrowserContext context) {
+        this.context = context;
+    }
+
+    /**
+     * 获取岗位详情
+     *
+     * @param securityId 列表接口中的securityId
+     * @param lid        列表接口中的lid
+     * @param href       详情页地址，接口异常时使用
+     * @return 详情，获取失败返回null，由调用方改为点击卡片读取
+     */
+    Detail fetch(String securityId, String lid, String href) {
+        long start = System.currentTimeMillis();
+        Detail detail = null;
+        try {
+            if (securityId != null && !securityId.isEmpty()) {
+                detail = fetchJson(securityId, lid);
+            }
+            if (detail == null && href != null) {
+                detail = fetchHtml(href);
+                if (detail != null) {
+                    fallbacks++;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("请求岗位详情失败: {}", e.getMessage());
+        }
+        totalMillis += System.currentTimeMillis() - start;
+        if (detail == null) {
+            failed++;
+        } else {
+            fetched++;
+        }
+        return detail;
+    }
+
+    private Detail fetchJson(String securityId, String lid) {
+        String url = Boss.homeUrl + DETAIL_API + "?securityId=" + URLEncoder.encode(securityId, StandardCharsets.UTF_8)
+                + "&lid=" + URLEncoder.encode(lid == null ? "" : lid, StandardCharsets.UTF_8);
+        APIResponse response = context.request().get(url, request());
+        try {
+            if (!response.ok()) {
+                log.debug("详情接口返回状态码: {}", response.status());
+                return null;
+            }
+            JSONObject body = new JSONObject(response.text());
+            if (body.optInt("code", -1) != 0) {
+                log.debug("详情接口返回异常: code={}, message={}", body.opt("code"), body.optString("message"));
+                return null;
+            }
+            JSONObject zpData = body.getJSONObject("zpData");
+            JSONObject jobInfo = zpData.optJSONObject("jobInfo", new JSONObject());
+            JSONObject bossInfo = zpData.optJSONObject("bossInfo", new JSONObject());
+            JSONObject brand = zpData.optJSONObject("brandComInfo", new JSONObject());
+            String companyInfo = String.join(" ", brand.optString("stageName"), brand.optString("scaleName"), brand.optString("industryName")).trim();
+            return new Detail(jobInfo.optString("postDescription"), jobInfo.optString("salaryDesc"),
+                    bossInfo.optString("activeTimeDesc"), companyInfo);
+        } finally {
+            response.dispose();
+        }
+    }
+
+    private Detail fetchHtml(String href) {
+        APIResponse response = context.request().get(href, request());
+        try {
+            if (!response.ok()) {
+                return null;
+            }
+            String html = response.text();
+            String description = firstGroup(HTML_DESCRIPTION, html);
+            if (description.isEmpty()) {
+                // 没有岗位描述多半是验证页或登录页
+                return null;
+            }
+            return new Detail(description, "", firstGroup(HTML_ACTIVE_TIME, html), "");
+        } finally {
+            response.dispose();
+        }
+    }
+
+    private static RequestOptions request() {
+        return RequestOptions.create()
+                .setHeader("Referer", Boss.homeUrl + "/web/geek/job")
+                .setTimeout(TIMEOUT_MILLIS);
+    }
+
+    private static String firstGroup(Pattern pattern, String html) {
+        Matcher matcher = pattern.matcher(html);
+        if (!matcher.find()) {
+            return "";
+        }
+        return matcher.group(1).replaceAll("<br\\s*/?>", "\n").replaceAll("<[^>]+>", "").trim();
+    }
+
+    /**
+     * 请求统计
+     *
+     * @return 统计描述
+     */
+    String stats() {
+        int total = fetched + failed;
+        return String.format("详情请求%d次，成功%d次（其中HTML%d次），失败%d次，平均耗时%dms",
+                total, fetched, fallbacks, failed, total == 0 ? 0 : totalMillis / total);
+    }
+}
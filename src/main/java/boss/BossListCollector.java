@@ -0,0 +1,119 @@
+package boss;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.Job;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 搜索列表接口采集：监听页面加载岗位列表时请求的joblist.json，直接从接口数据中解析岗位，
+ * 不再逐个点击卡片读取详情区域。
+ * 列表接口不包含岗位描述与Boss活跃状态，需要这两项时由调用方通过BossDetailFetcher请求详情，失败时再点击对应卡片补全。
+ * Playwright对象只能在创建它的线程中使用，响应在事件回调中只做暂存，解析在调用listings的线程中进行。
+ */
+class BossListCollector implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BossListCollector.class);
+
+    static final String JOB_LIST_API = "/wapi/zpgeek/search/joblist.json";
+
+    /**
+     * 接口中的岗位，bossTitle为招聘者职位，Job中没有对应字段，单独保留用于过滤；
+     * securityId与lid用于请求岗位详情
+     */
+    record Listing(Job job, String bossTitle, String securityId, String lid) {
+    }
+
+    private final Page page;
+    private final Consumer<Response> handler;
+    private final List<Response> pending = new ArrayList<>();
+    private final Map<String, Listing> listings = new LinkedHashMap<>();
+
+    /**
+     * 开始监听，需在打开搜索页之前创建
+     */
+    BossListCollector(Page page) {
+        this.page = page;
+        this.handler = response -> {
+            if (response.url().contains(JOB_LIST_API)) {
+                pending.add(response);
+            }
+        };
+        page.onResponse(handler);
+    }
+
+    /**
+     * 解析目前已收到的列表响应
+     *
+     * @return 按加载顺序排列、按岗位ID去重的岗位
+     */
+    List<Listing> listings() {
+        for (Response response : pending) {
+            parse(response);
+        }
+        pending.clear();
+        return new ArrayList<>(listings.values());
+    }
+
+    private void parse(Response response) {
+        try {
+            JSONObject body = new JSONObject(response.text());
+            if (body.optInt("code", -1) != 0) {
+                log.warn("岗位列表接口返回异常: code={}, message={}", body.opt("code"), body.optString("message"));
+                return;
+            }
+            JSONArray jobList = body.getJSONObject("zpData").optJSONArray("jobList");
+            if (jobList == null) {
+                return;
+            }
+            for (int i = 0; i < jobList.length(); i++) {
+                Listing listing = toListing(jobList.getJSONObject(i));
+                if (listing != null) {
+                    listings.putIfAbsent(listing.job().getJobId(), listing);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("解析岗位列表接口失败: {}", e.getMessage());
+        }
+    }
+
+    private Listing toListing(JSONObject item) {
+        String jobId = item.optString("encryptJobId");
+        if (jobId.isEmpty()) {
+            return null;
+        }
+        Job job = new Job();
+        job.setJobId(jobId);
+        job.setHref(Boss.homeUrl + "/job_detail/" + jobId + ".html?lid=" + item.optString("lid")
+                + "&securityId=" + item.optString("securityId"));
+        job.setJobName(item.optString("jobName"));
+        job.setSalary(item.optString("salaryDesc"));
+        // 与详情区域标签一致：城市/经验/学历
+        String area = join("·", item.optString("cityName"), item.optString("areaDistrict"), item.optString("businessDistrict"));
+        job.setJobArea(join(", ", area, item.optString("jobExperience"), item.optString("jobDegree")));
+        job.setCompanyName(item.optString("brandName"));
+        job.setCompanyTag(join(" ", item.optString("brandIndustry"), item.optString("brandStageName"), item.optString("brandScaleName")));
+        job.setRecruiter(item.optString("bossName"));
+        return new Listing(job, item.optString("bossTitle"), item.optString("securityId"), item.optString("lid"));
+    }
+
+    private static String join(String delimiter, String... parts) {
+        return Stream.of(parts).filter(part -> !part.isBlank()).collect(Collectors.joining(delimiter));
+    }
+
+    @Override
+    public void close() {
+        page.offResponse(handler);
+    }
+}
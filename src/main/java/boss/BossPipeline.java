@@ -0,0 +1,133 @@
+package boss;
+
+import ai.AiFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.Job;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Boss投递流水线：提取 → 过滤 → AI检测 → 投递
+ * 提取与投递都需要操作浏览器，只能在调用线程中执行；AI检测在虚拟线程中提前进行，
+ * 调用线程在等待AI结果的同时继续提取后续岗位，AI结果就绪后立即投递，浏览器不再空等AI接口。
+ * 已提取但尚未投递的岗位数量受容量限制，避免提取过快堆积过多待投递岗位。
+ */
+class BossPipeline implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BossPipeline.class);
+
+    /**
+     * AI检测完成、等待投递的岗位
+     */
+    private record ScoredJob(Job job, AiFilter aiFilter) {
+    }
+
+    private final Function<Job, AiFilter> scorer;
+    private final Consumer<Job> prefetcher;
+    private final int aiConcurrency;
+    private final int capacity;
+    private final Semaphore aiPermits;
+    private final BlockingQueue<ScoredJob> readyQueue;
+    private final ExecutorService aiExecutor;
+
+    /**
+     * @param aiConcurrency 同时进行的AI请求数量
+     * @param scorer        AI检测函数，为null时跳过AI检测直接投递
+     * @param prefetcher    岗位通过过滤后在调用线程中执行，用于提前加载详情页，可为null
+     */
+    BossPipeline(int aiConcurrency, Function<Job, AiFilter> scorer, Consumer<Job> prefetcher) {
+        this.scorer = scorer;
+        this.prefetcher = prefetcher;
+        this.aiConcurrency = Math.max(1, aiConcurrency);
+        this.capacity = this.aiConcurrency * 2;
+        this.aiPermits = new Semaphore(this.aiConcurrency);
+        this.readyQueue = new ArrayBlockingQueue<>(capacity);
+        this.aiExecutor = scorer == null ? null : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * 在当前线程驱动流水线，直到所有岗位都处理完毕
+     *
+     * @param total     岗位卡片总数
+     * @param extractor 提取并过滤第i个岗位，不符合条件时返回null
+     * @param submitter 投递岗位，第二个参数为AI检测结果（未开启AI时为null）
+     * @return 进入投递阶段的岗位数量
+     */
+    int run(int total, IntFunction<Job> extractor, BiConsumer<Job, AiFilter> submitter) {
+        int next = 0;
+        int pending = 0;
+        int submitted = 0;
+        while (next < total || pending > 0) {
+            // AI检测未饱和时优先提取，保证AI阶段始终有活可干
+            if (next < total && pending < aiConcurrency) {
+                pending += dispatch(extractor.apply(next++));
+                continue;
+            }
+            ScoredJob scored = readyQueue.poll();
+            if (scored == null && next < total && pending < capacity) {
+                pending += dispatch(extractor.apply(next++));
+                continue;
+            }
+            if (scored == null) {
+                try {
+                    scored = readyQueue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("等待AI检测结果时被中断，停止本轮投递");
+                    break;
+                }
+            }
+            pending--;
+            submitter.accept(scored.job(), scored.aiFilter());
+            submitted++;
+        }
+        return submitted;
+    }
+
+    private int dispatch(Job job) {
+        if (job == null) {
+            return 0;
+        }
+        if (prefetcher != null) {
+            prefetcher.accept(job);
+        }
+        if (scorer == null) {
+            readyQueue.add(new ScoredJob(job, null));
+            return 1;
+        }
+        aiExecutor.execute(() -> {
+            AiFilter aiFilter = null;
+            try {
+                aiPermits.acquire();
+                try {
+                    aiFilter = scorer.apply(job);
+                } finally {
+                    aiPermits.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("AI检测岗位【{}】失败: {}", job.getJobName(), e.getMessage());
+            }
+            // 待投递数量不超过队列容量，这里不会阻塞
+            readyQueue.add(new ScoredJob(job, aiFilter));
+        });
+        return 1;
+    }
+
+    @Override
+    public void close() {
+        if (aiExecutor != null) {
+            aiExecutor.shutdownNow();
+        }
+    }
+}
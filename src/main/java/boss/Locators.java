@@ -1,5 +1,8 @@
 package boss;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Boss直聘网页元素定位器
  * 集中管理所有页面元素的定位表达式
@@ -30,9 +33,35 @@ public class Locators {
     public static final String JOB_AREA = "span.company-location";
     // 岗位标签
     public static final String TAG_LIST = "ul.tag-list li";
+    // 点击卡片后右侧的岗位详情区域
+    public static final String JOB_DETAIL_BOX = "div[class*='job-detail-box']";
+    // 详情区域批量提取的字段，写法见 PlaywrightUtil.extractCards
+    public static final Map<String, String> JOB_DETAIL_FIELDS = Map.of(
+            "jobName", "span[class*='job-name']",
+            "salary", "span.job-salary",
+            "tags", "ul[class*='tag-list'] > li*",
+            "jobInfo", "p.desc",
+            "bossName", "h2[class*='name']",
+            "bossTitle", "div[class*='boss-info-attr']",
+            "href", "a.more-job-btn@href");
 
     // 职位详情页元素
     public static final String CHAT_BUTTON = "[class*='btn btn-startchat']";
+    // 详情页“立即沟通”按钮的候选选择器，实际尝试顺序由 SelectorRegistry 按命中排名决定
+    public static final List<String> CHAT_BUTTON_CANDIDATES = List.of(
+            "a.btn-startchat, button.btn-startchat",
+            "a.op-btn-chat",
+            "div.btn-chat",
+            "a:has-text('立即沟通'), button:has-text('立即沟通')",
+            "a:has-text('沟通'), button:has-text('沟通')",
+            "a:has-text('聊一聊'), button:has-text('聊一聊')");
+    // 通配的兜底选择器，可能命中外层容器，按固定顺序排在候选之后，不参与排名
+    public static final String CHAT_BUTTON_SCAN = "button, a, div, span";
+    public static final List<String> CHAT_BUTTON_FALLBACKS = List.of(
+            "div:has-text('立即沟通'), span:has-text('立即沟通')",
+            "[class*='chat'], [id*='chat'], [title*='沟通'], [aria-label*='沟通']",
+            CHAT_BUTTON_SCAN,
+            "//*[contains(text(), '立即沟通') or contains(text(), '沟通') or contains(text(), '聊一聊')]");
     public static final String ERROR_CONTENT = "//div[@class='error-content']";
     public static final String JOB_DETAIL_SALARY = "//div[@class='info-primary']//span[@class='salary']";
     public static final String RECRUITER_INFO = "//div[@class='boss-info-attr']";
@@ -4,11 +4,24 @@ import lombok.SneakyThrows;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.openqa.selenium.*;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utils.AppliedIndex;
+import utils.Blacklist;
+import utils.BrowserSession;
+import utils.CrossPlatformIndex;
+import utils.JobDedupe;
 import utils.JobUtils;
+import utils.LoginWaiter;
+import utils.Platform;
+import utils.RunReport;
+import utils.SalaryParser;
 import utils.SeleniumUtil;
+import utils.WaitEngine;
 
 import java.io.File;
 import java.io.FileReader;
@@ -17,7 +30,6 @@ import java.util.Date;
 import java.util.List;
 
 import static utils.Bot.sendMessageByTime;
-import static utils.Constant.*;
 import static utils.JobUtils.formatDuration;
 
 /**
@@ -43,27 +55,44 @@ public class Job51 {
     static List<String> resultList = new ArrayList<>();
     static Job51Config config = Job51Config.init();
     static Date startDate;
-    static List<String> blackCompanies = new ArrayList<>();
-    static List<String> blackJobs = new ArrayList<>();
-    static List<String> blackRecruiters = new ArrayList<>();
+    static Blacklist blackCompanies = new Blacklist(List.of());
+    static Blacklist blackJobs = new Blacklist(List.of());
+    static Blacklist blackRecruiters = new Blacklist(List.of());
+    static String appliedPath = "./src/main/java/job51/applied.log";
+    static AppliedIndex applied;
+    static JobDedupe dedupe = new JobDedupe();
+    static CrossPlatformIndex crossPlatform = CrossPlatformIndex.shared();
 
     public static void main(String[] args) {
         log.info("51job投递任务开始");
+        BrowserSession session = null;
         try {
             // 加载过滤规则
             loadFilterRules();
+            applied = AppliedIndex.open(appliedPath);
+            dedupe = new JobDedupe();
             
             String searchUrl = getSearchUrl();
             // 使用带平台名称的浏览器初始化方法
-            SeleniumUtil.initDriver("job51");
+            session = SeleniumUtil.initDriver("job51");
             startDate = new Date();
-            Login();
-            config.getKeywords().forEach(keyword -> resume(searchUrl + "&keyword=" + keyword));
-            printResult();
+            Login(session);
+            for (String keyword : config.getKeywords()) {
+                resume(session, searchUrl + "&keyword=" + keyword);
+            }
+            log.info(applied.stats());
+            log.info(crossPlatform.stats());
+            printResult(session);
         } catch (Exception e) {
             log.error("51job投递任务发生异常: {}", e.getMessage(), e);
-            printResult();
+            RunReport.fail("job51", e.getMessage());
+            if (session != null) {
+                printResult(session);
+            }
         } finally {
+            if (applied != null) {
+                applied.close();
+            }
             // 关闭该平台的浏览器实例
             SeleniumUtil.closePlatform("job51");
         }
@@ -95,7 +124,7 @@ public class Job51 {
             JSONArray companies = json.optJSONArray("blackCompanies");
             if (companies != null) {
                 for (int i = 0; i < companies.length(); i++) {
-                    blackCompanies.add(companies.getString(i).toLowerCase());
+                    blackCompanies.add(companies.getString(i));
                 }
             }
             
@@ -103,7 +132,7 @@ public class Job51 {
             JSONArray jobs = json.optJSONArray("blackJobs");
             if (jobs != null) {
                 for (int i = 0; i < jobs.length(); i++) {
-                    blackJobs.add(jobs.getString(i).toLowerCase());
+                    blackJobs.add(jobs.getString(i));
                 }
             }
             
@@ -111,7 +140,7 @@ public class Job51 {
             JSONArray recruiters = json.optJSONArray("blackRecruiters");
             if (recruiters != null) {
                 for (int i = 0; i < recruiters.length(); i++) {
-                    blackRecruiters.add(recruiters.getString(i).toLowerCase());
+                    blackRecruiters.add(recruiters.getString(i));
                 }
             }
             
@@ -130,37 +159,28 @@ public class Job51 {
      * @return 是否需要过滤
      */
     private static boolean shouldFilter(String company, String title, String recruiter) {
-        // 转换为小写进行匹配，忽略大小写
-        String companyLower = company.toLowerCase();
-        String titleLower = title.toLowerCase();
-        
-        // 检查公司名是否在黑名单中
-        for (String blackCompany : blackCompanies) {
-            if (companyLower.contains(blackCompany)) {
-                log.info("跳过黑名单公司: {}", company);
-                return true;
-            }
+        // 匹配时统一忽略大小写与全半角
+        String rule = blackCompanies.match(company);
+        if (rule != null) {
+            log.info("跳过黑名单公司: {}，命中: {}", company, rule);
+            return true;
         }
-        
-        // 检查职位名是否在黑名单中
-        for (String blackJob : blackJobs) {
-            if (titleLower.contains(blackJob)) {
-                log.info("跳过黑名单职位: {}", title);
-                return true;
-            }
+
+        rule = blackJobs.match(title);
+        if (rule != null) {
+            log.info("跳过黑名单职位: {}，命中: {}", title, rule);
+            return true;
         }
-        
+
         // 检查招聘者是否在黑名单中（如果提供了招聘者信息）
         if (isNotNullOrEmpty(recruiter)) {
-            String recruiterLower = recruiter.toLowerCase();
-            for (String blackRecruiter : blackRecruiters) {
-                if (recruiterLower.contains(blackRecruiter)) {
-                    log.info("跳过黑名单招聘者: {}", recruiter);
-                    return true;
-                }
+            rule = blackRecruiters.match(recruiter);
+            if (rule != null) {
+                log.info("跳过黑名单招聘者: {}，命中: {}", recruiter, rule);
+                return true;
             }
         }
-        
+
         return false;
     }
     
@@ -174,36 +194,31 @@ public class Job51 {
         return shouldFilter(company, title, null);
     }
 
-    private static void printResult() {
+    private static void printResult(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
         try {
-            String message = String.format("\n51job投递完成，共投递%d个简历，用时%s", resultList.size(), formatDuration(startDate, new Date()));
+            String message = String.format("\n51job投递完成，共投递%d个简历，跳过重复岗位%d个，用时%s", resultList.size(), dedupe.duplicates(), formatDuration(startDate, new Date()));
             log.info(message);
+            RunReport.record("job51", resultList.size(), dedupe.duplicates() + (applied == null ? 0 : applied.skipped()));
             sendMessageByTime(message);
             resultList.clear();
             
             // 安全关闭浏览器
-            if (CHROME_DRIVER != null) {
+            if (driver != null) {
                 try {
-                    CHROME_DRIVER.close();
+                    driver.close();
                 } catch (Exception e) {
                     log.error("关闭浏览器标签页失败: {}", e.getMessage());
                 }
                 try {
-                    CHROME_DRIVER.quit();
+                    driver.quit();
                 } catch (Exception e) {
                     log.error("退出浏览器失败: {}", e.getMessage());
                 }
             }
             
             // 确保所有日志都被刷新到文件
-            try {
-                Thread.sleep(1000); // 等待1秒确保日志写入完成
-                // 强制刷新日志 - 使用正确的方法
-                ch.qos.logback.classic.LoggerContext loggerContext = (ch.qos.logback.classic.LoggerContext) org.slf4j.LoggerFactory.getILoggerFactory();
-                loggerContext.stop();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            JobUtils.flushLogs();
         } catch (Exception e) {
             log.error("打印结果时发生异常: {}", e.getMessage(), e);
         }
@@ -215,22 +230,31 @@ public class Job51 {
                 JobUtils.appendListParam("salary", config.getSalary());
     }
 
-    private static void Login() {
-        CHROME_DRIVER.get(homeUrl);
+    /**
+     * 离线检查登录状态是否有效（不打开浏览器）
+     */
+    public static boolean isLoginValid() {
+        return SeleniumUtil.isCookieValid(cookiePath);
+    }
+
+    private static void Login(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
+        driver.get(homeUrl);
         if (SeleniumUtil.isCookieValid(cookiePath)) {
             SeleniumUtil.loadCookie("job51", cookiePath);
-            CHROME_DRIVER.navigate().refresh();
+            driver.navigate().refresh();
             SeleniumUtil.sleep(1);
         }
-        if (isLoginRequired()) {
+        if (isLoginRequired(session)) {
             log.error("cookie失效，尝试扫码登录...");
-            scanLogin();
+            scanLogin(session);
         }
     }
 
-    private static boolean isLoginRequired() {
+    private static boolean isLoginRequired(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
         try {
-            String text = CHROME_DRIVER.findElement(By.cssSelector("span.login")).getText();
+            String text = driver.findElement(By.cssSelector("span.login")).getText();
             return text != null && text.contains("登录");
         } catch (Exception e) {
             log.info("cookie有效，已登录...");
@@ -239,36 +263,38 @@ public class Job51 {
     }
 
     @SneakyThrows
-    private static void resume(String url) {
-        CHROME_DRIVER.get(url);
-        SeleniumUtil.sleep(1);
+    private static void resume(BrowserSession session, String url) {
+        ChromeDriver driver = session.getDriver();
+        WebDriverWait wait = session.getWait();
+        Actions actions = session.getActions();
+        driver.get(url);
+        WaitEngine.documentReady(session, 10);
 
         // 再次判断是否登录
-        WebElement login = WAIT.until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//a[contains(@class, 'uname')]")));
+        WebElement login = wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//a[contains(@class, 'uname')]")));
         if (login != null && isNotNullOrEmpty(login.getText()) && login.getText().contains("登录")) {
             login.click();
-            WAIT.until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//i[contains(@class, 'passIcon')]"))).click();
+            wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//i[contains(@class, 'passIcon')]"))).click();
             log.info("请扫码登录...");
-            WAIT.until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//div[contains(@class, 'joblist')]")));
+            wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//div[contains(@class, 'joblist')]")));
             SeleniumUtil.saveCookie("job51", cookiePath);
         }
 
-        //由于51更新，每投递一页之前，停止10秒
-        SeleniumUtil.sleep(10);
+        //由于51更新，每投递一页之前需要停顿，时长见wait.pacing中的job51.page
+        WaitEngine.pace("job51.page");
 
         int i = 0;
         try {
-            CHROME_DRIVER.findElements(By.className("ss")).get(i).click();
+            driver.findElements(By.className("ss")).get(i).click();
         } catch (Exception e) {
-            findAnomaly();
+            findAnomaly(session);
         }
         for (int j = page; j <= maxPage; j++) {
             while (true) {
                 try {
-                    WebElement mytxt = WAIT.until(ExpectedConditions.elementToBeClickable(By.id("jump_page")));
+                    WebElement mytxt = wait.until(ExpectedConditions.elementToBeClickable(By.id("jump_page")));
                     // 确保输入框位于视口并聚焦
-                    ((JavascriptExecutor) CHROME_DRIVER).executeScript("arguments[0].scrollIntoView({block:'center'});", mytxt);
-                    SeleniumUtil.sleep(1);
+                    ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block:'center'});", mytxt);
                     mytxt.click();
 
                     // 使用组合键清空，避免直接 clear 失败
@@ -279,22 +305,27 @@ public class Job51 {
                     mytxt.sendKeys(String.valueOf(j));
 
                     // 使用 JS 点击跳页按钮，规避遮挡/不可点击
-                    WebElement jumpBtn = WAIT.until(ExpectedConditions.visibilityOfElementLocated(
+                    WebElement jumpBtn = wait.until(ExpectedConditions.visibilityOfElementLocated(
                             By.cssSelector("#app > div > div.post > div > div > div.j_result > div > div:nth-child(2) > div > div.bottom-page > div > div > span.jumpPage")));
-                    ((JavascriptExecutor) CHROME_DRIVER).executeScript("arguments[0].click();", jumpBtn);
+                    List<WebElement> oldCards = driver.findElements(By.cssSelector("div.ick"));
+                    ((JavascriptExecutor) driver).executeScript("arguments[0].click();", jumpBtn);
+                    // 等待旧页面的岗位被替换
+                    if (!oldCards.isEmpty()) {
+                        WaitEngine.until(session, ExpectedConditions.stalenessOf(oldCards.get(0)), 10);
+                    }
 
                     // 回到页面顶部
-                    ACTIONS.keyDown(Keys.CONTROL).sendKeys(Keys.HOME).keyUp(Keys.CONTROL).perform();
+                    actions.keyDown(Keys.CONTROL).sendKeys(Keys.HOME).keyUp(Keys.CONTROL).perform();
                     log.info("第 {} 页", j);
                     break;
                 } catch (Exception e) {
                     log.error("分页跳转失败，1秒后重试... {}", e.getMessage());
                     SeleniumUtil.sleep(1);
-                    findAnomaly();
-                    CHROME_DRIVER.navigate().refresh();
+                    findAnomaly(session);
+                    driver.navigate().refresh();
                 }
             }
-            postCurrentJob();
+            postCurrentJob(session);
         }
     }
 
@@ -308,17 +339,24 @@ public class Job51 {
 
 
     @SneakyThrows
-    private static void postCurrentJob() {
-        SeleniumUtil.sleep(3); // 增加等待时间，确保页面完全加载
+    private static void postCurrentJob(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
+        WebDriverWait wait = session.getWait();
+        Actions actions = session.getActions();
+        // 等待岗位列表加载
+        WaitEngine.until(session, ExpectedConditions.presenceOfAllElementsLocatedBy(By.cssSelector("div.ick")), 10);
         // 选择所有岗位，批量投递
-        List<WebElement> checkboxes = CHROME_DRIVER.findElements(By.cssSelector("div.ick"));
+        List<WebElement> checkboxes = driver.findElements(By.cssSelector("div.ick"));
         if (checkboxes.isEmpty()) {
             log.info("当前页面没有找到可选择的岗位");
             return;
         }
-        List<WebElement> titles = CHROME_DRIVER.findElements(By.cssSelector("[class*='jname text-cut']"));
-        List<WebElement> companies = CHROME_DRIVER.findElements(By.cssSelector("[class*='cname text-cut']"));
-        JavascriptExecutor executor = CHROME_DRIVER;
+        List<WebElement> titles = driver.findElements(By.cssSelector("[class*='jname text-cut']"));
+        List<WebElement> companies = driver.findElements(By.cssSelector("[class*='cname text-cut']"));
+        // 薪资与岗位一一对应时才按期望薪资过滤，避免页面结构变化后错位
+        List<WebElement> salaries = driver.findElements(By.cssSelector("span.sal"));
+        boolean salaryAligned = salaries.size() == titles.size();
+        JavascriptExecutor executor = driver;
         // 获取招聘者信息列表
         List<WebElement> recruiters = new ArrayList<>();
         try {
@@ -331,7 +369,7 @@ public class Job51 {
             };
             
             for (String selector : recruiterSelectors) {
-                List<WebElement> foundRecruiters = CHROME_DRIVER.findElements(By.cssSelector(selector));
+                List<WebElement> foundRecruiters = driver.findElements(By.cssSelector(selector));
                 if (!foundRecruiters.isEmpty()) {
                     recruiters = foundRecruiters;
                     log.info("成功获取招聘者信息，共 {} 个", recruiters.size());
@@ -342,10 +380,21 @@ public class Job51 {
             log.warn("获取招聘者信息时发生异常: {}", e.getMessage());
         }
         
+        // 本页勾选的岗位（公司、岗位名称），批量投递成功后记录到已投递索引与跨平台索引
+        List<String[]> selectedJobs = new ArrayList<>();
         for (int i = 0; i < checkboxes.size() && i < titles.size() && i < companies.size(); i++) {
             WebElement checkbox = checkboxes.get(i);
             String title = titles.get(i).getText();
             String company = companies.get(i).getText();
+            String jobKey = AppliedIndex.key(company, title);
+            if (applied.isKnown(jobKey)) {
+                log.info("跳过已投递的岗位: {} | {}", company, title);
+                continue;
+            }
+            if (!dedupe.firstSeen(jobKey)) {
+                log.info("跳过其他关键词已选中的岗位: {} | {}", company, title);
+                continue;
+            }
             
             // 获取招聘者信息（如果有）
             String recruiter = "";
@@ -361,19 +410,30 @@ public class Job51 {
             if (shouldFilter(company, title, recruiter)) {
                 continue;
             }
+            if (salaryAligned) {
+                String salary = salaries.get(i).getText();
+                if (SalaryParser.isNotExpected(salary, config.getExpectedSalary())) {
+                    log.info("薪资不符合预期，跳过岗位：{} - {}", title, salary);
+                    continue;
+                }
+            }
+            // 列表中没有单独的城市字段，只按公司与岗位名称比较
+            Platform owner = crossPlatform.claimedBy(Platform.JOB51, company, title, null);
+            if (owner != null) {
+                log.info("同一岗位已在{}投递，跳过：{} | {}", owner.getPlatformName(), company, title);
+                continue;
+            }
             
             // 先滚动到复选框位置
             executor.executeScript("arguments[0].scrollIntoView({block:'center'});", checkbox);
-            SeleniumUtil.sleep(1);
             // 使用JS点击，避免直接点击可能失败的问题
             executor.executeScript("arguments[0].click();", checkbox);
             resultList.add(company + " | " + title);
+            selectedJobs.add(new String[]{company, title});
             log.info("选中:{} | {} 职位", company, title);
         }
-        SeleniumUtil.sleep(2); // 增加等待时间
         // 回到页面顶部
-        executor.executeScript("window.scrollTo({top: 0, behavior: 'smooth'});");
-        SeleniumUtil.sleep(2);
+        executor.executeScript("window.scrollTo(0, 0);");
         
         boolean success = false;
         int retryCount = 0;
@@ -399,10 +459,10 @@ public class Job51 {
                         try {
                             if (selector.startsWith("//")) {
                                 // 使用XPath
-                                batchBtn = CHROME_DRIVER.findElement(By.xpath(selector));
+                                batchBtn = driver.findElement(By.xpath(selector));
                             } else {
                                 // 使用CSS选择器
-                                List<WebElement> buttons = CHROME_DRIVER.findElements(By.cssSelector(selector));
+                                List<WebElement> buttons = driver.findElements(By.cssSelector(selector));
                                 if (buttons.size() > 1) {
                                     batchBtn = buttons.get(1); // 选择第二个按钮作为投递按钮
                                 } else if (!buttons.isEmpty()) {
@@ -426,7 +486,7 @@ public class Job51 {
                 // 如果上面的方法没找到，尝试原有的方法
                 if (batchBtn == null) {
                     try {
-                        WebElement parent = CHROME_DRIVER.findElement(By.cssSelector("div.tabs_in"));
+                        WebElement parent = driver.findElement(By.cssSelector("div.tabs_in"));
                         List<WebElement> buttons = parent.findElements(By.cssSelector("button.p_but"));
                         if (buttons != null && !buttons.isEmpty()) {
                             batchBtn = buttons.get(1); // 获取第二个按钮
@@ -440,13 +500,12 @@ public class Job51 {
                 if (batchBtn != null) {
                     // 滚动到按钮位置，确保可见
                     executor.executeScript("arguments[0].scrollIntoView({block:'center'});", batchBtn);
-                    SeleniumUtil.sleep(1);
                     
                     // 尝试多种点击方式
                     try {
                         // 方法1：使用WebDriverWait等待按钮可点击
                         try {
-                            WAIT.until(ExpectedConditions.elementToBeClickable(batchBtn));
+                            wait.until(ExpectedConditions.elementToBeClickable(batchBtn));
                             log.info("按钮可点击");
                         } catch (Exception e) {
                             log.warn("等待按钮可点击失败，继续尝试点击: {}", e.getMessage());
@@ -459,7 +518,7 @@ public class Job51 {
                     } catch (Exception e) {
                         // 方法3：尝试Actions点击
                         try {
-                            ACTIONS.moveToElement(batchBtn).click().build().perform();
+                            actions.moveToElement(batchBtn).click().build().perform();
                             log.info("使用Actions点击投递按钮");
                             success = true;
                         } catch (Exception ae) {
@@ -479,7 +538,7 @@ public class Job51 {
                     log.error("未找到批量投递按钮");
                     // 尝试查找页面上所有按钮并打印，以便调试
                     try {
-                        List<WebElement> allButtons = CHROME_DRIVER.findElements(By.tagName("button"));
+                        List<WebElement> allButtons = driver.findElements(By.tagName("button"));
                         log.info("页面上找到 {} 个按钮", allButtons.size());
                         for (int i = 0; i < Math.min(allButtons.size(), 5); i++) {
                             WebElement btn = allButtons.get(i);
@@ -495,7 +554,7 @@ public class Job51 {
                     // 刷新页面重试
                     if (retryCount % 3 == 0) {
                         log.info("多次尝试失败，刷新页面后重试");
-                        CHROME_DRIVER.navigate().refresh();
+                        driver.navigate().refresh();
                         SeleniumUtil.sleep(5);
                     }
                 }
@@ -507,75 +566,65 @@ public class Job51 {
         
         if (!success) {
             log.error("达到最大重试次数，批量投递失败");
+        } else {
+            for (String[] job : selectedJobs) {
+                applied.markApplied(AppliedIndex.key(job[0], job[1]));
+                crossPlatform.record(Platform.JOB51, job[0], job[1], null);
+            }
         }
 
         try {
-            SeleniumUtil.sleep(3);
-            String text = CHROME_DRIVER.findElement(By.xpath("//div[@class='successContent']")).getText();
+            WaitEngine.until(session, ExpectedConditions.visibilityOfElementLocated(By.xpath("//div[@class='successContent']")), 5);
+            String text = driver.findElement(By.xpath("//div[@class='successContent']")).getText();
             if (text.contains("快来扫码下载~")) {
                 //关闭弹窗
-                CHROME_DRIVER.findElement(By.cssSelector("[class*='van-icon van-icon-cross van-popup__close-icon van-popup__close-icon--top-right']")).click();
+                driver.findElement(By.cssSelector("[class*='van-icon van-icon-cross van-popup__close-icon van-popup__close-icon--top-right']")).click();
             }
         } catch (Exception ignored) {
             log.info("未找到投递成功弹窗！可能为单独投递申请弹窗！");
         }
         String particularly = null;
         try {
-            particularly = CHROME_DRIVER.findElement(By.xpath("//div[@class='el-dialog__body']/span")).getText();
+            particularly = driver.findElement(By.xpath("//div[@class='el-dialog__body']/span")).getText();
         } catch (Exception ignored) {
         }
         if (particularly != null && particularly.contains("需要到企业招聘平台单独申请")) {
             //关闭弹窗
-            CHROME_DRIVER.findElement(By.cssSelector("#app > div > div.post > div > div > div.j_result > div > div:nth-child(2) > div > div:nth-child(2) > div:nth-child(2) > div > div.el-dialog__header > button > i")).click();
+            driver.findElement(By.cssSelector("#app > div > div.post > div > div > div.j_result > div > div:nth-child(2) > div > div:nth-child(2) > div:nth-child(2) > div > div.el-dialog__header > button > i")).click();
             log.info("关闭单独投递申请弹窗成功！");
         }
     }
 
-    private static void findAnomaly() {
+    private static void findAnomaly(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
         try {
-            String verify = CHROME_DRIVER.findElement(By.xpath("//p[@class='waf-nc-title']")).getText();
+            String verify = driver.findElement(By.xpath("//p[@class='waf-nc-title']")).getText();
             if (verify.contains("验证")) {
                 //关闭弹窗
                 log.error("出现访问验证了！程序退出...");
-                printResult(); // printResult已经包含了关闭浏览器的逻辑
+                printResult(session); // printResult已经包含了关闭浏览器的逻辑
             }
         } catch (Exception ignored) {
             log.info("未出现访问验证，继续运行...");
         }
     }
 
-    private static void scanLogin() {
+    private static void scanLogin(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
         log.info("等待扫码登陆..");
-        CHROME_DRIVER.get(loginUrl);
-        
-        // 记录开始时间，用于判断20分钟超时（用户要求延长）
-        long startTime = System.currentTimeMillis();
-        final long TIMEOUT = 20 * 60 * 1000; // 20分钟
+        driver.get(loginUrl);
         
-        // 等待登录成功元素出现，但增加超时控制
-        while (true) {
-            try {
-                // 检查是否登录成功
-                WebElement resumeElement = CHROME_DRIVER.findElement(By.xpath("//a[contains(text(), '在线简历')]"));
-                if (resumeElement != null && resumeElement.isDisplayed()) {
-                    log.info("扫码登录成功！");
-                    SeleniumUtil.saveCookie("job51", cookiePath);
-                    break;
-                }
-            } catch (Exception ignored) {
-                // 元素未找到，继续等待
-            }
-            
-            // 检查是否超时
-            long elapsed = System.currentTimeMillis() - startTime;
-            if (elapsed >= TIMEOUT) {
-                log.error("登录超时，20分钟内未完成扫码登录，程序将退出。");
-                return;
-            }
-            
-            // 每2秒检查一次
-            SeleniumUtil.sleep(2);
+        // 推送二维码后等待“在线简历”入口出现，最多20分钟，等待期间其他平台照常投递
+        boolean login = LoginWaiter.await("51job", () -> {
+            List<WebElement> resume = driver.findElements(By.xpath("//a[contains(text(), '在线简历')]"));
+            return !resume.isEmpty() && resume.get(0).isDisplayed();
+        }, () -> driver.getScreenshotAs(OutputType.BYTES), 20 * 60 * 1000);
+        if (!login) {
+            log.error("登录超时，20分钟内未完成扫码登录。");
+            return;
         }
+        log.info("扫码登录成功！");
+        SeleniumUtil.saveCookie("job51", cookiePath);
     }
 
 }
@@ -31,6 +31,11 @@ public class Job51Config {
      */
     private List<String> salary;
 
+    /**
+     * 目标薪资（月薪，单位K），如[15, 25]，为空不过滤
+     */
+    private List<Integer> expectedSalary;
+
 
     @SneakyThrows
     public static Job51Config init() {
@@ -3,23 +3,33 @@ package lagou;
 import lombok.SneakyThrows;
 import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.OutputType;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utils.AppliedIndex;
+import utils.BrowserSession;
+import utils.CrossPlatformIndex;
+import utils.JobDedupe;
 import utils.JobUtils;
+import utils.Platform;
+import utils.RunReport;
+import utils.SalaryParser;
+import utils.LoginWaiter;
 import utils.SeleniumUtil;
+import utils.WaitEngine;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static utils.Bot.sendMessageByTime;
-import static utils.Constant.*;
 import static utils.JobUtils.formatDuration;
 import static utils.SeleniumUtil.isCookieValid;
 
@@ -45,30 +55,37 @@ public class Lagou {
     static String cookiePath = "./src/main/java/lagou/cookie.json";
     static LagouConfig config = LagouConfig.init();
     static Date startDate;
+    static String appliedPath = "./src/main/java/lagou/applied.log";
+    static AppliedIndex applied;
+    static JobDedupe dedupe = new JobDedupe();
+    static CrossPlatformIndex crossPlatform = CrossPlatformIndex.shared();
 
 
     public static void main(String[] args) {
         log.info("拉勾网投递任务开始");
         try {
             // 使用平台特定的浏览器实例初始化
-            SeleniumUtil.initDriver("lagou");
-            ChromeDriver driver = SeleniumUtil.getChromeDriverInstance("lagou");
+            BrowserSession session = SeleniumUtil.initDriver("lagou");
+            ChromeDriver driver = session.getDriver();
             if (driver == null) {
                 log.error("获取拉勾网浏览器实例失败");
+                RunReport.fail("lagou", "获取浏览器实例失败");
                 return;
             }
             startDate = new Date();
-            login();
+            applied = AppliedIndex.open(appliedPath);
+            dedupe = new JobDedupe();
+            login(session);
             driver.get(homeUrl);
             homeUrl = "https://www.lagou.com/wn/zhaopin?fromSearch=true";
             config.getKeywords().forEach(keyword -> {
                 String searchUrl = getSearchUrl(keyword);
                 driver.get(searchUrl);
-                setMaxPage();
+                setMaxPage(session);
                 for (int i = page; i <= maxPage || currentKeyJobNum > oneKeyMaxJob; i++) {
-                    submit();
+                    submit(session);
                     try {
-                        getWindow();
+                        getWindow(session);
                         driver.findElements(By.className("lg-pagination-item-link")).get(1).click();
                     } catch (Exception e) {
                         break;
@@ -78,7 +95,13 @@ public class Lagou {
             });
         } catch (Exception e) {
             log.error("拉勾网投递任务发生异常", e);
+            RunReport.fail("lagou", e.getMessage());
         } finally {
+            if (applied != null) {
+                log.info(applied.stats());
+                log.info(crossPlatform.stats());
+                applied.close();
+            }
             printResult();
             // 关闭该平台的浏览器实例
             SeleniumUtil.closePlatform("lagou");
@@ -86,8 +109,9 @@ public class Lagou {
     }
 
     private static void printResult() {
-        String message = String.format("\n拉勾投递完成，共投递%d个岗位，用时%s", jobCount, formatDuration(startDate, new Date()));
+        String message = String.format("\n拉勾投递完成，共投递%d个岗位，跳过重复岗位%d个，用时%s", jobCount, dedupe.duplicates(), formatDuration(startDate, new Date()));
         log.info(message);
+        RunReport.record("lagou", jobCount, dedupe.duplicates() + (applied == null ? 0 : applied.skipped()));
         sendMessageByTime(message);
         jobCount = 0;
     }
@@ -104,26 +128,30 @@ public class Lagou {
     /**
      * 设置选项
      */
-    private static void setMaxPage() {
+    private static void setMaxPage(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
+        Actions actions = session.getActions();
         // 模拟 Ctrl + End
-        ACTIONS.keyDown(Keys.CONTROL).sendKeys(Keys.END).keyUp(Keys.CONTROL).perform();
-        WebElement secondLastLi = CHROME_DRIVER.findElement(By.xpath("(//ul[@class='lg-pagination']/li)[last()-1]"));
+        actions.keyDown(Keys.CONTROL).sendKeys(Keys.END).keyUp(Keys.CONTROL).perform();
+        WebElement secondLastLi = driver.findElement(By.xpath("(//ul[@class='lg-pagination']/li)[last()-1]"));
         if (secondLastLi != null && secondLastLi.getText().matches("\\d+")) {
             maxPage = Integer.parseInt(secondLastLi.getText());
         }
         // 模拟 Ctrl + Home
-        ACTIONS.keyDown(Keys.CONTROL).sendKeys(Keys.HOME).keyUp(Keys.CONTROL).perform();
+        actions.keyDown(Keys.CONTROL).sendKeys(Keys.HOME).keyUp(Keys.CONTROL).perform();
     }
 
     @SneakyThrows
-    private static void submit() {
+    private static void submit(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
+        WebDriverWait wait = session.getWait();
+        Actions actions = session.getActions();
         // 获取所有的元素
         List<WebElement> elements = null;
         try {
-            ACTIONS.sendKeys(Keys.HOME).perform();
-            SeleniumUtil.sleep(1);
-            WAIT.until(ExpectedConditions.presenceOfElementLocated(By.id("openWinPostion")));
-            elements = CHROME_DRIVER.findElements(By.id("openWinPostion"));
+            actions.sendKeys(Keys.HOME).perform();
+            wait.until(ExpectedConditions.presenceOfElementLocated(By.id("openWinPostion")));
+            elements = driver.findElements(By.id("openWinPostion"));
 
         } catch (Exception ignore) {
         }
@@ -135,35 +163,54 @@ public class Lagou {
                 } catch (Exception e) {
                     log.error("获取岗位列表中某个岗位失败，岗位列表数量：{},获取第【{}】个元素失败", i + 1, elements.size());
                 }
+                // 列表中的岗位链接即详情页地址，已投递或其他关键词已打开过的岗位不再打开
+                String listKey = null;
                 try {
-                    ACTIONS.moveToElement(element).perform();
+                    listKey = element == null ? null : jobKeyOf(element.getDomProperty("href"));
+                } catch (Exception ignore) {
+                }
+                if (applied.isKnown(listKey) || !dedupe.firstSeen(listKey)) {
+                    continue;
+                }
+                try {
+                    actions.moveToElement(element).perform();
                 } catch (Exception e) {
-                    getWindow();
+                    getWindow(session);
                 }
-                if (-1 == tryClick(element, i)) {
+                int windows = driver.getWindowHandles().size();
+                if (-1 == tryClick(session, element, i)) {
                     continue;
                 }
-                TimeUnit.SECONDS.sleep(1);
-                getWindow();
+                // 岗位详情在新标签页打开
+                WaitEngine.until(session, ExpectedConditions.numberOfWindowsToBe(windows + 1), 5);
+                getWindow(session);
+                WaitEngine.until(session, ExpectedConditions.presenceOfElementLocated(By.className("resume-deliver")), 10);
                 String jobName;
                 WebElement submit;
                 try {
-                    jobName = CHROME_DRIVER.findElement(By.className("header__HY1Cm")).getText();
+                    jobName = driver.findElement(By.className("header__HY1Cm")).getText();
                 } catch (Exception e) {
                     try {
-                        jobName = CHROME_DRIVER.findElement(By.className("position-head-wrap-position-name")).getText();
+                        jobName = driver.findElement(By.className("position-head-wrap-position-name")).getText();
                     } catch (Exception ex) {
-                        SeleniumUtil.sleep(10);
+                        WaitEngine.pace("lagou.retry");
                         continue;
                     }
 
                 }
                 if (!(jobName != null && !jobName.isEmpty() && !jobName.contains("销"))) {
-                    CHROME_DRIVER.close();
-                    getWindow();
+                    driver.close();
+                    getWindow(session);
+                    continue;
+                }
+                String jobKey = jobKeyOf(driver.getCurrentUrl());
+                // 列表中没有取到链接时，打开后再按详情页地址检查
+                if (applied.isKnown(jobKey) || listKey == null && !dedupe.firstSeen(jobKey)) {
+                    driver.close();
+                    getWindow(session);
                     continue;
                 }
-                submit = CHROME_DRIVER.findElement(By.className("resume-deliver"));
+                submit = driver.findElement(By.className("resume-deliver"));
                 if ("投简历".equals(submit.getText())) {
                     String jobTitle = null;
                     String companyName = null;
@@ -172,102 +219,131 @@ public class Lagou {
                     String salary = null;
                     String weal = null;
                     try {
-                        jobTitle = CHROME_DRIVER.findElement(By.cssSelector("span.name__36WTQ")).getText();
-                        companyName = CHROME_DRIVER.findElement(By.cssSelector("span.company")).getText();
-                        jobInfo = CHROME_DRIVER.findElements(By.cssSelector("h3.position-tags span"))
+                        jobTitle = driver.findElement(By.cssSelector("span.name__36WTQ")).getText();
+                        companyName = driver.findElement(By.cssSelector("span.company")).getText();
+                        jobInfo = driver.findElements(By.cssSelector("h3.position-tags span"))
                                 .stream()
                                 .map(WebElement::getText)
                                 .collect(Collectors.joining("/"));
-                        companyInfo = CHROME_DRIVER.findElement(By.cssSelector("div.header__HY1Cm")).getText();
-                        salary = CHROME_DRIVER.findElement(By.cssSelector("span.salary__22Kt_")).getText();
-                        weal = CHROME_DRIVER.findElement(By.cssSelector("li.labels")).getText();
+                        companyInfo = driver.findElement(By.cssSelector("div.header__HY1Cm")).getText();
+                        salary = driver.findElement(By.cssSelector("span.salary__22Kt_")).getText();
+                        weal = driver.findElement(By.cssSelector("li.labels")).getText();
                     } catch (Exception e) {
                         log.error("获取职位信息失败", e);
                         try {
-                            jobTitle = CHROME_DRIVER.findElement(By.cssSelector("span.position-head-wrap-position-name")).getText();
-                            companyName = CHROME_DRIVER.findElement(By.cssSelector("span.company")).getText();
-                            List<WebElement> jobInfoElements = CHROME_DRIVER.findElements(By.cssSelector("h3.position-tags span:not(.tag-point)"));
+                            jobTitle = driver.findElement(By.cssSelector("span.position-head-wrap-position-name")).getText();
+                            companyName = driver.findElement(By.cssSelector("span.company")).getText();
+                            List<WebElement> jobInfoElements = driver.findElements(By.cssSelector("h3.position-tags span:not(.tag-point)"));
                             jobInfo = jobInfoElements.stream()
                                     .map(WebElement::getText)
                                     .collect(Collectors.joining("/"));
-                            companyInfo = CHROME_DRIVER.findElement(By.cssSelector("span.company")).getText();
-                            salary = CHROME_DRIVER.findElement(By.cssSelector("span.salary")).getText();
-                            weal = CHROME_DRIVER.findElement(By.cssSelector("dd.job-advantage p")).getText();
+                            companyInfo = driver.findElement(By.cssSelector("span.company")).getText();
+                            salary = driver.findElement(By.cssSelector("span.salary")).getText();
+                            weal = driver.findElement(By.cssSelector("dd.job-advantage p")).getText();
                         } catch (Exception ex) {
                             log.error("第二次获取职位信息失败，放弃了！", ex);
                         }
                     }
+                    if (SalaryParser.isNotExpected(salary, config.getExpectedSalary())) {
+                        log.info("薪资不符合预期，跳过岗位：{} - {}", jobTitle, salary);
+                        driver.close();
+                        getWindow(session);
+                        continue;
+                    }
+                    Platform owner = crossPlatform.claimedBy(Platform.LAGOU, companyName, jobTitle, config.getCityCode());
+                    if (owner != null) {
+                        log.info("同一岗位已在{}投递，跳过：{} - {}", owner.getPlatformName(), companyName, jobTitle);
+                        driver.close();
+                        getWindow(session);
+                        continue;
+                    }
                     log.info("投递: {},职位: {},公司: {},职位信息: {},公司信息: {},薪资: {},福利: {}", jobTitle, jobTitle, companyName, jobInfo, companyInfo, salary, weal);
                     jobCount++;
                     currentKeyJobNum++;
-                    TimeUnit.SECONDS.sleep(2);
+                    WaitEngine.pace("lagou.submit");
                     submit.click();
-                    TimeUnit.SECONDS.sleep(2);
+                    applied.markApplied(jobKey);
+                    crossPlatform.record(Platform.LAGOU, companyName, jobTitle, config.getCityCode());
+                    // 投递后弹出确认投递或投递成功的对话框
+                    WaitEngine.until(session, ExpectedConditions.visibilityOfElementLocated(By.cssSelector("div.lg-design-modal-wrap")), 5);
                     try {
-                        WebElement send = CHROME_DRIVER.findElement(By.cssSelector("body > div:nth-child(45) > div > div.lg-design-modal-wrap.position-modal > div > div.lg-design-modal-content > div.lg-design-modal-footer > button.lg-design-btn.lg-design-btn-default"));
+                        WebElement send = driver.findElement(By.cssSelector("body > div:nth-child(45) > div > div.lg-design-modal-wrap.position-modal > div > div.lg-design-modal-content > div.lg-design-modal-footer > button.lg-design-btn.lg-design-btn-default"));
                         if ("确认投递".equals(send.getText())) {
                             send.click();
                         }
                     } catch (Exception e) {
                         log.error("没有【确认投递】的弹窗，继续！");
                     }
+                    WebElement confirm = WaitEngine.until(session, ExpectedConditions.visibilityOfElementLocated(
+                            By.cssSelector("button.lg-design-btn.lg-design-btn-primary span")), 5);
                     try {
-                        WebElement confirm = CHROME_DRIVER.findElement(By.cssSelector("button.lg-design-btn.lg-design-btn-primary span"));
-                        String buttonText = confirm.getText();
-                        if ("我知道了".equals(buttonText)) {
+                        if (confirm == null) {
+                            log.error("第一次点击【我知道了】按钮失败...重试xpath点击...");
+                            wait.until(ExpectedConditions.elementToBeClickable(By.xpath("/html/body/div[7]/div/div[2]/div/div[2]/div[2]/button[2]"))).click();
+                        } else if ("我知道了".equals(confirm.getText())) {
                             confirm.click();
-                        } else {
-                            TimeUnit.SECONDS.sleep(1);
                         }
                     } catch (Exception e) {
-                        log.error("第一次点击【我知道了】按钮失败...重试xpath点击...");
-                        TimeUnit.SECONDS.sleep(1);
-                        try {
-                            CHROME_DRIVER.findElement(By.xpath("/html/body/div[7]/div/div[2]/div/div[2]/div[2]/button[2]")).click();
-                        } catch (Exception ex) {
-                            log.error("第二次点击【我知道了】按钮失败...放弃了！", ex);
-                            TimeUnit.SECONDS.sleep(10);
-                            CHROME_DRIVER.navigate().refresh();
-                        }
+                        log.error("第二次点击【我知道了】按钮失败...放弃了！", e);
+                        WaitEngine.pace("lagou.retry");
+                        driver.navigate().refresh();
                     }
-                    try {
-                        TimeUnit.SECONDS.sleep(2);
-                        CHROME_DRIVER.findElement(By.cssSelector("#__next > div:nth-child(3) > div > div > div.feedback_job__3EnWp > div.feedback_job_title__2y8Bj > div.feedback_job_deliver__3UIB5.feedback_job_active__3bbLa")).click();
-                    } catch (Exception e) {
+                    // 投递成功页会展示推荐职位
+                    WebElement feedback = WaitEngine.until(session, ExpectedConditions.elementToBeClickable(By.cssSelector(
+                            "#__next > div:nth-child(3) > div > div > div.feedback_job__3EnWp > div.feedback_job_title__2y8Bj > div.feedback_job_deliver__3UIB5.feedback_job_active__3bbLa")), 3);
+                    if (feedback == null) {
                         log.error("这个岗位没有推荐职位...");
-                        TimeUnit.SECONDS.sleep(1);
+                    } else {
+                        try {
+                            feedback.click();
+                        } catch (Exception e) {
+                            log.error("点击推荐职位失败: {}", e.getMessage());
+                        }
                     }
                 } else if ("立即沟通".equals(submit.getText())) {
                     submit.click();
+                    applied.markApplied(jobKey);
                     try {
-                        WAIT.until(ExpectedConditions.presenceOfElementLocated(By.xpath("//*[@id=\"modalConIm\"]"))).click();
+                        wait.until(ExpectedConditions.presenceOfElementLocated(By.xpath("//*[@id=\"modalConIm\"]"))).click();
                     } catch (Exception e) {
                         submit.click();
-                        WAIT.until(ExpectedConditions.presenceOfElementLocated(By.xpath("//*[@id=\"modalConIm\"]"))).click();
+                        wait.until(ExpectedConditions.presenceOfElementLocated(By.xpath("//*[@id=\"modalConIm\"]"))).click();
                     }
                 } else {
-                    log.info("这个岗位没有投简历按钮...一秒后关闭标签页面！");
-                    TimeUnit.SECONDS.sleep(1);
+                    log.info("这个岗位没有投简历按钮...关闭标签页面！");
                 }
-                CHROME_DRIVER.close();
-                getWindow();
+                driver.close();
+                getWindow(session);
             }
         }
     }
 
-    private static void getWindow() {
+    /**
+     * 岗位详情页地址去掉查询参数作为岗位标识
+     */
+    private static String jobKeyOf(String url) {
+        if (url == null || !url.contains("/jobs/")) {
+            return null;
+        }
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+
+    private static void getWindow(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
         try {
-            ArrayList<String> tabs = new ArrayList<>(CHROME_DRIVER.getWindowHandles());
+            ArrayList<String> tabs = new ArrayList<>(driver.getWindowHandles());
             if (tabs.size() > 1) {
-                CHROME_DRIVER.switchTo().window(tabs.get(1));
+                driver.switchTo().window(tabs.get(1));
             } else {
-                CHROME_DRIVER.switchTo().window(tabs.get(0));
+                driver.switchTo().window(tabs.get(0));
             }
         } catch (Exception ignore) {
         }
     }
 
-    private static int tryClick(WebElement element, int i) {
+    private static int tryClick(BrowserSession session, WebElement element, int i) {
+        ChromeDriver driver = session.getDriver();
         boolean isClicked = false;
         int maxRetryCount = 5;
         int retryCount = 0;
@@ -277,7 +353,7 @@ public class Lagou {
             isClicked = true;
         } catch (Exception e) {
             try {
-                CHROME_DRIVER.findElements(By.id("openWinPostion")).get(i).click();
+                driver.findElements(By.id("openWinPostion")).get(i).click();
                 isClicked = true;
             } catch (Exception ex) {
                 log.info(ex.getMessage());
@@ -296,13 +372,13 @@ public class Lagou {
          TimeUnit.SECONDS.sleep(5);
 
          try {
-         CHROME_DRIVER.findElements(By.id("openWinPostion")).get(i).click();
+         driver.findElements(By.id("openWinPostion")).get(i).click();
          isClicked = true;
          } catch (Exception ex) {
          log.error(" get(i).click() 重试失败，尝试使用Actions点击...(正在尝试：第 {} 次)", retryCount);
          TimeUnit.SECONDS.sleep(5);
          try {
-         ACTIONS.keyDown(Keys.CONTROL).click(element).keyUp(Keys.CONTROL).build().perform();
+         actions.keyDown(Keys.CONTROL).click(element).keyUp(Keys.CONTROL).build().perform();
          isClicked = true;
          } catch (Exception exc) {
          log.error("使用Actions点击也失败，等待10秒后再次尝试...(正在尝试：第 {} 次)", retryCount);
@@ -314,7 +390,7 @@ public class Lagou {
          if (!isClicked) {
          log.error("已尝试 {} 次，已达最大重试次数，少侠请重新来过！", maxRetryCount);
          log.info("已投递 {} 次，正在退出...", jobCount);
-         CHROME_DRIVER.quit();
+         driver.quit();
          return -1;
          } else {
          return 0;
@@ -323,65 +399,79 @@ public class Lagou {
     }
 
     @SneakyThrows
-    private static void newTab(int index) {
-        String windowHandle = CHROME_DRIVER.getWindowHandle();
-        String company = CHROME_DRIVER.findElement(By.cssSelector(".company-name__2-SjF a")).getText();
+    private static void newTab(BrowserSession session, int index) {
+        ChromeDriver driver = session.getDriver();
+        WebDriverWait wait = session.getWait();
+        String windowHandle = driver.getWindowHandle();
+        String company = driver.findElement(By.cssSelector(".company-name__2-SjF a")).getText();
 
-        String jobTitle = CHROME_DRIVER.findElement(By.cssSelector(".p-top__1F7CL a")).getText();
-        CHROME_DRIVER.findElements(By.id("openWinPostion")).get(index).click();
-        WAIT.until(ExpectedConditions.presenceOfElementLocated(By.className("resume-deliver")));
+        String jobTitle = driver.findElement(By.cssSelector(".p-top__1F7CL a")).getText();
+        driver.findElements(By.id("openWinPostion")).get(index).click();
+        wait.until(ExpectedConditions.presenceOfElementLocated(By.className("resume-deliver")));
 
-        Set<String> windowHandles = CHROME_DRIVER.getWindowHandles();
+        Set<String> windowHandles = driver.getWindowHandles();
         windowHandles.remove(windowHandle);
         String newWindowHandle = windowHandles.iterator().next();
-        CHROME_DRIVER.switchTo().window(newWindowHandle);
-        WAIT.until(ExpectedConditions.presenceOfElementLocated(By.className("resume-deliver")));
+        driver.switchTo().window(newWindowHandle);
+        wait.until(ExpectedConditions.presenceOfElementLocated(By.className("resume-deliver")));
 
-        if (!"已投递".equals(CHROME_DRIVER.findElements(By.className("resume-deliver")).get(0).getText())) {
-            CHROME_DRIVER.findElements(By.className("resume-deliver")).get(0).click();
-            TimeUnit.SECONDS.sleep(1);
-            WAIT.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector("button.lg-design-btn.lg-design-btn-primary"))).click();
+        if (!"已投递".equals(driver.findElements(By.className("resume-deliver")).get(0).getText())) {
+            driver.findElements(By.className("resume-deliver")).get(0).click();
+            wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector("button.lg-design-btn.lg-design-btn-primary"))).click();
             log.info("投递【{}】公司: 【{}】岗位", company, jobTitle);
         }
-        CHROME_DRIVER.close();
-        CHROME_DRIVER.switchTo().window(windowHandle);
+        driver.close();
+        driver.switchTo().window(windowHandle);
+    }
+
+    /**
+     * 离线检查登录状态是否有效（不打开浏览器）
+     */
+    public static boolean isLoginValid() {
+        return isCookieValid(cookiePath);
     }
 
     @SneakyThrows
-    private static void login() {
+    private static void login(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
+        WebDriverWait wait = session.getWait();
         log.info("正在打开拉勾...");
-        CHROME_DRIVER.get("https://www.lagou.com");
+        driver.get("https://www.lagou.com");
         log.info("拉勾正在登录...");
         if (isCookieValid(cookiePath)) {
-            SeleniumUtil.loadCookie(cookiePath);
-            CHROME_DRIVER.navigate().refresh();
+            SeleniumUtil.loadCookie("lagou", cookiePath);
+            driver.navigate().refresh();
         }
-        WAIT.until(ExpectedConditions.presenceOfElementLocated(By.id("search_button")));
-        if (isLoginRequired()) {
+        wait.until(ExpectedConditions.presenceOfElementLocated(By.id("search_button")));
+        if (isLoginRequired(session)) {
             log.info("cookie失效，尝试扫码登录...");
-            scanLogin();
-            SeleniumUtil.saveCookie(cookiePath);
+            scanLogin(session);
+            SeleniumUtil.saveCookie("lagou", cookiePath);
         } else {
             log.info("cookie有效，准备投递...");
         }
     }
 
-    private static boolean isLoginRequired() {
+    private static boolean isLoginRequired(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
         try {
-            WebElement header = CHROME_DRIVER.findElement(By.id("lg_tbar"));
+            WebElement header = driver.findElement(By.id("lg_tbar"));
             return header.getText().contains("登录");
         } catch (Exception e) {
             return true;
         }
     }
 
-    private static void scanLogin() {
+    private static void scanLogin(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
+        WebDriverWait wait = session.getWait();
         try {
-            CHROME_DRIVER.get(wechatUrl);
+            driver.get(wechatUrl);
             log.info("等待扫码..");
-            WAIT.until(ExpectedConditions.elementToBeClickable(By.id("search_button")));
+            LoginWaiter.notifyScan("拉勾", () -> driver.getScreenshotAs(OutputType.BYTES));
+            wait.until(ExpectedConditions.elementToBeClickable(By.id("search_button")));
         } catch (Exception e) {
-            CHROME_DRIVER.navigate().refresh();
+            driver.navigate().refresh();
         }
 
     }
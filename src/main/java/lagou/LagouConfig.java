@@ -39,6 +39,11 @@ public class LagouConfig {
      */
     private String gj;
 
+    /**
+     * 目标薪资（月薪，单位K），如[15, 25]，为空不过滤
+     */
+    private List<Integer> expectedSalary;
+
     @SneakyThrows
     public static LagouConfig init() {
         LagouConfig config = JobUtils.getConfig(LagouConfig.class);
@@ -3,14 +3,26 @@ package liepin;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitForSelectorState;
 import lombok.SneakyThrows;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
+import utils.AppliedIndex;
+import utils.Blacklist;
+import utils.CrossPlatformIndex;
+import utils.JobDedupe;
 import utils.JobUtils;
+import utils.LoginWaiter;
+import utils.Platform;
+import utils.RunReport;
 import utils.PlaywrightUtil;
+import utils.SalaryParser;
+import utils.ScrollLoader;
+import utils.SelectorRegistry;
 import utils.SeleniumUtil;
+import utils.WaitEngine;
 
 import java.io.File;
 import java.io.IOException;
@@ -36,13 +48,20 @@ public class Liepin {
     static String homeUrl = "https://www.liepin.com/";
     static String cookiePath = "./src/main/java/liepin/cookie.json";
     static String dataPath = "src/main/java/liepin/data.json";
-    static Set<String> blackCompanies = new HashSet<>();
-    static Set<String> blackRecruiters = new HashSet<>();
-    static Set<String> blackJobs = new HashSet<>();
+    // 登录凭证所在的cookie，用于离线判断登录是否过期
+    static final String AUTH_COOKIE = "lt_auth";
+    static Blacklist blackCompanies = new Blacklist(Set.of());
+    static Blacklist blackRecruiters = new Blacklist(Set.of());
+    static Blacklist blackJobs = new Blacklist(Set.of());
     static int maxPage = 50;
     static List<String> resultList = new ArrayList<>();
     static String baseUrl = "https://www.liepin.com/zhaopin/?";
     static LiepinConfig config = LiepinConfig.init();
+    static SelectorRegistry selectors = SelectorRegistry.of("liepin");
+    static String appliedPath = "src/main/java/liepin/applied.log";
+    static AppliedIndex applied;
+    static JobDedupe dedupe = new JobDedupe();
+    static CrossPlatformIndex crossPlatform = CrossPlatformIndex.shared();
     static Date startDate;
     
     static {
@@ -117,8 +136,10 @@ public class Liepin {
         
         try {
             // 初始化 Playwright（使用平台特定的浏览器实例）
-            PlaywrightUtil.init("liepin");
+            PlaywrightUtil.init("liepin", null, cookiePath);
             startDate = new Date();
+            applied = AppliedIndex.open(appliedPath);
+            dedupe = new JobDedupe();
             
             // 登录猎聘网
             if (!isLoginRequired()) {
@@ -128,10 +149,13 @@ public class Liepin {
                 // 再次检查登录状态
                 if (isLoginRequired()) {
                     log.error("登录失败，程序终止");
-                    PlaywrightUtil.close();
+                    RunReport.fail("liepin", "登录失败");
+                    PlaywrightUtil.closePlatform("liepin");
                     return;
                 }
             }
+            // 登录完成后再拦截图片等资源，避免影响扫码登录
+            PlaywrightUtil.enableLeanRouting("liepin");
             
             // 获取关键词并进行投递
             List<String> keywords = config.getKeywords();
@@ -148,14 +172,22 @@ public class Liepin {
                 }
             }
             
+            log.info(selectors.stats());
+            selectors.save();
+            log.info(applied.stats());
+            log.info(crossPlatform.stats());
             printResult();
         } catch (Exception e) {
             log.error("程序运行发生异常: {}", e.getMessage());
             log.debug("异常详情:", e);
+            RunReport.fail("liepin", e.getMessage());
         } finally {
             // 确保资源正确关闭
+            if (applied != null) {
+                applied.close();
+            }
             try {
-                PlaywrightUtil.close();
+                PlaywrightUtil.closePlatform("liepin");
                 log.info("浏览器资源已释放");
             } catch (Exception e) {
                 log.warn("关闭浏览器资源时发生错误: {}", e.getMessage());
@@ -165,8 +197,9 @@ public class Liepin {
 
     private static void printResult() {
         try {
-            String message = String.format("\n猎聘投递完成，共投递%d个岗位，用时%s", resultList.size(), formatDuration(startDate, new Date()));
+            String message = String.format("\n猎聘投递完成，共投递%d个岗位，跳过重复岗位%d个，用时%s", resultList.size(), dedupe.duplicates(), formatDuration(startDate, new Date()));
             log.info(message);
+            RunReport.record("liepin", resultList.size(), dedupe.duplicates() + (applied == null ? 0 : applied.skipped()));
             log.info("黑名单公司数量: {}", blackCompanies.size());
             log.info("黑名单岗位数量: {}", blackJobs.size());
             log.info("黑名单招聘者数量: {}", blackRecruiters.size());
@@ -186,14 +219,7 @@ public class Liepin {
             // 移除重复的PlaywrightUtil.close()调用，因为main方法的finally块会处理
             
             // 确保所有日志都被刷新到文件
-            try {
-                Thread.sleep(1000); // 等待1秒确保日志写入完成
-                // 强制刷新日志 - 使用正确的方法
-                ch.qos.logback.classic.LoggerContext loggerContext = (ch.qos.logback.classic.LoggerContext) org.slf4j.LoggerFactory.getILoggerFactory();
-                loggerContext.stop();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            JobUtils.flushLogs();
         } catch (Exception e) {
             log.error("打印结果时发生异常: {}", e.getMessage(), e);
         }
@@ -202,9 +228,9 @@ public class Liepin {
     private static void saveData(String path) {
         try {
             Map<String, Set<String>> data = new HashMap<>();
-            data.put("blackCompanies", blackCompanies);
-            data.put("blackRecruiters", blackRecruiters);
-            data.put("blackJobs", blackJobs);
+            data.put("blackCompanies", blackCompanies.rules());
+            data.put("blackRecruiters", blackRecruiters.rules());
+            data.put("blackJobs", blackJobs.rules());
             String json = customJsonFormat(data);
             Files.write(Paths.get(path), json.getBytes());
             log.info("黑名单数据已保存到: {}", path);
@@ -238,12 +264,12 @@ public class Liepin {
     
     private static void parseJson(String json) {
         JSONObject jsonObject = new JSONObject(json);
-        blackCompanies = jsonObject.getJSONArray("blackCompanies").toList().stream().map(Object::toString)
-                .collect(Collectors.toSet());
-        blackRecruiters = jsonObject.getJSONArray("blackRecruiters").toList().stream().map(Object::toString)
-                .collect(Collectors.toSet());
-        blackJobs = jsonObject.getJSONArray("blackJobs").toList().stream().map(Object::toString)
-                .collect(Collectors.toSet());
+        blackCompanies = new Blacklist(jsonObject.getJSONArray("blackCompanies").toList().stream().map(Object::toString)
+                .collect(Collectors.toSet()));
+        blackRecruiters = new Blacklist(jsonObject.getJSONArray("blackRecruiters").toList().stream().map(Object::toString)
+                .collect(Collectors.toSet()));
+        blackJobs = new Blacklist(jsonObject.getJSONArray("blackJobs").toList().stream().map(Object::toString)
+                .collect(Collectors.toSet()));
         log.info("已加载黑名单数据 - 公司: {}, 岗位: {}, 招聘者: {}", 
                  blackCompanies.size(), blackJobs.size(), blackRecruiters.size());
     }
@@ -297,27 +323,13 @@ public class Liepin {
             // 尝试获取最大页数，但不作为必需步骤
             try {
                 // 尝试多种可能的分页选择器
-                String[] paginationSelectors = {
-                    PAGINATION_BOX,
-                    "//div[contains(@class, 'pagination')]",
-                    "//div[contains(@class, 'page')]",
-                    "//div[contains(@class, 'pages')]"
-                };
-                
-                for (String selector : paginationSelectors) {
-                    try {
-                        Locator paginationBox = page.locator(selector);
-                        if (paginationBox.count() > 0) {
-                            log.debug("找到分页元素: {}", selector);
-                            Locator lis = paginationBox.locator("li");
-                            if (lis.count() > 0) {
-                                setMaxPage(lis);
-                                log.debug("通过分页元素设置最大页面数: {}", maxPage);
-                                break;
-                            }
-                        }
-                    } catch (Exception ignored) {
-                    }
+                Locator lis = selectors.resolve("pagination", PAGINATION_CANDIDATES, PAGINATION_FALLBACKS, selector -> {
+                    Locator items = page.locator(selector).locator("li");
+                    return items.count() > 0 ? items : null;
+                });
+                if (lis != null) {
+                    setMaxPage(lis);
+                    log.debug("通过分页元素设置最大页面数: {}", maxPage);
                 }
             } catch (Exception e) {
                 log.warn("无法获取分页信息，使用默认最大页面数: {}", maxPage);
@@ -332,41 +344,22 @@ public class Liepin {
                     // 尝试关闭订阅弹窗或其他干扰元素
                     try {
                         // 尝试多种可能的关闭按钮
-                        String[] closeButtonSelectors = {
-                            SUBSCRIBE_CLOSE_BTN,
-                            "//button[contains(@class, 'close')]",
-                            "//i[contains(@class, 'close')]",
-                            "//span[contains(@class, 'close')]"
-                        };
-                        
-                        for (String selector : closeButtonSelectors) {
-                            try {
-                                Locator closeBtn = page.locator(selector);
-                                if (closeBtn.count() > 0) {
-                                    log.debug("找到并点击关闭按钮: {}", selector);
-                                    closeBtn.click();
-                                    Thread.sleep(500);
-                                    break;
-                                }
-                            } catch (Exception ignored) {
+                        selectors.resolve("subscribeClose", CLOSE_BUTTON_CANDIDATES, selector -> {
+                            Locator closeBtn = page.locator(selector);
+                            if (closeBtn.count() == 0) {
+                                return null;
                             }
-                        }
+                            log.debug("找到并点击关闭按钮: {}", selector);
+                            closeBtn.click();
+                            WaitEngine.state(page, selector, WaitForSelectorState.HIDDEN, 1000);
+                            return closeBtn;
+                        });
                     } catch (Exception ignored) {
                     }
                     
                     // 尝试多种可能的岗位卡片选择器
                     boolean jobsLoaded = false;
                     
-                    // 尝试多种可能的岗位卡片选择器
-                    String[] jobCardSelectors = {
-                        JOB_CARDS,
-                        "//div[contains(@class, 'job-card')]",
-                        "//div[contains(@class, 'job-item')]",
-                        "//div[contains(@class, 'job-post')]",
-                        "//li[contains(@class, 'job-card')]",
-                        "//div[contains(@data-qa, 'job-card')]"
-                    };
-                    
                     // 尝试每个选择器，直到找到匹配的元素
                     for (int retry = 0; retry < 3; retry++) {
                         try {
@@ -375,20 +368,14 @@ public class Liepin {
                             // 首先等待页面完全加载
                             page.waitForLoadState(LoadState.NETWORKIDLE);
                             
-                            boolean foundJobCards = false;
-                            for (String selector : jobCardSelectors) {
-                                try {
-                                    log.debug("尝试岗位卡片选择器: {}", selector);
-                                    Locator locator = page.locator(selector);
-                                    if (locator.count() > 0) {
-                                        log.info("找到 {} 个岗位卡片，选择器: {}", locator.count(), selector);
-                                        jobsLoaded = true;
-                                        foundJobCards = true;
-                                        break;
-                                    }
-                                } catch (Exception e) {
-                                    log.debug("尝试选择器 {} 失败: {}", selector, e.getMessage());
-                                }
+                            Integer cardCount = selectors.resolve("jobCards", JOB_CARD_CANDIDATES, selector -> {
+                                int n = page.locator(selector).count();
+                                return n > 0 ? n : null;
+                            });
+                            boolean foundJobCards = cardCount != null;
+                            if (foundJobCards) {
+                                log.info("找到 {} 个岗位卡片", cardCount);
+                                jobsLoaded = true;
                             }
                             
                             if (foundJobCards) {
@@ -430,27 +417,14 @@ public class Liepin {
                     // 查找下一页按钮 - 增加健壮性
                     try {
                         // 尝试多种可能的下一页选择器
-                        String[] nextPageSelectors = {
-                            NEXT_PAGE,
-                            "li[title='下一页']",
-                            "//li[contains(text(), '下一页')]",
-                            "//a[contains(text(), '下一页')]"
-                        };
-                        
-                        boolean foundNextPage = false;
-                        for (String selector : nextPageSelectors) {
-                            try {
-                                Locator paginationBox = page.locator(PAGINATION_BOX);
-                                Locator nextPage = paginationBox.locator(selector);
-                                if (nextPage.count() > 0 && nextPage.getAttribute("disabled") == null) {
-                                    log.debug("找到下一页按钮: {}", selector);
-                                    nextPage.click();
-                                    Thread.sleep(2000); // 给足够时间加载下一页
-                                    foundNextPage = true;
-                                    break;
-                                }
-                            } catch (Exception ignored) {
-                            }
+                        Locator nextPage = selectors.resolve("nextPage", NEXT_PAGE_CANDIDATES, selector -> {
+                            Locator candidate = page.locator(PAGINATION_BOX).locator(selector);
+                            return candidate.count() > 0 && candidate.getAttribute("disabled") == null ? candidate : null;
+                        });
+                        boolean foundNextPage = nextPage != null;
+                        if (foundNextPage) {
+                            nextPage.click();
+                            WaitEngine.networkIdle(page, 5000);
                         }
                         
                         if (!foundNextPage) {
@@ -552,9 +526,6 @@ public class Liepin {
         //     log.warn("等待页面网络空闲超时，继续执行: {}", e.getMessage());
         // }
         
-        // 获取hr数量
-        Locator jobCards = page.locator(JOB_CARDS);
-        
         // 等待岗位卡片加载完成
         // try {
         //     jobCards.first().waitFor(new Locator.WaitForOptions().setTimeout(10000));
@@ -562,30 +533,40 @@ public class Liepin {
         //     log.warn("等待岗位卡片加载超时: {}", e.getMessage());
         // }
         
-        int count = jobCards.count();
+        // 懒加载的卡片先全部挂载，再一次页面调用读取所有卡片的岗位名称、公司、薪资与招聘者
+        ScrollLoader.loadAll(page, JOB_CARDS_CSS, PAGINATION_BOX);
+        List<Map<String, String>> cards = PlaywrightUtil.extractCards(page, JOB_CARDS_CSS, JOB_CARD_FIELDS);
+        int count = cards.size();
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < count; i++) {
-
-            Locator jobTitleElements = page.locator(JOB_TITLE);
-            Locator companyNameElements = page.locator(COMPANY_NAME);
-            Locator salaryElements = page.locator(JOB_SALARY);
-            
-            if (i >= jobTitleElements.count() || i >= companyNameElements.count() || i >= salaryElements.count()) {
+            Map<String, String> card = cards.get(i);
+            String jobName = card.get("jobName").replaceAll("\n", " ").replaceAll("【 ", "[").replaceAll(" 】", "]");
+            String companyName = card.get("companyName").replaceAll("\n", " ");
+            String salary = card.get("salary").replaceAll("\n", " ");
+            String recruiterName = card.get("recruiter");
+            String jobKey = AppliedIndex.key(companyName, jobName);
+            if (applied.isKnown(jobKey)) {
+                log.debug("跳过已投递的岗位: {} - {}", companyName, jobName);
+                continue;
+            }
+            if (!dedupe.firstSeen(jobKey)) {
+                log.debug("跳过其他关键词已处理的岗位: {} - {}", companyName, jobName);
                 continue;
             }
-            
-            String jobName = jobTitleElements.nth(i).textContent().replaceAll("\n", " ").replaceAll("【 ", "[").replaceAll(" 】", "]");
-            String companyName = companyNameElements.nth(i).textContent().replaceAll("\n", " ");
-            String salary = salaryElements.nth(i).textContent().replaceAll("\n", " ");
-            String recruiterName = null;
             
             // 检查是否在黑名单中
-            if (blackJobs.stream().anyMatch(jobName::contains)) {
-                log.debug("过滤黑名单岗位: {}", jobName);
+            String rule = blackJobs.match(jobName);
+            if (rule != null) {
+                log.debug("过滤黑名单岗位: {}，命中: {}", jobName, rule);
                 continue;
             }
-            if (blackCompanies.stream().anyMatch(companyName::contains)) {
-                log.debug("过滤黑名单公司: {}", companyName);
+            rule = blackCompanies.match(companyName);
+            if (rule != null) {
+                log.debug("过滤黑名单公司: {}，命中: {}", companyName, rule);
+                continue;
+            }
+            if (SalaryParser.isNotExpected(salary, config.getExpectedSalary())) {
+                log.debug("过滤薪资不符的岗位: {} - {}", jobName, salary);
                 continue;
             }
             
@@ -605,35 +586,19 @@ public class Liepin {
                 continue;
             }
             
-            // 尝试获取招聘者名称并检查是否在黑名单中
-            try {
-                // 尝试多种可能的招聘者选择器
-                String[] recruiterSelectors = {
-                    ".job-card__info .recruiter-name",
-                    ".job-info__tag-list .recruiter-name",
-                    "//span[contains(@class, 'recruiter-name')]"
-                };
-                
-                for (String selector : recruiterSelectors) {
-                    try {
-                        Locator recruiterElem = page.locator(selector);
-                        if (recruiterElem.count() > 0) {
-                            recruiterName = recruiterElem.textContent().trim();
-                            break;
-                        }
-                    } catch (Exception ignored) {}
-                }
-                
-                if (recruiterName != null && !recruiterName.isEmpty()) {
-                    if (blackRecruiters.stream().anyMatch(recruiterName::contains)) {
-                        log.debug("过滤黑名单招聘者: {}", recruiterName);
-                        continue;
-                    }
-                }
-            } catch (Exception e) {
-                log.debug("获取招聘者信息失败: {}", e.getMessage());
+            // 检查招聘者是否在黑名单中
+            rule = recruiterName.isEmpty() ? null : blackRecruiters.match(recruiterName);
+            if (rule != null) {
+                log.debug("过滤黑名单招聘者: {}，命中: {}", recruiterName, rule);
+                continue;
             }
             
+            Platform owner = crossPlatform.claimedBy(Platform.LIEPIN, companyName, jobName, targetCityName);
+            if (owner != null) {
+                log.info("同一岗位已在{}投递，跳过：{} - {}", owner.getPlatformName(), companyName, jobName);
+                continue;
+            }
+
             log.info("处理{}岗位: {}", targetCityName, jobName);
             
             try {
@@ -743,51 +708,23 @@ public class Liepin {
                 // 在当前岗位卡片中查找按钮，尝试多种选择器
                 Locator currentJobCard = page.locator(JOB_CARDS).nth(i);
                 
-                String[] buttonSelectors = {
-                    "button.ant-btn.ant-btn-primary.ant-btn-round",
-                    "button.ant-btn.ant-btn-round.ant-btn-primary", 
-                    "button[class*='ant-btn'][class*='primary']",
-                    "button[class*='ant-btn'][class*='round']",
-                    "button[class*='chat'], button[class*='talk']",
-                    ".chat-btn, .talk-btn, .contact-btn",
-                    "button:has-text('聊一聊')",
-                    "button" // 最后尝试所有按钮
-                };
-                
-                for (String selector : buttonSelectors) {
-                    try {
-                        Locator tempButtons = currentJobCard.locator(selector);
-                        int buttonCount = tempButtons.count();
-                        log.debug("选择器 '{}' 找到 {} 个按钮", selector, buttonCount);
-                        
-                        for (int j = 0; j < buttonCount; j++) {
-                            Locator tempButton = tempButtons.nth(j);
-                            try {
-                                if (tempButton.isVisible()) {
-                                    String text = tempButton.textContent();
-                                    log.debug("按钮文本: '{}'", text);
-                                    if (text != null && !text.trim().isEmpty()) {
-                                        button = tempButton;
-                                        buttonText = text.trim();
-                                        // 只关注"聊一聊"按钮
-                                        if (text.contains("聊一聊")) {
-                                            log.debug("找到目标按钮: '{}'", text);
-                                            break;
-                                        }
-                                    }
-                                }
-                            } catch (Exception ignore) {
-                                log.debug("获取按钮文本失败: {}", ignore.getMessage());
+                // 只关注"聊一聊"按钮
+                button = selectors.resolve("chatButton", CHAT_BUTTON_CANDIDATES, CHAT_BUTTON_FALLBACKS, selector -> {
+                    Locator tempButtons = currentJobCard.locator(selector);
+                    int buttonCount = tempButtons.count();
+                    for (int j = 0; j < buttonCount; j++) {
+                        Locator tempButton = tempButtons.nth(j);
+                        if (tempButton.isVisible()) {
+                            String text = tempButton.textContent();
+                            if (text != null && text.contains("聊一聊")) {
+                                log.debug("选择器 '{}' 找到目标按钮: '{}'", selector, text);
+                                return tempButton;
                             }
                         }
-                        
-                        if (button != null && buttonText.contains("聊一聊")) {
-                            break;
-                        }
-                    } catch (Exception e) {
-                        log.debug("选择器 '{}' 查找失败: {}", selector, e.getMessage());
                     }
-                }
+                    return null;
+                });
+                buttonText = button == null ? "" : "聊一聊";
                 
             } catch (Exception e) {
                 log.error("查找按钮失败: {}", e.getMessage());
@@ -808,19 +745,19 @@ public class Liepin {
                             
                             // 先移动到按钮中心
                             page.mouse().move(centerX, centerY);
-                            Thread.sleep(50);
+                            WaitEngine.pace("liepin.mouse");
                             
                             // 向右移动2像素
                             page.mouse().move(centerX + 2, centerY);
-                            Thread.sleep(50);
+                            WaitEngine.pace("liepin.mouse");
                             
                             // 向左移动2像素（回到中心再向左2像素）
                             page.mouse().move(centerX - 2, centerY);
-                            Thread.sleep(50);
+                            WaitEngine.pace("liepin.mouse");
                             
                             // 回到中心位置
                             page.mouse().move(centerX, centerY);
-                            Thread.sleep(50);
+                            WaitEngine.pace("liepin.mouse");
                             
                             log.debug("完成鼠标微调，准备点击按钮");
                         }
@@ -829,8 +766,6 @@ public class Liepin {
                     }
                     
                     button.click();
-                    // 增加等待时间，确保聊天窗口完全加载
-                    Thread.sleep(2000);
                     
                     try {
                         // 等待聊天界面加载
@@ -842,33 +777,33 @@ public class Liepin {
                         if (chatTextarea.count() > 0) {
                             // 先清除输入框，确保干净
                             chatTextarea.clear();
-                            Thread.sleep(300);
                             
                             // 输入打招呼内容
                             String greeting = "您好，我对这个岗位很感兴趣，期待与您进一步沟通！";
                             chatTextarea.fill(greeting);
                             log.debug("已输入打招呼消息: {}", greeting);
-                            Thread.sleep(500);
                             
                             // 重点改进：直接使用Enter键发送消息，这是最可靠的方式
                             chatTextarea.press("Enter");
                             log.debug("已按Enter键发送消息");
                             
-                            // 给足够时间让消息发送完成
-                            Thread.sleep(2000);
-                            log.debug("等待消息发送完成");
+                            // 等待输入框清空，表示消息已发出
+                            WaitEngine.inputCleared(page, chatTextarea, 3000);
+                            log.debug("消息发送完成");
                         }
                         
                         // 关闭聊天窗口
                         Locator close = page.locator(CHAT_CLOSE);
                         if (close.count() > 0) {
-                            Thread.sleep(500);
                             close.click();
+                            WaitEngine.state(page, CHAT_HEADER, WaitForSelectorState.HIDDEN, 2000);
                             log.debug("已关闭聊天窗口");
                         }
                         
                         resultList.add(sb.append("【").append(companyName).append(" ").append(jobName).append(" ").append(salary).append(" ").append(recruiterName).append(" ").append("】").toString());
                         sb.setLength(0);
+                        applied.markApplied(jobKey);
+                        crossPlatform.record(Platform.LIEPIN, companyName, jobName, targetCityName);
                         log.info("成功发送打招呼消息:【{}】的【{}·{}】岗位", companyName, jobName, salary);
                         
                     } catch (Exception e) {
@@ -878,8 +813,8 @@ public class Liepin {
                         sb.setLength(0);
                     }
                     
-                    // 操作完成后等待一段时间，避免过快操作
-                    PlaywrightUtil.sleep(1);
+                    // 保留配置的最短停顿，避免过快操作
+                    WaitEngine.pace("liepin.submit");
                     
                 } catch (Exception e) {
                     log.error("点击按钮失败: {}", e.getMessage());
@@ -891,6 +826,8 @@ public class Liepin {
                     log.debug("跳过岗位（按钮文本不匹配）: 【{}】的【{}·{}】岗位，按钮文本: '{}'", companyName, jobName, salary, buttonText);
                 } else {
 //                    log.warn("未找到可点击的按钮: 【{}】的【{}·{}】岗位", companyName, jobName, salary);
+                    // 没有“聊一聊”按钮多为已沟通过的岗位，近期不再处理
+                    applied.markSeen(jobKey);
                     // 保存页面源码用于调试
                     savePageSource(page, "no_button_found");
                 }
@@ -901,17 +838,23 @@ public class Liepin {
         }
     }
 
+    /**
+     * 离线检查登录状态是否有效（不打开浏览器），以登录凭证lt_auth是否存在且未过期为准
+     */
+    public static boolean isLoginValid() {
+        return PlaywrightUtil.isCookieValid(cookiePath, AUTH_COOKIE);
+    }
+
     @SneakyThrows
     private static void login() {
         log.info("正在打开猎聘网站...");
         Page page = PlaywrightUtil.getPageObject("liepin");
-        page.navigate(homeUrl);
-        log.info("猎聘正在登录...");
-        
-        if (PlaywrightUtil.isCookieValid(cookiePath)) {
+        // 离线检查cookie是否过期，有效时在打开网站前加载，省去一次刷新
+        if (isLoginValid()) {
             PlaywrightUtil.loadCookies(cookiePath, "liepin");
-            page.reload();
         }
+        page.navigate(homeUrl);
+        log.info("猎聘正在登录...");
         
         page.waitForSelector(HEADER_LOGO, new Page.WaitForSelectorOptions().setTimeout(10000));
         
@@ -930,6 +873,17 @@ public class Liepin {
         return !currentUrl.contains("c.liepin.com");
     }
 
+    /**
+     * 登录成功后页面上可能出现的用户信息元素
+     */
+    private static final String[] LOGGED_IN_SELECTORS = {
+            "//div[contains(@class, 'user-info')]",
+            "//div[contains(@class, 'user-avatar')]",
+            "//span[contains(text(), '我的')]",
+            "//a[contains(@href, '/user/')]",
+            "//div[@id='header-quick-menu']"
+    };
+
     private static void scanLogin() {
         try {
             Page page = PlaywrightUtil.getPageObject("liepin");
@@ -942,111 +896,12 @@ public class Liepin {
             
             log.info("等待扫码..");
 
-            // 记录开始时间
-            long startTime = System.currentTimeMillis();
-            long maxWaitTime = 20 * 60 * 1000; // 20分钟，单位毫秒（用户要求延长）
-            
-            // 增加额外的登录状态选择器
-            String[] additionalLoginSelectors = {
-                "//div[contains(@class, 'user-info')]",
-                "//div[contains(@class, 'user-avatar')]",
-                "//span[contains(text(), '我的')]",
-                "//a[contains(@href, '/user/')]",
-                "//div[@id='header-quick-menu']"
-            };
-
-            // 主循环，直到登录成功或超时
-            while (true) {
-                boolean loginSuccess = false;
-                String successReason = "";
-                
-                try {
-                    // 检查URL是否包含登录成功的标识
-                    String currentUrl = page.url();
-                    if (currentUrl.contains("c.liepin.com") || currentUrl.contains("user")) {
-                        successReason = "URL包含登录成功标识: " + currentUrl;
-                        loginSuccess = true;
-                    }
-                    
-                    // 检查方式1：登录按钮文本变化
-                    if (!loginSuccess) {
-                        try {
-                            Locator loginButtons = page.locator(LOGIN_BUTTONS);
-                            if (loginButtons.count() > 0) {
-                                String buttonText = loginButtons.first().textContent();
-                                log.debug("登录按钮文本: {}", buttonText);
-                                if (!buttonText.contains("登录")) {
-                                    successReason = "登录按钮文本变化: " + buttonText;
-                                    loginSuccess = true;
-                                }
-                            }
-                        } catch (Exception e) {
-                            log.debug("检查方式1失败: {}", e.getMessage());
-                        }
-                    }
-                    
-                    // 检查方式2：用户信息元素
-                    if (!loginSuccess) {
-                        try {
-                            Locator userInfo = page.locator(USER_INFO);
-                            if (userInfo.count() > 0) {
-                                String infoText = userInfo.first().textContent();
-                                log.debug("用户信息文本: {}", infoText);
-                                if (infoText.contains("你好") || !infoText.isEmpty()) {
-                                    successReason = "用户信息元素存在: " + infoText;
-                                    loginSuccess = true;
-                                }
-                            }
-                        } catch (Exception e) {
-                            log.debug("检查方式2失败: {}", e.getMessage());
-                        }
-                    }
-                    
-                    // 检查方式3：尝试额外的选择器
-                    if (!loginSuccess) {
-                        for (String selector : additionalLoginSelectors) {
-                            try {
-                                Locator element = page.locator(selector);
-                                if (element.count() > 0) {
-                                    String text = element.first().textContent();
-                                    log.debug("额外选择器[{}]匹配到元素: {}", selector, text);
-                                    successReason = "额外选择器匹配成功: " + selector;
-                                    loginSuccess = true;
-                                    break;
-                                }
-                            } catch (Exception e) {
-                                log.debug("额外选择器[{}]检查失败: {}", selector, e.getMessage());
-                            }
-                        }
-                    }
-                    
-                    // 如果找到任何登录成功的迹象，就认为登录成功
-                    if (loginSuccess) {
-                        log.info("用户扫码成功，继续执行... 原因: {}", successReason);
-                        break;
-                    }
-                    
-                    // 打印当前页面URL和标题，帮助调试
-                    if (System.currentTimeMillis() - startTime > 5000 && 
-                        (System.currentTimeMillis() - startTime) % 10000 < 1000) {
-                        log.debug("等待登录中... 当前URL: {}, 标题: {}", 
-                                 page.url(), page.title());
-                    }
-                    
-                } catch (Exception e) {
-                    log.error("检查登录状态时发生异常: {}", e.getMessage());
-                }
-
-                // 检查是否超过最大等待时间
-                long elapsedTime = System.currentTimeMillis() - startTime;
-                if (elapsedTime > maxWaitTime) {
-                        log.error("登录超时，20分钟内未完成扫码登录，程序将退出。");
-                    PlaywrightUtil.close(); // 关闭浏览器
-                    return; // 返回而不是退出整个程序
-                }
-                
-                // 增加等待时间，减少CPU占用
-                Thread.sleep(2000);
+            // 推送二维码并在本线程检测登录状态，最多等待20分钟，等待期间其他平台照常投递
+            boolean login = LoginWaiter.await("猎聘", () -> isScanLoggedIn(page), page::screenshot, 20 * 60 * 1000);
+            if (!login) {
+                log.error("登录超时，20分钟内未完成扫码登录。");
+                PlaywrightUtil.closePlatform("liepin"); // 关闭浏览器
+                return; // 返回而不是退出整个程序
             }
 
             // 登录成功后，保存Cookie
@@ -1055,11 +910,45 @@ public class Liepin {
 
         } catch (Exception e) {
             log.error("scanLogin() 失败: {}", e.getMessage());
-            PlaywrightUtil.close(); // 关闭浏览器
-            return; // 返回而不是退出整个程序
+            PlaywrightUtil.closePlatform("liepin"); // 关闭浏览器
         }
     }
 
+    /**
+     * 检查扫码后是否已登录：URL跳转、登录按钮文本变化或出现用户信息元素，任一满足即可
+     */
+    private static boolean isScanLoggedIn(Page page) {
+        String currentUrl = page.url();
+        if (currentUrl.contains("c.liepin.com") || currentUrl.contains("user")) {
+            log.info("用户扫码成功，URL包含登录成功标识: {}", currentUrl);
+            return true;
+        }
+
+        // 检查方式1：登录按钮文本变化
+        Locator loginButtons = page.locator(LOGIN_BUTTONS);
+        if (loginButtons.count() > 0) {
+            String buttonText = loginButtons.first().textContent();
+            if (!buttonText.contains("登录")) {
+                log.info("用户扫码成功，登录按钮文本变化: {}", buttonText);
+                return true;
+            }
+        }
+
+        // 检查方式2：用户信息元素
+        Locator userInfo = page.locator(USER_INFO);
+        if (userInfo.count() > 0 && !userInfo.first().textContent().isEmpty()) {
+            log.info("用户扫码成功，用户信息元素存在");
+            return true;
+        }
 
+        // 检查方式3：尝试额外的选择器
+        for (String selector : LOGGED_IN_SELECTORS) {
+            if (page.locator(selector).count() > 0) {
+                log.info("用户扫码成功，额外选择器匹配成功: {}", selector);
+                return true;
+            }
+        }
+        return false;
+    }
 
 }
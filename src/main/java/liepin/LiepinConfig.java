@@ -34,6 +34,11 @@ public class LiepinConfig {
      */
     private String pubTime;
 
+    /**
+     * 目标薪资（月薪，单位K），如[15, 25]，为空不过滤
+     */
+    private List<Integer> expectedSalary;
+
 
     @SneakyThrows
     public static LiepinConfig init() {
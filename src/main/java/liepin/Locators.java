@@ -1,5 +1,8 @@
 package liepin;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * 猎聘网页元素定位器
  * 集中管理所有页面元素的定位表达式
@@ -22,6 +25,13 @@ public class Locators {
     public static final String JOB_TITLE = "//div[contains(@class, 'job-title-box')]";
     public static final String COMPANY_NAME = "//span[contains(@class, 'company-name')]";
     public static final String JOB_SALARY = "//span[contains(@class, 'job-salary')]";
+    // 岗位卡片批量提取：卡片的CSS选择器与卡片内的字段，写法见 PlaywrightUtil.extractCards
+    public static final String JOB_CARDS_CSS = "div[class*='job-card-pc-container']";
+    public static final Map<String, String> JOB_CARD_FIELDS = Map.of(
+            "jobName", "[class*='job-title-box']@textContent",
+            "companyName", "[class*='company-name']@textContent",
+            "salary", "[class*='job-salary']@textContent",
+            "recruiter", "[class*='recruiter-name']");
 
     // 聊天相关元素
     public static final String CHAT_BUTTON_PRIMARY = "//button[@class='ant-btn ant-btn-primary ant-btn-round']";
@@ -30,4 +40,41 @@ public class Locators {
     public static final String CHAT_TEXTAREA = "//textarea[contains(@class, '__im_basic__textarea')]";
     public static final String CHAT_CLOSE = "div.__im_basic__contacts-title svg";
     public static final String RECRUITER_INFO = "//div[contains(@class, 'recruiter-info-box')]";
-}
\ No newline at end of file
+
+    // 多个候选选择器，实际尝试顺序由 SelectorRegistry 按命中排名决定
+    public static final List<String> PAGINATION_CANDIDATES = List.of(
+            PAGINATION_BOX,
+            "//div[contains(@class, 'pagination')]");
+    // 通配的兜底选择器，按固定顺序排在候选之后，不参与排名
+    public static final List<String> PAGINATION_FALLBACKS = List.of(
+            "//div[contains(@class, 'pages')]",
+            "//div[contains(@class, 'page')]");
+    public static final List<String> CLOSE_BUTTON_CANDIDATES = List.of(
+            SUBSCRIBE_CLOSE_BTN,
+            "//button[contains(@class, 'close')]",
+            "//i[contains(@class, 'close')]",
+            "//span[contains(@class, 'close')]");
+    public static final List<String> JOB_CARD_CANDIDATES = List.of(
+            JOB_CARDS,
+            "//div[contains(@class, 'job-card')]",
+            "//div[contains(@class, 'job-item')]",
+            "//div[contains(@class, 'job-post')]",
+            "//li[contains(@class, 'job-card')]",
+            "//div[contains(@data-qa, 'job-card')]");
+    // 下一页按钮，在分页区域内查找
+    public static final List<String> NEXT_PAGE_CANDIDATES = List.of(
+            NEXT_PAGE,
+            "li[title='下一页']",
+            "//li[contains(text(), '下一页')]",
+            "//a[contains(text(), '下一页')]");
+    // 岗位卡片内的“聊一聊”按钮
+    public static final List<String> CHAT_BUTTON_CANDIDATES = List.of(
+            "button.ant-btn.ant-btn-primary.ant-btn-round",
+            "button.ant-btn.ant-btn-round.ant-btn-primary",
+            "button[class*='ant-btn'][class*='primary']",
+            "button[class*='ant-btn'][class*='round']",
+            "button[class*='chat'], button[class*='talk']",
+            ".chat-btn, .talk-btn, .contact-btn",
+            "button:has-text('聊一聊')");
+    public static final List<String> CHAT_BUTTON_FALLBACKS = List.of("button");
+}
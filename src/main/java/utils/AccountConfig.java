@@ -0,0 +1,67 @@
+package utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多账号配置，对应config.yaml中的accounts节点
+ * <pre>
+ * accounts:
+ *   - name: zhangsan
+ *     boss:
+ *       keywords: ["Java"]
+ *       sayHi: "您好，我有5年Java开发经验..."
+ *   - name: lisi
+ *     boss:
+ *       keywords: ["产品经理"]
+ * </pre>
+ * 每个账号的boss配置会覆盖顶层boss节点中的同名项，未填写的项沿用顶层配置
+ */
+@Data
+@Slf4j
+public class AccountConfig {
+
+    /**
+     * 账号名称，用于区分cookie、黑名单等文件，只能包含字母、数字、下划线和短横线
+     */
+    private String name;
+
+    /**
+     * 该账号覆盖的boss配置
+     */
+    private Map<String, Object> boss;
+
+    /**
+     * 读取全部账号配置，未配置或配置有误时返回空列表
+     *
+     * @return 账号列表
+     */
+    public static List<AccountConfig> loadAll() {
+        List<AccountConfig> accounts = new ArrayList<>();
+        try {
+            JsonNode node = JobUtils.getConfigNode("accounts");
+            if (node.isArray()) {
+                accounts = new ObjectMapper().convertValue(node, new TypeReference<>() {
+                });
+            }
+        } catch (Exception e) {
+            log.warn("读取accounts配置失败: {}", e.getMessage());
+            return accounts;
+        }
+        accounts.removeIf(account -> {
+            boolean invalid = account.getName() == null || !account.getName().matches("[\\w-]+");
+            if (invalid) {
+                log.warn("账号名称无效，已忽略: {}", account.getName());
+            }
+            return invalid;
+        });
+        return accounts;
+    }
+}
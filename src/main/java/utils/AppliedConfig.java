@@ -0,0 +1,46 @@
+package utils;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 已投递记录配置，对应config.yaml中的applied节点
+ * <pre>
+ * applied:
+ *   appliedTtlDays: 30
+ *   seenTtlDays: 7
+ * </pre>
+ */
+@Data
+@Slf4j
+public class AppliedConfig {
+
+    /**
+     * 已投递（已打招呼）的岗位在多少天内不再投递，过期后可重新投递；0表示永不过期
+     */
+    private Integer appliedTtlDays;
+
+    /**
+     * 已查看但未投递（如Boss不活跃、已沟通过）的岗位在多少天内不再打开；0表示不记录
+     */
+    private Integer seenTtlDays;
+
+    public static AppliedConfig init() {
+        AppliedConfig config = null;
+        try {
+            config = JobUtils.getConfig(AppliedConfig.class);
+        } catch (Exception e) {
+            log.warn("读取applied配置失败，使用默认配置: {}", e.getMessage());
+        }
+        if (config == null) {
+            config = new AppliedConfig();
+        }
+        if (config.appliedTtlDays == null || config.appliedTtlDays < 0) {
+            config.appliedTtlDays = 30;
+        }
+        if (config.seenTtlDays == null || config.seenTtlDays < 0) {
+            config.seenTtlDays = 7;
+        }
+        return config;
+    }
+}
@@ -0,0 +1,218 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 已投递岗位索引
+ * 记录每个平台已打招呼（A）与已查看未投递（S）的岗位，提取列表时先查询，已知岗位不再点击、请求详情或调用AI。
+ * 存储为只追加的文本文件，每行“时间戳(秒)\t状态\t岗位标识”，启动时读入内存中的HashMap，同一岗位以最后一行为准；
+ * 过期记录在加载时丢弃，文件中失效行过多时重写压缩。超过有效期的岗位视为未知，可以重新投递。
+ */
+public class AppliedIndex implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(AppliedIndex.class);
+
+    private static final char APPLIED = 'A';
+    private static final char SEEN = 'S';
+    private static final long DAY_SECONDS = 24 * 60 * 60;
+
+    /**
+     * 失效行超过有效记录的倍数时压缩文件
+     */
+    private static final int COMPACT_RATIO = 2;
+    private static final int COMPACT_MIN_LINES = 1000;
+
+    private record Entry(char status, long time) {
+    }
+
+    private final Path file;
+    private final long appliedTtl;
+    private final long seenTtl;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private BufferedWriter writer;
+    private int skipped;
+    private int added;
+
+    private AppliedIndex(Path file, long appliedTtl, long seenTtl) {
+        this.file = file;
+        this.appliedTtl = appliedTtl;
+        this.seenTtl = seenTtl;
+    }
+
+    /**
+     * 打开索引文件，不存在时在首次写入时创建
+     *
+     * @param path 索引文件路径，一般与平台的data.json放在同一目录
+     * @return 索引
+     */
+    public static AppliedIndex open(String path) {
+        AppliedConfig config = AppliedConfig.init();
+        AppliedIndex index = new AppliedIndex(Paths.get(path),
+                config.getAppliedTtlDays() * DAY_SECONDS, config.getSeenTtlDays() * DAY_SECONDS);
+        index.load();
+        return index;
+    }
+
+    /**
+     * 生成岗位标识，没有岗位ID的平台用公司与岗位名称组合
+     */
+    public static String key(String... parts) {
+        return String.join("|", parts).replace('\t', ' ').replace('\n', ' ').trim();
+    }
+
+    /**
+     * 岗位是否已投递或已查看且仍在有效期内，命中时计入跳过数量
+     */
+    public synchronized boolean isKnown(String key) {
+        if (key == null || key.isEmpty()) {
+            return false;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null || isExpired(entry, now())) {
+            return false;
+        }
+        skipped++;
+        return true;
+    }
+
+    /**
+     * 记录已投递
+     */
+    public synchronized void markApplied(String key) {
+        append(key, APPLIED);
+    }
+
+    /**
+     * 记录已查看但未投递，已投递的岗位不会被降级
+     */
+    public synchronized void markSeen(String key) {
+        if (seenTtl == 0) {
+            return;
+        }
+        Entry entry = entries.get(key);
+        if (entry != null && entry.status() == APPLIED && !isExpired(entry, now())) {
+            return;
+        }
+        append(key, SEEN);
+    }
+
+    /**
+     * 本次运行中跳过的已知岗位数量
+     */
+    public synchronized int skipped() {
+        return skipped;
+    }
+
+    /**
+     * 本次运行的统计
+     */
+    public synchronized String stats() {
+        return String.format("已投递记录%d条，本次跳过已知岗位%d个，新增记录%d条", entries.size(), skipped, added);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("关闭已投递记录失败: {}", e.getMessage());
+            }
+            writer = null;
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        int lines = 0;
+        long now = now();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int first = line.indexOf('\t');
+                int second = line.indexOf('\t', first + 1);
+                if (first <= 0 || second != first + 2) {
+                    continue;
+                }
+                lines++;
+                Entry entry = new Entry(line.charAt(first + 1), Long.parseLong(line.substring(0, first)));
+                String key = line.substring(second + 1);
+                if (isExpired(entry, now)) {
+                    entries.remove(key);
+                } else {
+                    entries.put(key, entry);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("读取已投递记录失败: {} - {}", file, e.getMessage());
+            return;
+        }
+        log.info("已加载已投递记录{}条: {}", entries.size(), file);
+        if (lines >= COMPACT_MIN_LINES && lines > entries.size() * COMPACT_RATIO) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        List<String> lines = new ArrayList<>(entries.size());
+        entries.forEach((key, entry) -> lines.add(format(key, entry)));
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("已压缩已投递记录: {}，保留{}条", file, lines.size());
+        } catch (IOException e) {
+            log.warn("压缩已投递记录失败: {}", e.getMessage());
+        }
+    }
+
+    private void append(String key, char status) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+        Entry entry = new Entry(status, now());
+        entries.put(key, entry);
+        added++;
+        try {
+            if (writer == null) {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(format(key, entry));
+            writer.newLine();
+            // 每条记录立即落盘，程序中途退出也不会重复投递
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("写入已投递记录失败: {}", e.getMessage());
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        long ttl = entry.status() == APPLIED ? appliedTtl : seenTtl;
+        return ttl > 0 && now - entry.time() > ttl || entry.status() == SEEN && seenTtl == 0;
+    }
+
+    private static String format(String key, Entry entry) {
+        return entry.time() + "\t" + entry.status() + "\t" + key;
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,74 @@
+package utils;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 一组黑名单规则（公司、岗位或招聘者）
+ * 规则原样保存用于写回data.json，匹配使用编译后的KeywordMatcher；
+ * 运行中追加规则（如Boss根据HR回复自动拉黑公司）后，下一次匹配时重新编译。
+ */
+public class Blacklist {
+
+    private final Set<String> rules = new LinkedHashSet<>();
+    private volatile KeywordMatcher matcher;
+
+    public Blacklist(Collection<String> rules) {
+        if (rules != null) {
+            this.rules.addAll(rules);
+        }
+    }
+
+    /**
+     * 查找文本命中的规则
+     *
+     * @param text 公司名、岗位名等，可为null
+     * @return 命中的规则，未命中返回null
+     */
+    public String match(String text) {
+        KeywordMatcher current = matcher;
+        if (current == null) {
+            current = compile();
+        }
+        return current.find(text);
+    }
+
+    /**
+     * 文本是否命中任意规则
+     */
+    public boolean matches(String text) {
+        return match(text) != null;
+    }
+
+    /**
+     * 追加规则
+     *
+     * @return 规则此前不存在
+     */
+    public synchronized boolean add(String rule) {
+        if (!rules.add(rule)) {
+            return false;
+        }
+        matcher = null;
+        return true;
+    }
+
+    /**
+     * 当前所有规则的副本，用于保存
+     */
+    public synchronized Set<String> rules() {
+        return new LinkedHashSet<>(rules);
+    }
+
+    public synchronized int size() {
+        return rules.size();
+    }
+
+    private synchronized KeywordMatcher compile() {
+        if (matcher == null) {
+            matcher = KeywordMatcher.of(rules);
+        }
+        return matcher;
+    }
+}
@@ -11,9 +11,12 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.text.SimpleDateFormat;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 
 /**
  * @author loks666
@@ -84,6 +87,31 @@ public class Bot {
         }
     }
 
+    /**
+     * 发送图片消息（企业微信机器人image类型，图片不超过2M，支持JPG、PNG）
+     *
+     * @param image 图片内容
+     */
+    public static void sendImage(byte[] image) {
+        if (!isSend || HOOK_URL == null || image == null || image.length == 0) {
+            log.debug("消息发送已禁用、配置未设置或图片为空");
+            return;
+        }
+        try {
+            String base64 = Base64.getEncoder().encodeToString(image);
+            String md5 = HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(image));
+            String response = Request.post(HOOK_URL)
+                    .bodyString("{\"msgtype\": \"image\", \"image\": {\"base64\": \"" + base64 + "\", \"md5\": \"" + md5 + "\"}}",
+                            org.apache.hc.core5.http.ContentType.APPLICATION_JSON)
+                    .execute()
+                    .returnContent()
+                    .asString();
+            log.info("图片推送成功: {}", response);
+        } catch (Exception e) {
+            log.error("图片推送失败: {}", e.getMessage());
+        }
+    }
+
     public static void main(String[] args) {
         sendMessageByTime("企业微信推送测试消息...");
     }
@@ -0,0 +1,46 @@
+package utils;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 浏览器配置，对应config.yaml中的browser节点
+ * <pre>
+ * browser:
+ *   poolSize: 1
+ *   storageState: false
+ * </pre>
+ */
+@Data
+@Slf4j
+public class BrowserConfig {
+
+    /**
+     * 常驻Chromium进程数量，各平台在其中创建独立的上下文；0表示每个平台单独启动浏览器（旧方式）
+     */
+    private Integer poolSize;
+
+    /**
+     * 是否保存完整的登录状态快照（cookie与localStorage），开启后创建上下文时直接恢复，不再逐个加载cookie
+     */
+    private Boolean storageState;
+
+    public static BrowserConfig init() {
+        BrowserConfig config = null;
+        try {
+            config = JobUtils.getConfig(BrowserConfig.class);
+        } catch (Exception e) {
+            log.warn("读取browser配置失败，使用默认配置: {}", e.getMessage());
+        }
+        if (config == null) {
+            config = new BrowserConfig();
+        }
+        if (config.poolSize == null || config.poolSize < 0) {
+            config.poolSize = 1;
+        }
+        if (config.storageState == null) {
+            config.storageState = false;
+        }
+        return config;
+    }
+}
@@ -0,0 +1,52 @@
+package utils;
+
+import lombok.Getter;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+/**
+ * 一次平台运行所持有的Selenium浏览器会话
+ * 替代原来Constant中的CHROME_DRIVER、ACTIONS、WAIT等全局变量，
+ * 由SeleniumUtil.initDriver创建后显式传递给各平台爬虫，
+ * 使多个平台或多个账号可以在同一进程中同时运行而互不干扰
+ */
+@Getter
+public class BrowserSession {
+
+    /**
+     * 平台名称，同时作为SeleniumUtil中资源映射的键
+     */
+    private final String platformName;
+    private final ChromeDriver driver;
+    private final ChromeDriver mobileDriver;
+    private final Actions actions;
+    private final WebDriverWait wait;
+
+    BrowserSession(String platformName, ChromeDriver driver, ChromeDriver mobileDriver, Actions actions, WebDriverWait wait) {
+        this.platformName = platformName;
+        this.driver = driver;
+        this.mobileDriver = mobileDriver;
+        this.actions = actions;
+        this.wait = wait;
+    }
+
+    /**
+     * 创建一个超时时间不同于默认值的等待对象
+     *
+     * @param seconds 超时时间(秒)
+     * @return 绑定到当前会话驱动的WebDriverWait
+     */
+    public WebDriverWait waitFor(long seconds) {
+        return new WebDriverWait(driver, Duration.ofSeconds(seconds));
+    }
+
+    /**
+     * 关闭当前会话对应的浏览器
+     */
+    public void close() {
+        SeleniumUtil.closePlatform(platformName);
+    }
+}
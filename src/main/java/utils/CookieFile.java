@@ -0,0 +1,109 @@
+package utils;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 登录状态文件的离线检查，不打开浏览器、不访问网站
+ * 支持三种格式：
+ * - Playwright保存的cookie数组，expires为秒级时间戳
+ * - Selenium保存的cookie数组，expiry为毫秒级时间戳
+ * - Playwright的storageState快照，cookie在cookies字段中
+ * 过期时间小于等于0的为会话cookie，不参与判断。
+ */
+public class CookieFile {
+    private static final Logger log = LoggerFactory.getLogger(CookieFile.class);
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    /**
+     * 检查登录状态文件是否仍然可用
+     * 指定了登录cookie名称时，只要其中任意一个已过期即视为失效；文件中没有这些cookie时（如平台改名）
+     * 退回通用判断：所有带过期时间的cookie都已过期才视为失效。
+     *
+     * @param path        文件路径
+     * @param authCookies 平台的登录cookie名称，可为空
+     * @return 文件存在且登录cookie未过期
+     */
+    public static boolean isValid(String path, String... authCookies) {
+        Path file = Paths.get(path);
+        if (!Files.exists(file)) {
+            return false;
+        }
+        JSONArray cookies;
+        try {
+            cookies = readCookies(Files.readString(file));
+        } catch (Exception e) {
+            log.warn("读取登录状态文件失败: {} - {}", path, e.getMessage());
+            return false;
+        }
+        if (cookies.isEmpty()) {
+            log.info("登录状态文件中没有cookie: {}", path);
+            return false;
+        }
+
+        double now = Instant.now().getEpochSecond();
+        List<String> names = Arrays.asList(authCookies);
+        boolean authFound = false;
+        int persistent = 0;
+        int expired = 0;
+        for (int i = 0; i < cookies.length(); i++) {
+            JSONObject cookie = cookies.getJSONObject(i);
+            double expires = expiresSeconds(cookie);
+            if (expires <= 0) {
+                continue;
+            }
+            persistent++;
+            boolean isExpired = expires <= now;
+            if (isExpired) {
+                expired++;
+            }
+            if (names.contains(cookie.optString("name"))) {
+                authFound = true;
+                if (isExpired) {
+                    log.info("登录cookie {} 已于 {} 过期: {}", cookie.optString("name"), format(expires), path);
+                    return false;
+                }
+            }
+        }
+        if (!authFound && persistent > 0 && expired == persistent) {
+            log.info("登录状态文件中的cookie均已过期: {}", path);
+            return false;
+        }
+        return true;
+    }
+
+    private static JSONArray readCookies(String content) {
+        String text = content.trim();
+        if (text.startsWith("{")) {
+            return new JSONObject(text).optJSONArray("cookies", new JSONArray());
+        }
+        return new JSONArray(text);
+    }
+
+    private static double expiresSeconds(JSONObject cookie) {
+        if (!cookie.isNull("expires")) {
+            return cookie.optDouble("expires", -1);
+        }
+        if (!cookie.isNull("expiry")) {
+            return cookie.optDouble("expiry", -1) / 1000;
+        }
+        return -1;
+    }
+
+    private static String format(double epochSeconds) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond((long) epochSeconds), ZoneId.systemDefault()).format(TIME_FORMAT);
+    }
+}
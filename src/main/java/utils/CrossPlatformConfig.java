@@ -0,0 +1,79 @@
+package utils;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * 跨平台重复岗位配置，对应config.yaml中的crossplatform节点
+ * <pre>
+ * crossplatform:
+ *   enable: true
+ *   winner: first        # first 先投递的平台生效；priority 按priority顺序，排名靠前的平台仍可再投
+ *   priority: [boss, liepin, zhilian, job51, lagou]
+ *   similarity: 0.6
+ *   ttlDays: 30
+ * </pre>
+ */
+@Data
+@Slf4j
+public class CrossPlatformConfig {
+
+    public static final String WINNER_FIRST = "first";
+    public static final String WINNER_PRIORITY = "priority";
+
+    /**
+     * 是否跳过已在其他平台投递过的同一岗位
+     */
+    private Boolean enable;
+
+    /**
+     * 同一岗位出现在多个平台时由哪个平台投递：first 谁先投递算谁；priority 按priority排名，
+     * 已投递平台排名更靠后时当前平台仍会投递，排名相同或更靠前时跳过
+     */
+    private String winner;
+
+    /**
+     * 平台优先级，从高到低，取值为Platform枚举名（不区分大小写），未列出的平台排在最后
+     */
+    private List<String> priority;
+
+    /**
+     * 岗位名称相似度阈值（0~1），公司与城市相同且岗位名称MinHash相似度达到该值视为同一岗位
+     */
+    private Double similarity;
+
+    /**
+     * 投递记录保留天数，过期后不再拦截其他平台；0表示永不过期
+     */
+    private Integer ttlDays;
+
+    public static CrossPlatformConfig init() {
+        CrossPlatformConfig config = null;
+        try {
+            config = JobUtils.getConfig(CrossPlatformConfig.class);
+        } catch (Exception e) {
+            log.warn("读取crossplatform配置失败，使用默认配置: {}", e.getMessage());
+        }
+        if (config == null) {
+            config = new CrossPlatformConfig();
+        }
+        if (config.enable == null) {
+            config.enable = true;
+        }
+        if (!WINNER_PRIORITY.equalsIgnoreCase(config.winner)) {
+            config.winner = WINNER_FIRST;
+        }
+        if (config.priority == null || config.priority.isEmpty()) {
+            config.priority = List.of("boss", "liepin", "zhilian", "job51", "lagou");
+        }
+        if (config.similarity == null || config.similarity <= 0 || config.similarity > 1) {
+            config.similarity = 0.6;
+        }
+        if (config.ttlDays == null || config.ttlDays < 0) {
+            config.ttlDays = 30;
+        }
+        return config;
+    }
+}
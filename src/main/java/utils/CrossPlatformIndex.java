@@ -0,0 +1,375 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * 跨平台岗位索引
+ * 同一家公司常把同一个岗位同时发布在Boss、猎聘、前程无忧、智联等平台，各平台独立投递会重复投给同一个雇主，
+ * 也白白占用各平台的每日投递额度。各平台投递成功后在这里登记，投递前查询，已在其他平台投递过的同一岗位直接跳过。
+ * 同一岗位的判断：公司名称归一化后相同，或较短的名称不少于4个字符且被另一方包含
+ * （去掉城市前缀、括号、“有限公司”等后缀与一个行业词，兼容Boss的简称与其他平台的全称），
+ * 城市相同（任一方未知时不比较），岗位名称字符二元组的MinHash相似度达到阈值（兼容“（急招）”“-双休”之类的改写）。
+ * 记录按时间顺序保存在只追加的文本文件中，每行“时间戳(秒)\t平台\t公司\t城市\t岗位”，启动时读入内存，过期记录丢弃。
+ * 各平台在同一进程中共用一个实例，方法均为同步方法。
+ */
+public class CrossPlatformIndex {
+    private static final Logger log = LoggerFactory.getLogger(CrossPlatformIndex.class);
+
+    private static final Path FILE = Paths.get("src/main/java", "cross_platform.log");
+    private static final long DAY_SECONDS = 24 * 60 * 60;
+    private static final int COMPACT_RATIO = 2;
+    private static final int COMPACT_MIN_LINES = 1000;
+
+    /**
+     * MinHash签名长度，64个哈希函数的相似度估计误差约为±0.06
+     */
+    private static final int NUM_HASHES = 64;
+    private static final long[] SEEDS = new SplittableRandom(0x9E3779B97F4A7C15L).longs(NUM_HASHES).toArray();
+
+    /**
+     * 公司名称中不区分同一雇主的后缀，按长度从长到短依次去除
+     */
+    private static final List<String> COMPANY_SUFFIXES = List.of("股份有限公司", "有限责任公司", "有限公司", "分公司",
+            "股份", "公司", "co.,ltd", "co.ltd", "ltd", "inc");
+
+    /**
+     * 公司全称末尾的行业词，只去除一个，避免“小米粒教育科技”之类的名称被削成过短的简称
+     */
+    private static final List<String> INDUSTRY_SUFFIXES = List.of("集团", "科技", "技术", "信息", "网络", "软件");
+
+    /**
+     * 公司名称互相包含时，较短的名称至少需要的字符数，过短的简称（如“小米”）容易误匹配其他雇主
+     */
+    private static final int MIN_CONTAINED_LENGTH = 4;
+
+    /**
+     * 公司全称常见的省市前缀
+     */
+    private static final List<String> COMPANY_PREFIXES = List.of("北京", "上海", "天津", "重庆", "深圳", "广州", "杭州",
+            "南京", "苏州", "成都", "武汉", "西安", "长沙", "厦门", "青岛", "济南", "郑州", "合肥", "福州", "大连", "沈阳",
+            "宁波", "东莞", "珠海", "佛山", "无锡", "广东", "浙江", "江苏", "四川", "湖北", "湖南", "山东", "河南", "福建", "安徽");
+
+    private static volatile CrossPlatformIndex shared;
+
+    private record Entry(long time, Platform platform, String company, String city, String title, int[] signature) {
+    }
+
+    private final Path file;
+    private final boolean enabled;
+    private final boolean byPriority;
+    private final List<Platform> priority;
+    private final double similarity;
+    private final long ttl;
+    private final List<Entry> entries = new ArrayList<>();
+    private BufferedWriter writer;
+    private int skipped;
+    private int added;
+
+    private CrossPlatformIndex(Path file, CrossPlatformConfig config) {
+        this.file = file;
+        this.enabled = config.getEnable();
+        this.byPriority = CrossPlatformConfig.WINNER_PRIORITY.equalsIgnoreCase(config.getWinner());
+        this.priority = new ArrayList<>();
+        for (String name : config.getPriority()) {
+            try {
+                priority.add(Platform.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                log.warn("未知的平台名称: {}", name);
+            }
+        }
+        this.similarity = config.getSimilarity();
+        this.ttl = config.getTtlDays() * DAY_SECONDS;
+    }
+
+    /**
+     * 各平台共用的索引，第一次调用时加载
+     */
+    public static CrossPlatformIndex shared() {
+        if (shared == null) {
+            synchronized (CrossPlatformIndex.class) {
+                if (shared == null) {
+                    CrossPlatformIndex index = new CrossPlatformIndex(FILE, CrossPlatformConfig.init());
+                    if (index.enabled) {
+                        index.load();
+                    }
+                    shared = index;
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * 查询岗位是否已由其他平台（或本平台的另一条发布）投递，且按配置的规则应由对方生效，命中时计入跳过数量
+     *
+     * @param platform 当前平台
+     * @param company  公司名称
+     * @param title    岗位名称
+     * @param city     城市或地区，如“北京·朝阳区”，可为空
+     * @return 已投递的平台，未投递或应由当前平台投递时返回null
+     */
+    public synchronized Platform claimedBy(Platform platform, String company, String title, String city) {
+        if (!enabled || isBlank(company) || isBlank(title)) {
+            return null;
+        }
+        String normalizedCompany = normalizeCompany(company);
+        String normalizedCity = normalizeCity(city);
+        String normalizedTitle = normalizeTitle(title);
+        int[] signature = null;
+        long now = now();
+        for (Entry entry : entries) {
+            if (isExpired(entry, now) || byPriority && rank(entry.platform()) > rank(platform)
+                    || !sameCompany(entry.company(), normalizedCompany)
+                    || !normalizedCity.isEmpty() && !entry.city().isEmpty() && !entry.city().equals(normalizedCity)) {
+                continue;
+            }
+            if (!entry.title().equals(normalizedTitle)) {
+                if (signature == null) {
+                    signature = signature(normalizedTitle);
+                }
+                if (similarity(signature, entry.signature()) < similarity) {
+                    continue;
+                }
+            }
+            skipped++;
+            return entry.platform();
+        }
+        return null;
+    }
+
+    /**
+     * 记录投递成功的岗位
+     */
+    public synchronized void record(Platform platform, String company, String title, String city) {
+        if (!enabled || isBlank(company) || isBlank(title)) {
+            return;
+        }
+        String normalizedTitle = normalizeTitle(title);
+        Entry entry = new Entry(now(), platform, normalizeCompany(company), normalizeCity(city),
+                normalizedTitle, signature(normalizedTitle));
+        entries.add(entry);
+        added++;
+        try {
+            if (writer == null) {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(format(entry));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("写入跨平台投递记录失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 本次运行的统计
+     */
+    public synchronized String stats() {
+        return String.format("跨平台投递记录%d条，本次跳过其他平台已投递岗位%d个，新增记录%d条", entries.size(), skipped, added);
+    }
+
+    /**
+     * 公司名称归一化：去掉括号内容、标点、省市前缀、常见后缀与末尾的一个行业词
+     */
+    static String normalizeCompany(String company) {
+        String name = stripBrackets(KeywordMatcher.normalize(company)).replaceAll("[\\s\\p{P}]", "");
+        for (String prefix : COMPANY_PREFIXES) {
+            if (name.startsWith(prefix) && name.length() > prefix.length() + 1) {
+                name = name.substring(prefix.length());
+                if (name.startsWith("市") && name.length() > 2) {
+                    name = name.substring(1);
+                }
+                break;
+            }
+        }
+        boolean stripped = true;
+        while (stripped) {
+            stripped = false;
+            for (String suffix : COMPANY_SUFFIXES) {
+                String compact = suffix.replaceAll("\\p{P}", "");
+                if (name.endsWith(compact) && name.length() > compact.length() + 1) {
+                    name = name.substring(0, name.length() - compact.length());
+                    stripped = true;
+                }
+            }
+        }
+        for (String suffix : INDUSTRY_SUFFIXES) {
+            if (name.endsWith(suffix) && name.length() > suffix.length() + 1) {
+                return name.substring(0, name.length() - suffix.length());
+            }
+        }
+        return name;
+    }
+
+    /**
+     * 城市归一化：取“北京·朝阳区”“北京-海淀”中的城市部分，去掉“市”
+     */
+    static String normalizeCity(String city) {
+        if (isBlank(city)) {
+            return "";
+        }
+        String text = KeywordMatcher.normalize(city).trim();
+        int end = 0;
+        while (end < text.length() && Character.isLetter(text.charAt(end))) {
+            end++;
+        }
+        String name = text.substring(0, end);
+        int cut = name.indexOf('市');
+        return cut >= 2 ? name.substring(0, cut) : name;
+    }
+
+    /**
+     * 岗位名称归一化：去掉括号内的补充说明与标点
+     */
+    public static String normalizeTitle(String title) {
+        String normalized = KeywordMatcher.normalize(title);
+        String name = stripBrackets(normalized).replaceAll("[[\\s\\p{P}\\p{S}]&&[^+#]]", "");
+        return name.isEmpty() ? normalized.trim() : name;
+    }
+
+    /**
+     * 岗位名称字符二元组的MinHash签名
+     */
+    static int[] signature(String title) {
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        if (title.length() == 1) {
+            update(signature, title.charAt(0));
+        }
+        for (int i = 0; i + 1 < title.length(); i++) {
+            update(signature, title.charAt(i) << 16 | title.charAt(i + 1));
+        }
+        return signature;
+    }
+
+    /**
+     * 两个签名估计的Jaccard相似度
+     */
+    static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / NUM_HASHES;
+    }
+
+    private static void update(int[] signature, int shingle) {
+        for (int i = 0; i < NUM_HASHES; i++) {
+            int hash = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+            if (hash < signature[i]) {
+                signature[i] = hash;
+            }
+        }
+    }
+
+    /**
+     * MurmurHash3的64位混合函数
+     */
+    private static long mix(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return x;
+    }
+
+    private static boolean sameCompany(String a, String b) {
+        if (a.equals(b)) {
+            return true;
+        }
+        return Math.min(a.length(), b.length()) >= MIN_CONTAINED_LENGTH && (a.contains(b) || b.contains(a));
+    }
+
+    private static String stripBrackets(String text) {
+        return text.replaceAll("[(\\[【（][^)\\]】）]*[)\\]】）]", "");
+    }
+
+    private int rank(Platform platform) {
+        int index = priority.indexOf(platform);
+        return index < 0 ? priority.size() : index;
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        int lines = 0;
+        long now = now();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t", -1);
+                if (parts.length != 5) {
+                    continue;
+                }
+                lines++;
+                Entry entry = new Entry(Long.parseLong(parts[0]), Platform.valueOf(parts[1]), parts[2], parts[3],
+                        parts[4], signature(parts[4]));
+                if (!isExpired(entry, now)) {
+                    entries.add(entry);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("读取跨平台投递记录失败: {} - {}", file, e.getMessage());
+            return;
+        }
+        log.info("已加载跨平台投递记录{}条: {}", entries.size(), file);
+        if (lines >= COMPACT_MIN_LINES && lines > entries.size() * COMPACT_RATIO) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        List<String> lines = new ArrayList<>(entries.size());
+        entries.forEach(entry -> lines.add(format(entry)));
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("已压缩跨平台投递记录: {}，保留{}条", file, lines.size());
+        } catch (IOException e) {
+            log.warn("压缩跨平台投递记录失败: {}", e.getMessage());
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return ttl > 0 && now - entry.time() > ttl;
+    }
+
+    private static String format(Entry entry) {
+        return entry.time() + "\t" + entry.platform().name() + "\t" + clean(entry.company()) + "\t"
+                + clean(entry.city()) + "\t" + clean(entry.title());
+    }
+
+    private static String clean(String text) {
+        return text.replace('\t', ' ').replace('\n', ' ');
+    }
+
+    private static boolean isBlank(String text) {
+        return text == null || text.isBlank();
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -5,14 +5,12 @@ import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,7 +26,6 @@ import java.util.Optional;
  */
 public class Finder {
     private static final Logger log = LoggerFactory.getLogger(Finder.class);
-    private static final WebDriver driver = Constant.CHROME_DRIVER;
     private static final int DEFAULT_TIMEOUT_SECONDS = 10;
 
     /**
@@ -37,14 +34,15 @@ public class Finder {
      * 替代原来的代码模式:
      * WAIT.until(ExpectedConditions.presenceOfElementLocated(By.xpath("...")))
      * 
+     * @param session        浏览器会话
      * @param selector       选择器表达式
      * @param timeoutSeconds 超时时间(秒)
      * @return 找到的元素，如果没找到返回Optional.empty()
      */
-    public static Optional<WebElement> findElement(String selector, int timeoutSeconds) {
+    public static Optional<WebElement> findElement(BrowserSession session, String selector, int timeoutSeconds) {
         try {
             By by = parseSelector(selector);
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait wait = session.waitFor(timeoutSeconds);
             return Optional.of(wait.until(ExpectedConditions.presenceOfElementLocated(by)));
         } catch (Exception e) {
             log.debug("未找到元素: {}, 原因: {}", selector, e.getMessage());
@@ -58,11 +56,12 @@ public class Finder {
      * 替代原来的代码模式:
      * CHROME_DRIVER.findElement(By.xpath("..."))
      * 
+     * @param session  浏览器会话
      * @param selector 选择器表达式
      * @return 找到的元素，如果没找到返回Optional.empty()
      */
-    public static Optional<WebElement> findElement(String selector) {
-        return findElement(selector, DEFAULT_TIMEOUT_SECONDS);
+    public static Optional<WebElement> findElement(BrowserSession session, String selector) {
+        return findElement(session, selector, DEFAULT_TIMEOUT_SECONDS);
     }
 
     /**
@@ -71,13 +70,14 @@ public class Finder {
      * 替代原来的代码模式:
      * CHROME_DRIVER.findElements(By.xpath("..."))
      * 
+     * @param session  浏览器会话
      * @param selector 选择器表达式
      * @return 找到的元素列表，如果没找到返回空列表
      */
-    public static List<WebElement> findElements(String selector) {
+    public static List<WebElement> findElements(BrowserSession session, String selector) {
         try {
             By by = parseSelector(selector);
-            return driver.findElements(by);
+            return session.getDriver().findElements(by);
         } catch (Exception e) {
             log.debug("查找元素列表失败: {}, 原因: {}", selector, e.getMessage());
             return List.of();
@@ -90,14 +90,15 @@ public class Finder {
      * 替代原来的代码模式:
      * WAIT.until(ExpectedConditions.visibilityOfElementLocated(By.xpath("...")))
      * 
+     * @param session        浏览器会话
      * @param selector       选择器表达式
      * @param timeoutSeconds 超时时间(秒)
      * @return 找到的元素，如果没找到返回Optional.empty()
      */
-    public static Optional<WebElement> waitForElementVisible(String selector, int timeoutSeconds) {
+    public static Optional<WebElement> waitForElementVisible(BrowserSession session, String selector, int timeoutSeconds) {
         try {
             By by = parseSelector(selector);
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait wait = session.waitFor(timeoutSeconds);
             return Optional.of(wait.until(ExpectedConditions.visibilityOfElementLocated(by)));
         } catch (Exception e) {
             log.debug("等待元素可见超时: {}, 原因: {}", selector, e.getMessage());
@@ -108,11 +109,12 @@ public class Finder {
     /**
      * 等待元素可见，使用默认超时时间
      * 
+     * @param session  浏览器会话
      * @param selector 选择器表达式
      * @return 找到的元素，如果没找到返回Optional.empty()
      */
-    public static Optional<WebElement> waitForElementVisible(String selector) {
-        return waitForElementVisible(selector, DEFAULT_TIMEOUT_SECONDS);
+    public static Optional<WebElement> waitForElementVisible(BrowserSession session, String selector) {
+        return waitForElementVisible(session, selector, DEFAULT_TIMEOUT_SECONDS);
     }
 
     /**
@@ -121,14 +123,15 @@ public class Finder {
      * 替代原来的代码模式:
      * WAIT.until(ExpectedConditions.elementToBeClickable(By.xpath("...")))
      * 
+     * @param session        浏览器会话
      * @param selector       选择器表达式
      * @param timeoutSeconds 超时时间(秒)
      * @return 找到的元素，如果没找到返回Optional.empty()
      */
-    public static Optional<WebElement> waitForElementClickable(String selector, int timeoutSeconds) {
+    public static Optional<WebElement> waitForElementClickable(BrowserSession session, String selector, int timeoutSeconds) {
         try {
             By by = parseSelector(selector);
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+            WebDriverWait wait = session.waitFor(timeoutSeconds);
             return Optional.of(wait.until(ExpectedConditions.elementToBeClickable(by)));
         } catch (Exception e) {
             log.debug("等待元素可点击超时: {}, 原因: {}", selector, e.getMessage());
@@ -139,11 +142,12 @@ public class Finder {
     /**
      * 等待元素可点击，使用默认超时时间
      * 
+     * @param session  浏览器会话
      * @param selector 选择器表达式
      * @return 找到的元素，如果没找到返回Optional.empty()
      */
-    public static Optional<WebElement> waitForElementClickable(String selector) {
-        return waitForElementClickable(selector, DEFAULT_TIMEOUT_SECONDS);
+    public static Optional<WebElement> waitForElementClickable(BrowserSession session, String selector) {
+        return waitForElementClickable(session, selector, DEFAULT_TIMEOUT_SECONDS);
     }
 
     /**
@@ -157,13 +161,14 @@ public class Finder {
      * return false;
      * }
      * 
+     * @param session  浏览器会话
      * @param selector 选择器表达式
      * @return true如果元素存在，否则false
      */
-    public static boolean isElementPresent(String selector) {
+    public static boolean isElementPresent(BrowserSession session, String selector) {
         try {
             By by = parseSelector(selector);
-            driver.findElement(by);
+            session.getDriver().findElement(by);
             return true;
         } catch (NoSuchElementException e) {
             return false;
@@ -10,6 +10,11 @@ import java.io.Serializable;
  */
 @Data
 public class Job implements Serializable {
+    /**
+     * 平台岗位ID（Boss为encryptJobId），没有时为null
+     */
+    private String jobId;
+
     /**
      * 岗位链接
      */
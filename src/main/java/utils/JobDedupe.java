@@ -0,0 +1,38 @@
+package utils;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单次运行内的岗位去重
+ * 相近的关键词（如“Java”与“Java开发”）、相邻的城市会搜出大量相同岗位，
+ * 提取列表时先按岗位ID或详情链接去重，重复的岗位不再点击、请求详情或调用AI。
+ * 每次运行创建一个，在该平台的所有城市、关键词与工作线程之间共享。
+ */
+public class JobDedupe {
+
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger duplicates = new AtomicInteger();
+
+    /**
+     * 登记岗位
+     *
+     * @param key 岗位ID或去掉查询参数的详情链接，为空时不去重
+     * @return 本次运行中第一次出现返回true，重复返回false并计数
+     */
+    public boolean firstSeen(String key) {
+        if (key == null || key.isEmpty() || seen.add(key)) {
+            return true;
+        }
+        duplicates.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * 已跳过的重复岗位数量
+     */
+    public int duplicates() {
+        return duplicates.get();
+    }
+}
@@ -0,0 +1,177 @@
+package utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 进程级的定时任务调度器
+ * 所有平台共用一个调度线程，按config.yaml中配置的cron表达式触发投递任务：
+ * - 调度线程按固定间隔比对墙上时间，电脑休眠或挂起后醒来会立即补跑一次错过的任务
+ * - 每个平台有独立的互斥锁，上一次投递尚未结束时本次触发直接跳过，不会重叠执行
+ * - 任务在按需创建的执行线程中运行，空闲时线程自动回收
+ */
+@Slf4j
+public class JobScheduler {
+
+    /**
+     * 调度线程检查触发时间的间隔（秒）
+     */
+    private static final long TICK_SECONDS = 30;
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final ScheduledExecutorService TICKER = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "job-scheduler"));
+    private static final AtomicInteger RUNNER_INDEX = new AtomicInteger();
+    private static final ExecutorService RUNNER = Executors.newCachedThreadPool(r -> new Thread(r, "job-runner-" + RUNNER_INDEX.incrementAndGet()));
+
+    private static final Map<Platform, ScheduledJob> JOBS = new ConcurrentHashMap<>();
+    private static final Map<Platform, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+    private static final ScheduleConfig CONFIG = ScheduleConfig.init();
+    private static volatile boolean started = false;
+
+    private static class ScheduledJob {
+        Platform platform;
+        List<CronExpression> expressions;
+        Runnable task;
+        volatile ZonedDateTime nextFire;
+    }
+
+    /**
+     * 按配置的cron表达式注册平台任务，重复注册会覆盖之前的任务
+     *
+     * @param platform 平台
+     * @param task     投递任务
+     */
+    public static void schedule(Platform platform, Runnable task) {
+        List<CronExpression> expressions = new ArrayList<>();
+        for (String cron : CONFIG.getCron(platform)) {
+            try {
+                expressions.add(CronExpression.parse(cron));
+            } catch (IllegalArgumentException e) {
+                log.error("【{}】cron表达式无效: {}，原因: {}", platform.getPlatformName(), cron, e.getMessage());
+            }
+        }
+        if (expressions.isEmpty()) {
+            log.warn("【{}】没有可用的cron表达式，不进行定时投递", platform.getPlatformName());
+            return;
+        }
+        ScheduledJob job = new ScheduledJob();
+        job.platform = platform;
+        job.expressions = expressions;
+        job.task = task;
+        job.nextFire = nextFireTime(expressions, ZonedDateTime.now());
+        JOBS.put(platform, job);
+        publishNextFire(job);
+        ensureStarted();
+    }
+
+    /**
+     * 在当前线程立即执行一次平台任务，若该平台已有任务在运行则跳过
+     *
+     * @param platform 平台
+     * @param task     投递任务
+     * @return 是否实际执行了任务
+     */
+    public static boolean runNow(Platform platform, Runnable task) {
+        ReentrantLock lock = LOCKS.computeIfAbsent(platform, p -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            log.warn("【{}】上一次投递尚未结束，跳过本次触发", platform.getPlatformName());
+            return false;
+        }
+        try {
+            task.run();
+            return true;
+        } catch (Exception e) {
+            log.error("【{}】定时任务执行异常: {}", platform.getPlatformName(), e.getMessage(), e);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取各平台下一次触发时间
+     *
+     * @return 平台到下次触发时间的映射
+     */
+    public static Map<Platform, ZonedDateTime> getNextFireTimes() {
+        Map<Platform, ZonedDateTime> result = new LinkedHashMap<>();
+        JOBS.forEach((platform, job) -> result.put(platform, job.nextFire));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static synchronized void ensureStarted() {
+        if (started) {
+            return;
+        }
+        TICKER.scheduleWithFixedDelay(JobScheduler::tick, TICK_SECONDS, TICK_SECONDS, TimeUnit.SECONDS);
+        started = true;
+    }
+
+    private static void tick() {
+        try {
+            ZonedDateTime now = ZonedDateTime.now();
+            for (ScheduledJob job : JOBS.values()) {
+                ZonedDateTime fireTime = job.nextFire;
+                if (fireTime == null || now.isBefore(fireTime)) {
+                    continue;
+                }
+                if (Duration.between(fireTime, now).getSeconds() > TICK_SECONDS * 2) {
+                    log.info("【{}】错过了 {} 的触发（可能因休眠或挂起），立即补跑一次",
+                            job.platform.getPlatformName(), fireTime.format(TIME_FORMATTER));
+                }
+                // 先计算下一次触发时间，多次错过的触发只补跑一次
+                job.nextFire = nextFireTime(job.expressions, now);
+                RUNNER.execute(() -> {
+                    runNow(job.platform, job.task);
+                    publishNextFire(job);
+                });
+            }
+        } catch (Exception e) {
+            log.error("调度线程检查任务时发生异常: {}", e.getMessage(), e);
+        }
+    }
+
+    private static ZonedDateTime nextFireTime(List<CronExpression> expressions, ZonedDateTime from) {
+        ZonedDateTime next = null;
+        for (CronExpression expression : expressions) {
+            ZonedDateTime candidate = expression.next(from);
+            if (candidate != null && (next == null || candidate.isBefore(next))) {
+                next = candidate;
+            }
+        }
+        if (next != null && CONFIG.getJitterSeconds() > 0) {
+            next = next.plusSeconds(ThreadLocalRandom.current().nextInt(CONFIG.getJitterSeconds() + 1));
+        }
+        return next;
+    }
+
+    private static void publishNextFire(ScheduledJob job) {
+        ZonedDateTime next = job.nextFire;
+        if (next == null) {
+            log.warn("【{}】没有下一次触发时间", job.platform.getPlatformName());
+            return;
+        }
+        long delay = Math.max(0, Duration.between(ZonedDateTime.now(), next).getSeconds());
+        String msg = String.format("【%s】距离下次任务投递还有：%s，执行时间：%s",
+                job.platform.getPlatformName(), JobUtils.formatDuration(delay), next.format(TIME_FORMATTER));
+        log.info(msg);
+        Bot.sendMessage(msg);
+    }
+}
@@ -7,14 +7,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import boss.BossScheduled;
@@ -26,6 +23,38 @@ import zhilian.ZhilianScheduled;
 @Slf4j
 public class JobUtils {
 
+    /**
+     * 是否由StartAll在同一进程内统一执行多个平台
+     * 为true时各平台结束后不再停止日志上下文，避免影响仍在运行的平台
+     */
+    private static volatile boolean sharedRun = false;
+
+    public static void setSharedRun(boolean shared) {
+        sharedRun = shared;
+    }
+
+    public static boolean isSharedRun() {
+        return sharedRun;
+    }
+
+    /**
+     * 平台结束时刷新日志
+     * 单平台运行时停止logback上下文确保日志写入完成；多平台共享进程时仅等待日志写入
+     */
+    public static void flushLogs() {
+        try {
+            Thread.sleep(1000); // 等待1秒确保日志写入完成
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (sharedRun) {
+            return;
+        }
+        ch.qos.logback.classic.LoggerContext loggerContext = (ch.qos.logback.classic.LoggerContext) org.slf4j.LoggerFactory.getILoggerFactory();
+        loggerContext.stop();
+    }
+
     public static String appendParam(String name, String value) {
         return Optional.ofNullable(value)
                 .filter(v -> !Objects.equals(UNLIMITED_CODE, v))
@@ -42,43 +71,47 @@ public class JobUtils {
 
     @SneakyThrows
     public static <T> T getConfig(Class<T> clazz) {
+        String key = clazz.getSimpleName().toLowerCase().replaceAll("config", "");
+        return new ObjectMapper(new YAMLFactory()).treeToValue(getConfigNode(key), clazz);
+    }
+
+    /**
+     * 读取config.yaml中指定节点的原始内容
+     *
+     * @param key 顶层节点名称
+     * @return 节点内容，不存在时为MissingNode
+     */
+    @SneakyThrows
+    public static JsonNode getConfigNode(String key) {
         ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
-        InputStream is = clazz.getClassLoader().getResourceAsStream("config.yaml");
+        InputStream is = JobUtils.class.getClassLoader().getResourceAsStream("config.yaml");
         if (is == null) {
             throw new FileNotFoundException("无法找到 config.yaml 文件");
         }
         JsonNode rootNode = mapper.readTree(is);
-        String key = clazz.getSimpleName().toLowerCase().replaceAll("config", "");
-        JsonNode configNode = rootNode.path(key);
-        return mapper.treeToValue(configNode, clazz);
+        return rootNode.path(key);
     }
 
+    /**
+     * 立即执行一次平台任务，之后交给JobScheduler按config.yaml中的cron表达式定时执行
+     *
+     * @param platform 平台
+     */
     public static void runScheduled(Platform platform) {
-        String platformName = platform.getPlatformName();
-        switch (platform) {
-            case BOSS -> {
-                BossScheduled.postJobs();
-                scheduleTaskAtTime(platformName, 10, 0, BossScheduled::postJobs);
-                scheduleTaskAtTime(platformName, 15, 0, BossScheduled::postJobs);
-            }
-            case JOB51 -> {
-                Job51Scheduled.postJobs();
-                scheduleTaskAtTime(platformName, 10, 0, Job51Scheduled::postJobs);
-            }
-            case LIEPIN -> {
-                LiepinScheduled.postJobs();
-                scheduleTaskAtTime(platformName, 10, 0, LiepinScheduled::postJobs);
-            }
-            case ZHILIAN -> {
-                ZhilianScheduled.postJobs();
-                scheduleTaskAtTime(platformName, 10, 0, ZhilianScheduled::postJobs);
-            }
-            case LAGOU -> {
-                LagouScheduled.postJobs();
-                scheduleTaskAtTime(platformName, 10, 0, LagouScheduled::postJobs);
-            }
-            default -> log.warn("未定义的平台任务：{}", platformName);
+        Runnable task = switch (platform) {
+            case BOSS -> BossScheduled::postJobs;
+            case JOB51 -> Job51Scheduled::postJobs;
+            case LIEPIN -> LiepinScheduled::postJobs;
+            case ZHILIAN -> ZhilianScheduled::postJobs;
+            case LAGOU -> LagouScheduled::postJobs;
+            default -> null;
+        };
+        if (task == null) {
+            log.warn("未定义的平台任务：{}", platform.getPlatformName());
+            return;
         }
+        JobScheduler.runNow(platform, task);
+        JobScheduler.schedule(platform, task);
     }
 
 
@@ -112,48 +145,6 @@ public class JobUtils {
     }
 
 
-    /**
-     * 通用的任务调度方法
-     *
-     * @param hour   要设置的小时，0-23之间的整数
-     * @param minute 要设置的分钟，0-59之间的整数
-     */
-    public static void scheduleTaskAtTime(String platform, int hour, int minute, Runnable task) {
-        long delay = getInitialDelay(hour, minute);  // 计算初始延迟
-        String msg = String.format("【%s】距离下次任务投递还有：%s，执行时间：%02d:%02d", platform, formatDuration(delay), hour, minute);
-        log.info(msg);
-        Bot.sendMessage(msg);
-
-        // 安排定时任务，每24小时执行一次
-        Executors.newScheduledThreadPool(4).scheduleAtFixedRate(task, delay, TimeUnit.DAYS.toSeconds(1), TimeUnit.SECONDS);
-    }
-
-    /**
-     * 计算从当前时间到指定时间（小时:分钟）的延迟
-     *
-     * @param targetHour   目标执行的小时
-     * @param targetMinute 目标执行的分钟
-     * @return 延迟的秒数
-     */
-    public static long getInitialDelay(int targetHour, int targetMinute) {
-        Calendar now = Calendar.getInstance();
-        Calendar nextRun = Calendar.getInstance();
-
-        // 设置目标时间
-        nextRun.set(Calendar.HOUR_OF_DAY, targetHour);
-        nextRun.set(Calendar.MINUTE, targetMinute);
-        nextRun.set(Calendar.SECOND, 0);
-        nextRun.set(Calendar.MILLISECOND, 0);
-
-        // 如果当前时间已经过了今天的目标时间，则将任务安排在明天
-        if (now.after(nextRun)) {
-            nextRun.add(Calendar.DAY_OF_YEAR, 1);  // 调整为明天
-        }
-
-        long currentTime = System.currentTimeMillis();
-        return (nextRun.getTimeInMillis() - currentTime) / 1000;  // 返回秒数
-    }
-
     public static int getRandomNumberInRange(int min, int max) {
         if (min > max) {
             throw new IllegalArgumentException("max must be greater than or equal to min");
@@ -0,0 +1,193 @@
+package utils;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 多关键词匹配（Aho–Corasick自动机）
+ * 构建一次后，判断一段文本是否包含任意关键词只需扫描文本一遍，耗时与关键词数量无关，
+ * 替代逐个关键词调用contains的线性扫描。
+ * 关键词与文本都先做归一化：NFKC（全角字母数字、全角符号转半角）后转小写，因此“ＡＢＣ科技”能命中“abc”。
+ * 构建完成后不可修改，可在多个线程中共享。
+ */
+public final class KeywordMatcher {
+
+    private static final KeywordMatcher EMPTY = new KeywordMatcher(List.of());
+
+    /**
+     * 原始关键词，命中时返回
+     */
+    private final String[] keywords;
+
+    /**
+     * 每个状态的出边，字符按升序排列，与targets一一对应
+     */
+    private final char[][] labels;
+    private final int[][] targets;
+
+    /**
+     * 失配时跳转的状态
+     */
+    private final int[] fail;
+
+    /**
+     * 在该状态结束的关键词下标，没有为-1；同一状态只记录最先加入的关键词
+     */
+    private final int[] output;
+
+    /**
+     * 沿失配链最近的、有关键词结束的状态，没有为-1
+     */
+    private final int[] outputLink;
+
+    private KeywordMatcher(Collection<String> rules) {
+        List<String> accepted = new ArrayList<>();
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(-1);
+        for (String rule : rules) {
+            if (rule == null) {
+                continue;
+            }
+            String key = normalize(rule);
+            // 空关键词会命中所有文本，忽略
+            if (key.isBlank()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < key.length(); i++) {
+                Integer next = trie.get(state).get(key.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(key.charAt(i), next);
+                    trie.add(new TreeMap<>());
+                    ends.add(-1);
+                }
+                state = next;
+            }
+            if (ends.get(state) < 0) {
+                ends.set(state, accepted.size());
+                accepted.add(rule);
+            }
+        }
+
+        int size = trie.size();
+        keywords = accepted.toArray(new String[0]);
+        labels = new char[size][];
+        targets = new int[size][];
+        output = new int[size];
+        for (int s = 0; s < size; s++) {
+            Map<Character, Integer> edges = trie.get(s);
+            labels[s] = new char[edges.size()];
+            targets[s] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                labels[s][i] = edge.getKey();
+                targets[s][i] = edge.getValue();
+                i++;
+            }
+            output[s] = ends.get(s);
+        }
+
+        // 按层次遍历计算失配跳转
+        fail = new int[size];
+        outputLink = new int[size];
+        Arrays.fill(outputLink, -1);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            for (int i = 0; i < labels[s].length; i++) {
+                char c = labels[s][i];
+                int child = targets[s][i];
+                int f = fail[s];
+                int next;
+                while ((next = step(f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = Math.max(next, 0);
+                outputLink[child] = output[fail[child]] >= 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * 编译关键词
+     *
+     * @param rules 关键词，null与空白会被忽略
+     * @return 匹配器
+     */
+    public static KeywordMatcher of(Collection<String> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return EMPTY;
+        }
+        return new KeywordMatcher(rules);
+    }
+
+    /**
+     * 查找文本中出现的关键词
+     *
+     * @param text 待检查的文本，可为null
+     * @return 最先命中的关键词（原始写法），未命中返回null
+     */
+    public String find(String text) {
+        if (text == null || keywords.length == 0) {
+            return null;
+        }
+        String normalized = normalize(text);
+        int state = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            int next;
+            while ((next = step(state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+            if (output[state] >= 0) {
+                return keywords[output[state]];
+            }
+            if (outputLink[state] >= 0) {
+                return keywords[output[outputLink[state]]];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 文本中是否包含任意关键词
+     */
+    public boolean matches(String text) {
+        return find(text) != null;
+    }
+
+    /**
+     * 有效关键词数量（去除空白与归一化后重复的）
+     */
+    public int size() {
+        return keywords.length;
+    }
+
+    /**
+     * 归一化：NFKC将全角字符转为半角，再统一转小写
+     */
+    public static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    private int step(int state, char c) {
+        int i = Arrays.binarySearch(labels[state], c);
+        return i < 0 ? -1 : targets[state][i];
+    }
+}
@@ -0,0 +1,84 @@
+package utils;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 精简加载配置，对应config.yaml中的lean节点
+ * <pre>
+ * lean:
+ *   enable: true
+ *   blockTypes: [image, media, font]
+ *   blockHosts: [hm.baidu.com, google-analytics.com]
+ *   whitelist:
+ *     boss: [".*kanzhun.*"]
+ * </pre>
+ * 登录完成后拦截图片、音视频、字体及第三方统计请求，只保留读取文本所需的内容
+ */
+@Data
+@Slf4j
+public class LeanConfig {
+
+    /**
+     * 是否开启，默认开启
+     */
+    private Boolean enable;
+
+    /**
+     * 拦截的资源类型（Playwright的resourceType），按扩展名匹配地址，支持image、media、font、stylesheet、script
+     */
+    private List<String> blockTypes;
+
+    /**
+     * 拦截的统计、广告域名关键字，请求地址的域名部分包含即拦截，不区分资源类型
+     */
+    private List<String> blockHosts;
+
+    /**
+     * 各平台不拦截的地址（正则），例如Boss薪资数字使用的自定义字体
+     */
+    private Map<String, List<String>> whitelist;
+
+    public static LeanConfig init() {
+        LeanConfig config = null;
+        try {
+            config = JobUtils.getConfig(LeanConfig.class);
+        } catch (Exception e) {
+            log.warn("读取lean配置失败，使用默认配置: {}", e.getMessage());
+        }
+        if (config == null) {
+            config = new LeanConfig();
+        }
+        if (config.enable == null) {
+            config.enable = true;
+        }
+        if (config.blockTypes == null) {
+            config.blockTypes = List.of("image", "media", "font");
+        }
+        if (config.blockHosts == null) {
+            config.blockHosts = List.of("hm.baidu.com", "google-analytics.com", "googletagmanager.com",
+                    "doubleclick.net", "cnzz.com", "growingio.com", "sensorsdata", "zhugeio.com", "umeng.com");
+        }
+        if (config.whitelist == null) {
+            config.whitelist = new HashMap<>();
+        }
+        // Boss薪资数字字体与滑块验证图片必须放行
+        config.whitelist.putIfAbsent(Platform.BOSS.name().toLowerCase(), List.of(".*kanzhun.*", ".*(verify|captcha|geetest).*"));
+        return config;
+    }
+
+    /**
+     * 获取平台的白名单
+     *
+     * @param platform 平台名称，多账号或工作线程的名称（如 boss@账号名、boss#1）取前缀
+     * @return 白名单正则列表
+     */
+    public List<String> getWhitelist(String platform) {
+        String base = platform.split("[@#]", 2)[0].toLowerCase();
+        return whitelist.getOrDefault(base, List.of());
+    }
+}
@@ -0,0 +1,120 @@
+package utils;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Route;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 精简加载：在浏览器上下文中拦截爬取时用不到的请求
+ * 只为需要拦截的地址注册路由（按资源类型对应的扩展名与统计域名生成正则，白名单用否定前瞻排除），
+ * 其余请求不经过Java回调直接放行。Playwright只在所属线程调用Playwright方法时处理路由回调，
+ * 拦截所有请求会让线程休眠期间的页面加载（包括预加载的详情页）全部停住。
+ * 被拦截的请求没有真正下载，节省的流量只能按数量乘以各类型资源的平均大小估算。
+ */
+@Slf4j
+public class LeanRouting {
+
+    private static final LeanConfig CONFIG = LeanConfig.init();
+
+    /**
+     * 各类型资源的估算大小（KB），用于统计节省的流量
+     */
+    private static final Map<String, Integer> ESTIMATED_KB = Map.of(
+            "image", 25,
+            "media", 300,
+            "font", 50,
+            "script", 30,
+            "xhr", 2,
+            "fetch", 2);
+    private static final int DEFAULT_ESTIMATED_KB = 10;
+    private static final String TRACKER = "tracker";
+
+    /**
+     * 资源类型对应的扩展名，路由只能按地址匹配
+     */
+    private static final Map<String, String> TYPE_EXTENSIONS = Map.of(
+            "image", "png|jpe?g|gif|webp|svg|ico|bmp|avif",
+            "media", "mp4|webm|mp3|ogg|wav|m4a|flv|m3u8",
+            "font", "woff2?|ttf|otf|eot",
+            "stylesheet", "css",
+            "script", "js");
+
+    private final String platformName;
+    private final List<String> whitelist;
+    private final Map<String, AtomicInteger> blocked = new ConcurrentHashMap<>();
+
+    private LeanRouting(String platformName) {
+        this.platformName = platformName;
+        this.whitelist = CONFIG.getWhitelist(platformName);
+    }
+
+    /**
+     * 为浏览器上下文安装拦截规则，配置关闭时返回null
+     *
+     * @param context      浏览器上下文
+     * @param platformName 平台名称
+     * @return 拦截统计
+     */
+    public static LeanRouting install(BrowserContext context, String platformName) {
+        if (!CONFIG.getEnable()) {
+            return null;
+        }
+        LeanRouting routing = new LeanRouting(platformName);
+        String exclude = routing.whitelist.isEmpty() ? ""
+                : "(?!(?:" + String.join("|", routing.whitelist) + ")$)";
+        String extensions = CONFIG.getBlockTypes().stream()
+                .map(type -> {
+                    String pattern = TYPE_EXTENSIONS.get(type);
+                    if (pattern == null) {
+                        log.warn("[{}] 精简加载不支持按地址拦截的资源类型: {}", platformName, type);
+                    }
+                    return pattern;
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining("|"));
+        if (!extensions.isEmpty()) {
+            context.route(Pattern.compile("^" + exclude + "[^?#]*\\.(?:" + extensions + ")(?:[?#].*)?$",
+                    Pattern.CASE_INSENSITIVE), route -> routing.block(route, route.request().resourceType()));
+        }
+        if (!CONFIG.getBlockHosts().isEmpty()) {
+            String hosts = CONFIG.getBlockHosts().stream().map(Pattern::quote).collect(Collectors.joining("|"));
+            context.route(Pattern.compile("^" + exclude + "[a-z]+://[^/?#]*(?:" + hosts + ").*", Pattern.CASE_INSENSITIVE),
+                    route -> routing.block(route, TRACKER));
+        }
+        log.info("[{}] 已开启精简加载，拦截类型: {}", platformName, CONFIG.getBlockTypes());
+        return routing;
+    }
+
+    private void block(Route route, String category) {
+        blocked.computeIfAbsent(category, k -> new AtomicInteger()).incrementAndGet();
+        route.abort("blockedbyclient");
+    }
+
+    /**
+     * 拦截统计：各类型拦截数量，以及按数量估算的节省流量
+     *
+     * @return 统计描述
+     */
+    public String report() {
+        int total = 0;
+        long savedKb = 0;
+        StringBuilder detail = new StringBuilder();
+        for (Map.Entry<String, AtomicInteger> entry : new TreeMap<>(blocked).entrySet()) {
+            int count = entry.getValue().get();
+            total += count;
+            savedKb += (long) count * ESTIMATED_KB.getOrDefault(entry.getKey(), DEFAULT_ESTIMATED_KB);
+            detail.append(detail.isEmpty() ? "" : "，").append(entry.getKey()).append(" ").append(count);
+        }
+        return String.format("[%s] 精简加载：拦截%d个请求（%s），按数量估算约节省%.1fMB",
+                platformName, total, detail.isEmpty() ? "无" : detail, savedKb / 1024.0);
+    }
+}
@@ -0,0 +1,82 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 扫码登录等待
+ * 需要扫码时通过Bot推送提醒与二维码截图，之后在当前平台的线程中检测登录状态，扫码完成后自动继续；
+ * 二维码过期前会重新推送截图。不再读取控制台输入，也不阻塞其他平台：
+ * StartAll会把需要扫码的平台放到单独的线程中执行，已登录的平台照常投递。
+ */
+public class LoginWaiter {
+    private static final Logger log = LoggerFactory.getLogger(LoginWaiter.class);
+
+    /**
+     * 检测登录状态的间隔（毫秒）
+     */
+    private static final int POLL_MILLIS = 1000;
+
+    /**
+     * 重新推送二维码的间隔（毫秒），各平台二维码的有效期一般为2~5分钟
+     */
+    private static final long QR_RESEND_MILLIS = 2 * 60 * 1000;
+
+    /**
+     * 推送扫码提醒并等待登录完成
+     *
+     * @param platform      平台名称
+     * @param loggedIn      检测是否已登录，在调用线程中执行
+     * @param qrCode        二维码截图，可为null（只推送文字提醒）
+     * @param timeoutMillis 最长等待时间
+     * @return 超时前是否已登录
+     */
+    public static boolean await(String platform, BooleanSupplier loggedIn, Supplier<byte[]> qrCode, long timeoutMillis) {
+        long start = System.currentTimeMillis();
+        Bot.sendMessageByTime(String.format("【%s】需要扫码登录，请在%d分钟内完成", platform, timeoutMillis / 60000));
+        long lastQr = 0;
+        while (System.currentTimeMillis() - start < timeoutMillis) {
+            try {
+                if (loggedIn.getAsBoolean()) {
+                    log.info("【{}】扫码登录成功，用时{}秒", platform, (System.currentTimeMillis() - start) / 1000);
+                    return true;
+                }
+            } catch (Exception e) {
+                log.debug("【{}】检测登录状态异常: {}", platform, e.getMessage());
+            }
+            if (qrCode != null && System.currentTimeMillis() - lastQr >= QR_RESEND_MILLIS) {
+                lastQr = System.currentTimeMillis();
+                sendQrCode(platform, qrCode);
+            }
+            PlaywrightUtil.sleepMillis(POLL_MILLIS);
+        }
+        log.error("【{}】{}分钟内未完成扫码登录", platform, timeoutMillis / 60000);
+        Bot.sendMessageByTime(String.format("【%s】扫码登录超时", platform));
+        return false;
+    }
+
+    /**
+     * 推送扫码提醒（用于由页面自身等待登录完成的平台）
+     *
+     * @param platform 平台名称
+     * @param qrCode   二维码截图，可为null
+     */
+    public static void notifyScan(String platform, Supplier<byte[]> qrCode) {
+        Bot.sendMessageByTime(String.format("【%s】需要扫码登录", platform));
+        if (qrCode != null) {
+            sendQrCode(platform, qrCode);
+        }
+    }
+
+    private static void sendQrCode(String platform, Supplier<byte[]> qrCode) {
+        try {
+            Bot.sendImage(qrCode.get());
+            log.info("【{}】已推送登录二维码", platform);
+        } catch (Exception e) {
+            log.warn("【{}】获取二维码截图失败: {}", platform, e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package utils;
 
 import boss.Locators;
-import com.microsoft.playwright.ElementHandle;
 import com.microsoft.playwright.Page;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.interactions.Actions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,9 +15,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 
-import static utils.Constant.ACTIONS;
-import static utils.Constant.CHROME_DRIVER;
-
 /**
  * Boss直聘页面操作工具类
  * 封装常见页面操作逻辑
@@ -64,44 +62,9 @@ public class Operate {
      * @return 最终加载的岗位数量
      */
     public static int scrollToLoadMoreJobs(Page page, int maxLoadAttempts) {
-        int previousJobCount = 0;
-        int currentJobCount = 0;
-        int unchangedCount = 0;
-        int loadAttempts = 0;
-
-        while (unchangedCount < 2 && loadAttempts < maxLoadAttempts) {
-            // 获取所有岗位卡片
-            List<ElementHandle> jobCards = page.querySelectorAll(Locators.JOB_CARD_BOX);
-            currentJobCount = jobCards.size();
-
-            log.info("当前已加载岗位数量: " + currentJobCount);
-
-            // 判断是否有新增岗位
-            if (currentJobCount > previousJobCount) {
-                previousJobCount = currentJobCount;
-                unchangedCount = 0;
-
-                // 滚动到页面底部加载更多
-                PlaywrightUtil.evaluate("window.scrollTo(0, document.body.scrollHeight)");
-                log.info("下拉页面加载更多...");
-
-                // 等待新内容加载
-                page.waitForTimeout(2000);
-            } else {
-                unchangedCount++;
-                if (unchangedCount < 2) {
-                    log.info("下拉后岗位数量未增加，再次尝试...");
-                    // 再次尝试滚动
-                    page.evaluate("window.scrollTo(0, document.body.scrollHeight)");
-                    page.waitForTimeout(2000);
-                } else {
-                    break;
-                }
-            }
-
-            loadAttempts++;
-        }
-
+        // 新卡片挂载后立即继续下拉，安静期内没有新卡片即结束
+        int currentJobCount = ScrollLoader.loadAll(page, Locators.JOB_CARD_BOX, null,
+                ScrollLoader.DEFAULT_QUIET_MILLIS, maxLoadAttempts);
         log.info("已获取所有可加载岗位，共计: " + currentJobCount + " 个");
         return currentJobCount;
     }
@@ -138,13 +101,16 @@ public class Operate {
      * SeleniumUtil.sleep(1);
      * }
      * ```
+     *
+     * @param session 浏览器会话
      */
-    public static void simulateUserBrowsing() {
+    public static void simulateUserBrowsing(BrowserSession session) {
+        Actions actions = session.getActions();
         for (int i = 0; i < 3; i++) {
-            ACTIONS.sendKeys(" ").perform();
+            actions.sendKeys(" ").perform();
             SeleniumUtil.sleep(1);
         }
-        ACTIONS.keyDown(Keys.CONTROL)
+        actions.keyDown(Keys.CONTROL)
                 .sendKeys(Keys.HOME)
                 .keyUp(Keys.CONTROL)
                 .perform();
@@ -163,13 +129,15 @@ public class Operate {
      * }
      * ```
      * 
+     * @param session  浏览器会话
      * @param tabs     标签页列表
      * @param tabIndex 要切换到的标签页索引
      */
-    public static void closeCurrentTabAndSwitchTo(ArrayList<String> tabs, int tabIndex) {
+    public static void closeCurrentTabAndSwitchTo(BrowserSession session, ArrayList<String> tabs, int tabIndex) {
+        ChromeDriver driver = session.getDriver();
         SeleniumUtil.sleep(1);
-        CHROME_DRIVER.close();
-        CHROME_DRIVER.switchTo().window(tabs.get(tabIndex));
+        driver.close();
+        driver.switchTo().window(tabs.get(tabIndex));
     }
 
     /**
@@ -184,17 +152,19 @@ public class Operate {
      * CHROME_DRIVER.switchTo().window(tabs.getLast());
      * ```
      * 
-     * @param url 要打开的链接
+     * @param session 浏览器会话
+     * @param url     要打开的链接
      * @return 所有标签页的句柄列表
      */
-    public static ArrayList<String> openLinkInNewTab(String url) {
-        JavascriptExecutor jse = CHROME_DRIVER;
+    public static ArrayList<String> openLinkInNewTab(BrowserSession session, String url) {
+        ChromeDriver driver = session.getDriver();
+        JavascriptExecutor jse = driver;
         // 使用JavaScript控制焦点，避免了每次打开新页签时浏览器窗口自动切换到前台的问题
         jse.executeScript("var newTab = window.open(arguments[0], '_blank'); newTab.blur(); window.focus();", url);
         // 获取所有标签页句柄
-        ArrayList<String> tabs = new ArrayList<>(CHROME_DRIVER.getWindowHandles());
+        ArrayList<String> tabs = new ArrayList<>(driver.getWindowHandles());
         // 切换到新标签页
-        CHROME_DRIVER.switchTo().window(tabs.getLast());
+        driver.switchTo().window(tabs.getLast());
         return tabs;
     }
 
@@ -231,14 +201,16 @@ public class Operate {
      * }
      * }
      * ```
+     *
+     * @param session 浏览器会话
      */
-    public static void scrollChatListUntilFinished() {
-        JavascriptExecutor js = CHROME_DRIVER;
+    public static void scrollChatListUntilFinished(BrowserSession session) {
+        JavascriptExecutor js = session.getDriver();
         boolean shouldBreak = false;
 
         while (!shouldBreak) {
             try {
-                Optional<WebElement> finishedElement = Finder.findElement(Locators.FINISHED_TEXT);
+                Optional<WebElement> finishedElement = Finder.findElement(session, Locators.FINISHED_TEXT);
                 if (finishedElement.isPresent() && "没有更多了".equals(finishedElement.get().getText())) {
                     shouldBreak = true;
                 }
@@ -247,7 +219,7 @@ public class Operate {
             }
 
             // 尝试查找"滚动加载更多"元素
-            Optional<WebElement> loadMoreElement = Finder.findElement(Locators.SCROLL_LOAD_MORE);
+            Optional<WebElement> loadMoreElement = Finder.findElement(session, Locators.SCROLL_LOAD_MORE);
 
             if (loadMoreElement.isPresent()) {
                 try {
@@ -269,7 +241,7 @@ public class Operate {
             }
 
             // 防止无限循环，给一个额外的检查
-            List<WebElement> items = Finder.findElements(Locators.CHAT_LIST_ITEM);
+            List<WebElement> items = Finder.findElements(session, Locators.CHAT_LIST_ITEM);
             if (items.isEmpty()) {
                 log.info("没有找到聊天记录项，停止滚动");
                 break;
@@ -306,12 +278,13 @@ public class Operate {
      * }
      * ```
      * 
+     * @param session   浏览器会话
      * @param imagePath 简历图片路径
      * @return 是否发送成功
      */
-    public static boolean sendResumeImage(String imagePath) {
+    public static boolean sendResumeImage(BrowserSession session, String imagePath) {
         try {
-            Optional<WebElement> fileInput = Finder.findElement(Locators.IMAGE_UPLOAD);
+            Optional<WebElement> fileInput = Finder.findElement(session, Locators.IMAGE_UPLOAD);
             if (fileInput.isPresent()) {
                 fileInput.get().sendKeys(imagePath);
                 return true;
@@ -0,0 +1,210 @@
+package utils;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitUntilState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 详情页标签池
+ * 在平台的BrowserContext中预先创建少量标签页并重复使用，替代每个岗位新建、关闭一次标签页：
+ * - prefetch：提前在空闲标签页中发起导航（只等待响应提交），详情页在后台加载，当前标签页的操作不受影响
+ * - acquire：取出已预加载的标签页，未预加载时再用空闲标签页同步导航
+ * - release：归还标签页，使用次数达到上限后关闭并在下次需要时重新创建，避免单个标签页内存持续增长
+ * 容量为0时退化为每次新建、用完即关的方式，便于与标签池对比耗时。
+ * Playwright对象不是线程安全的，所有方法都必须在操作该浏览器的线程中调用。
+ */
+@Slf4j
+public class PagePool implements AutoCloseable {
+
+    private static final int PREFETCH_TIMEOUT = 15000;
+
+    private final String name;
+    private final BrowserContext context;
+    private final int size;
+    private final int maxUses;
+
+    private final Deque<Page> idle = new ArrayDeque<>();
+    private final Map<String, Page> prefetched = new LinkedHashMap<>();
+    private final Map<Page, Integer> uses = new IdentityHashMap<>();
+
+    private int acquired;
+    private int prefetchHits;
+    private int created;
+    private int recycled;
+    private long acquireNanos;
+
+    /**
+     * @param name    标签池名称，用于日志
+     * @param context 标签页所属的浏览器上下文
+     * @param size    标签页数量，0表示不复用
+     * @param maxUses 单个标签页最多使用次数，达到后回收
+     */
+    public PagePool(String name, BrowserContext context, int size, int maxUses) {
+        this.name = name;
+        this.context = context;
+        this.size = Math.max(0, size);
+        this.maxUses = Math.max(1, maxUses);
+    }
+
+    /**
+     * 预先创建全部标签页
+     */
+    public void warmUp() {
+        while (uses.size() < size) {
+            idle.add(newPage());
+        }
+        log.info("【{}】详情页标签池已预热，标签页数量：{}", name, size);
+    }
+
+    /**
+     * 在空闲标签页中提前发起导航，没有空闲标签页时忽略
+     *
+     * @param url 详情页地址
+     * @return 是否发起了预加载
+     */
+    public boolean prefetch(String url) {
+        if (size == 0 || url == null || prefetched.containsKey(url)) {
+            return false;
+        }
+        Page page = idle.poll();
+        if (page == null && uses.size() < size) {
+            page = newPage();
+        }
+        if (page == null) {
+            return false;
+        }
+        try {
+            page.navigate(url, new Page.NavigateOptions().setWaitUntil(WaitUntilState.COMMIT).setTimeout(PREFETCH_TIMEOUT));
+            prefetched.put(url, page);
+            return true;
+        } catch (Exception e) {
+            log.debug("【{}】预加载详情页失败: {}，原因: {}", name, url, e.getMessage());
+            idle.add(page);
+            return false;
+        }
+    }
+
+    /**
+     * 获取已打开指定地址的标签页，用完后必须调用release归还；加载失败时抛出异常，标签页已关闭，无需归还
+     *
+     * @param url 详情页地址
+     * @return 标签页
+     */
+    public Page acquire(String url) {
+        long start = System.nanoTime();
+        Page page = null;
+        try {
+            page = prefetched.remove(url);
+            if (page != null) {
+                prefetchHits++;
+                page.waitForLoadState(LoadState.LOAD);
+                return page;
+            }
+            page = take();
+            page.navigate(url);
+            return page;
+        } catch (RuntimeException e) {
+            // 加载失败的标签页已从池中取出，关闭并让出名额，之后按需新建
+            if (page != null) {
+                discard(page);
+            }
+            throw e;
+        } finally {
+            acquired++;
+            acquireNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * 归还标签页
+     *
+     * @param page acquire得到的标签页
+     */
+    public void release(Page page) {
+        if (page == null) {
+            return;
+        }
+        int count = uses.merge(page, 1, Integer::sum);
+        if (size == 0 || page.isClosed() || count >= maxUses) {
+            discard(page);
+            if (size > 0) {
+                recycled++;
+            }
+            return;
+        }
+        idle.add(page);
+    }
+
+    /**
+     * 获取统计信息：获取次数、预加载命中次数、平均获取耗时等
+     *
+     * @return 统计信息描述
+     */
+    public String stats() {
+        long avgMillis = acquired == 0 ? 0 : acquireNanos / acquired / 1_000_000;
+        return String.format("【%s】详情页标签池：容量%d，获取%d次，预加载命中%d次，平均获取耗时%dms，新建标签页%d个，回收%d个",
+                name, size, acquired, prefetchHits, avgMillis, created, recycled);
+    }
+
+    @Override
+    public void close() {
+        for (Page page : idle) {
+            closeQuietly(page);
+        }
+        for (Page page : prefetched.values()) {
+            closeQuietly(page);
+        }
+        idle.clear();
+        prefetched.clear();
+        uses.clear();
+    }
+
+    private Page take() {
+        Page page = idle.poll();
+        if (page != null) {
+            return page;
+        }
+        if (size == 0 || uses.size() < size) {
+            return newPage();
+        }
+        // 所有标签页都在预加载其他岗位，挪用最早预加载的一个
+        Iterator<Page> it = prefetched.values().iterator();
+        if (it.hasNext()) {
+            page = it.next();
+            it.remove();
+            return page;
+        }
+        return newPage();
+    }
+
+    private Page newPage() {
+        Page page = context.newPage();
+        uses.put(page, 0);
+        created++;
+        return page;
+    }
+
+    private void discard(Page page) {
+        uses.remove(page);
+        closeQuietly(page);
+    }
+
+    private void closeQuietly(Page page) {
+        try {
+            if (!page.isClosed()) {
+                page.close();
+            }
+        } catch (Exception e) {
+            log.debug("【{}】关闭标签页失败: {}", name, e.getMessage());
+        }
+    }
+}
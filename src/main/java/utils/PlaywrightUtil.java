@@ -46,6 +46,13 @@ public class PlaywrightUtil {
         BrowserContext mobileContext;
         Page desktopPage;
         Page mobilePage;
+        // 从常驻进程池获取的调试地址，关闭时归还
+        String pooledEndpoint;
+        long initNanos;
+        LeanRouting leanRouting;
+        volatile boolean firstLoadRecorded;
+        // 桌面上下文是否已从登录状态快照恢复
+        boolean stateRestored;
     }
     
     // 多平台资源映射
@@ -57,6 +64,14 @@ public class PlaywrightUtil {
     // 默认等待时间（毫秒）
     private static final int DEFAULT_WAIT_TIME = 10000;
 
+    private static final BrowserConfig BROWSER_CONFIG = BrowserConfig.init();
+
+    // 常驻Chromium进程数量，0表示每个平台单独启动浏览器
+    private static final int BROWSER_POOL_SIZE = BROWSER_CONFIG.getPoolSize();
+
+    // 各平台最近一次从初始化到首个页面加载完成的耗时（毫秒）
+    private static final Map<String, Long> startupLatencies = new ConcurrentHashMap<>();
+
     /**
      * 初始化Playwright及浏览器实例
      */
@@ -69,6 +84,29 @@ public class PlaywrightUtil {
      * @param platformName 平台名称（如：boss, liepin, job51, lagou, zhilian）
      */
     public static void init(String platformName) {
+        init(platformName, null);
+    }
+
+    /**
+     * 为特定平台初始化Playwright及浏览器上下文
+     * 指定cdpEndpoint时不再单独启动浏览器，而是连接到已运行的Chromium进程，在其中创建独立的上下文，
+     * 多个平台或账号可以共用同一个浏览器进程，cookie与页面互不干扰
+     *
+     * @param platformName 平台名称（如：boss, liepin，多账号时为 boss@账号名）
+     * @param cdpEndpoint  共享Chromium的调试地址，为null时从常驻进程池获取（browser.poolSize为0时单独启动浏览器）
+     */
+    public static void init(String platformName, String cdpEndpoint) {
+        init(platformName, cdpEndpoint, null);
+    }
+
+    /**
+     * 为特定平台初始化Playwright及浏览器上下文，browser.storageState开启且快照有效时，创建上下文时直接恢复登录状态
+     *
+     * @param platformName 平台名称
+     * @param cdpEndpoint  共享Chromium的调试地址，为null时从常驻进程池获取
+     * @param cookiePath   平台的cookie文件路径，快照保存在同目录下，为null时不恢复
+     */
+    public static void init(String platformName, String cdpEndpoint, String cookiePath) {
         log.info("初始化 [{}] 平台的浏览器实例...", platformName);
         
         // 如果平台资源已存在，则先关闭
@@ -77,37 +115,45 @@ public class PlaywrightUtil {
         }
         
         PlatformResources resources = new PlatformResources();
+        resources.initNanos = System.nanoTime();
         
         // 启动Playwright
         resources.playwright = Playwright.create();
 
-        // 创建浏览器实例
-        resources.browser = resources.playwright.chromium().launch(new BrowserType.LaunchOptions()
-                .setHeadless(false) // 非无头模式，可视化调试
-                .setSlowMo(50)); // 放慢操作速度，便于调试
+        // 创建浏览器实例：优先连接常驻Chromium，省去每次冷启动浏览器
+        if (cdpEndpoint == null && BROWSER_POOL_SIZE > 0) {
+            try {
+                resources.pooledEndpoint = SharedChromium.acquire();
+                cdpEndpoint = resources.pooledEndpoint;
+            } catch (Exception e) {
+                log.warn("获取常驻Chromium失败，改为单独启动浏览器: {}", e.getMessage());
+            }
+        }
+        if (cdpEndpoint != null) {
+            resources.browser = resources.playwright.chromium().connectOverCDP(cdpEndpoint,
+                    new BrowserType.ConnectOverCDPOptions().setSlowMo(50));
+        } else {
+            resources.browser = resources.playwright.chromium().launch(new BrowserType.LaunchOptions()
+                    .setHeadless(false) // 非无头模式，可视化调试
+                    .setSlowMo(50)); // 放慢操作速度，便于调试
+        }
 
-        // 创建桌面浏览器上下文
-        resources.desktopContext = resources.browser.newContext(new Browser.NewContextOptions()
+        // 创建桌面浏览器上下文，移动设备上下文在首次使用时再创建
+        Browser.NewContextOptions desktopOptions = new Browser.NewContextOptions()
                 .setViewportSize(1920, 1080)
                 .setUserAgent(
-                        "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/135.0.0.0 Safari/537.36"));
-
-        // 创建移动设备浏览器上下文
-        resources.mobileContext = resources.browser.newContext(new Browser.NewContextOptions()
-                .setViewportSize(375, 812)
-                .setDeviceScaleFactor(3.0)
-                .setIsMobile(true)
-                .setHasTouch(true)
-                .setUserAgent(
-                        "Mozilla/5.0 (iPhone; CPU iPhone OS 13_2_3 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/13.0.3 Mobile/15E148 Safari/604.1"));
+                        "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/135.0.0.0 Safari/537.36");
+        if (BROWSER_CONFIG.getStorageState() && cookiePath != null && CookieFile.isValid(storageStatePath(cookiePath))) {
+            desktopOptions.setStorageStatePath(Paths.get(storageStatePath(cookiePath)));
+            resources.stateRestored = true;
+            log.info("[{}] 已从登录状态快照恢复: {}", platformName, storageStatePath(cookiePath));
+        }
+        resources.desktopContext = resources.browser.newContext(desktopOptions);
 
         // 创建桌面页面
         resources.desktopPage = resources.desktopContext.newPage();
         resources.desktopPage.setDefaultTimeout(DEFAULT_TIMEOUT);
-        
-        // 创建移动页面
-        resources.mobilePage = resources.mobileContext.newPage();
-        resources.mobilePage.setDefaultTimeout(DEFAULT_TIMEOUT);
+        resources.desktopPage.onLoad(page -> recordFirstLoad(platformName, resources));
 
         // 保存到映射中
         platformResourcesMap.put(platformName, resources);
@@ -137,7 +183,11 @@ public class PlaywrightUtil {
             log.error("未找到 [{}] 平台的浏览器资源，请先调用init方法初始化", platformName);
             return null;
         }
-        return deviceType == DeviceType.DESKTOP ? resources.desktopPage : resources.mobilePage;
+        if (deviceType == DeviceType.DESKTOP) {
+            return resources.desktopPage;
+        }
+        ensureMobile(resources);
+        return resources.mobilePage;
     }
 
     /**
@@ -153,7 +203,69 @@ public class PlaywrightUtil {
             log.error("未找到 [{}] 平台的浏览器资源，请先调用init方法初始化", platformName);
             return null;
         }
-        return deviceType == DeviceType.DESKTOP ? resources.desktopContext : resources.mobileContext;
+        if (deviceType == DeviceType.DESKTOP) {
+            return resources.desktopContext;
+        }
+        ensureMobile(resources);
+        return resources.mobileContext;
+    }
+
+    /**
+     * 首次使用移动设备时才创建移动上下文和页面，多数平台只用桌面页面
+     */
+    private static void ensureMobile(PlatformResources resources) {
+        if (resources.mobilePage != null) {
+            return;
+        }
+        // 创建移动设备浏览器上下文
+        resources.mobileContext = resources.browser.newContext(new Browser.NewContextOptions()
+                .setViewportSize(375, 812)
+                .setDeviceScaleFactor(3.0)
+                .setIsMobile(true)
+                .setHasTouch(true)
+                .setUserAgent(
+                        "Mozilla/5.0 (iPhone; CPU iPhone OS 13_2_3 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/13.0.3 Mobile/15E148 Safari/604.1"));
+        // 创建移动页面
+        resources.mobilePage = resources.mobileContext.newPage();
+        resources.mobilePage.setDefaultTimeout(DEFAULT_TIMEOUT);
+    }
+
+    private static void recordFirstLoad(String platformName, PlatformResources resources) {
+        if (resources.firstLoadRecorded) {
+            return;
+        }
+        resources.firstLoadRecorded = true;
+        long millis = (System.nanoTime() - resources.initNanos) / 1_000_000;
+        startupLatencies.put(platformName, millis);
+        log.info("[{}] 浏览器启动到首个页面加载完成耗时: {}ms（{}）", platformName, millis,
+                resources.pooledEndpoint != null ? "常驻进程" : "单独启动");
+    }
+
+    /**
+     * 为平台的桌面上下文开启精简加载，拦截图片、字体、音视频及第三方统计请求
+     * 应在登录完成后调用，避免拦截登录二维码等必要资源；重复调用只安装一次
+     *
+     * @param platformName 平台名称
+     */
+    public static void enableLeanRouting(String platformName) {
+        PlatformResources resources = platformResourcesMap.get(platformName);
+        if (resources == null || resources.leanRouting != null) {
+            return;
+        }
+        try {
+            resources.leanRouting = LeanRouting.install(resources.desktopContext, platformName);
+        } catch (Exception e) {
+            log.warn("[{}] 开启精简加载失败: {}", platformName, e.getMessage());
+        }
+    }
+
+    /**
+     * 获取各平台最近一次从浏览器初始化到首个页面加载完成的耗时
+     *
+     * @return 平台名称到耗时（毫秒）的映射
+     */
+    public static Map<String, Long> getStartupLatencies() {
+        return Collections.unmodifiableMap(startupLatencies);
     }
     
     /**
@@ -187,12 +299,14 @@ public class PlaywrightUtil {
     public static void closePlatform(String platformName) {
         PlatformResources resources = platformResourcesMap.get(platformName);
         if (resources != null) {
+            if (resources.leanRouting != null) log.info(resources.leanRouting.report());
             if (resources.desktopPage != null) try { resources.desktopPage.close(); } catch (Exception e) {}
             if (resources.mobilePage != null) try { resources.mobilePage.close(); } catch (Exception e) {}
             if (resources.desktopContext != null) try { resources.desktopContext.close(); } catch (Exception e) {}
             if (resources.mobileContext != null) try { resources.mobileContext.close(); } catch (Exception e) {}
             if (resources.browser != null) try { resources.browser.close(); } catch (Exception e) {}
             if (resources.playwright != null) try { resources.playwright.close(); } catch (Exception e) {}
+            if (resources.pooledEndpoint != null) SharedChromium.release(resources.pooledEndpoint);
             
             platformResourcesMap.remove(platformName);
             log.info("[{}] 平台的Playwright及浏览器实例已关闭", platformName);
@@ -757,6 +871,15 @@ public class PlaywrightUtil {
                 file.write(jsonArray.toString(4));
                 log.info("Cookie已保存到文件: {} (平台: {}, 设备类型: {})", path, platformName, defaultDeviceType);
             }
+            if (BROWSER_CONFIG.getStorageState()) {
+                try {
+                    getContext(platformName, defaultDeviceType).storageState(
+                            new BrowserContext.StorageStateOptions().setPath(Paths.get(storageStatePath(path))));
+                    log.info("登录状态快照已保存: {}", storageStatePath(path));
+                } catch (PlaywrightException e) {
+                    log.warn("保存登录状态快照失败: {}", e.getMessage());
+                }
+            }
         } catch (IOException e) {
             log.error("保存Cookie失败 (平台: {}, 设备类型: {})", platformName, defaultDeviceType, e);
         }
@@ -838,6 +961,11 @@ public class PlaywrightUtil {
      * @param deviceType 设备类型
      */
     public static void loadCookies(String path, String platformName, DeviceType deviceType) {
+        PlatformResources resources = platformResourcesMap.get(platformName);
+        if (deviceType == DeviceType.DESKTOP && resources != null && resources.stateRestored) {
+            log.debug("[{}] 登录状态已在创建上下文时恢复，跳过加载Cookie", platformName);
+            return;
+        }
         try {
             String content = new String(Files.readAllBytes(Paths.get(path)));
             JSONArray jsonArray = new JSONArray(content);
@@ -900,6 +1028,55 @@ public class PlaywrightUtil {
         evaluate(script, defaultDeviceType);
     }
 
+    /**
+     * 批量提取脚本：字段写法为 "选择器"（第一个匹配元素的文本）、"选择器@属性"（属性值）、
+     * "选择器*"（所有匹配元素的文本，以", "连接），选择器为空时取卡片本身；
+     * 文本默认取innerText，"选择器@textContent"取textContent
+     */
+    private static final String EXTRACT_CARDS_SCRIPT = """
+            ([cardSelector, fields]) => Array.from(document.querySelectorAll(cardSelector)).map(card => {
+                const out = {};
+                for (const [name, spec] of Object.entries(fields)) {
+                    const all = spec.endsWith('*');
+                    const [selector, attr] = (all ? spec.slice(0, -1) : spec).split('@');
+                    const text = el => (attr === 'textContent' ? el.textContent : attr ? el.getAttribute(attr) : el.innerText) || '';
+                    if (all) {
+                        out[name] = Array.from(card.querySelectorAll(selector)).map(el => text(el).trim()).join(', ');
+                    } else {
+                        const el = selector ? card.querySelector(selector) : card;
+                        out[name] = el ? text(el).trim() : '';
+                    }
+                }
+                return out;
+            })
+            """;
+
+    /**
+     * 一次页面调用提取所有卡片的字段，代替逐个卡片、逐个字段的count()与innerText()调用
+     *
+     * @param page         页面
+     * @param cardSelector 卡片的CSS选择器
+     * @param fields       字段名到卡片内CSS选择器的映射，写法见EXTRACT_CARDS_SCRIPT
+     * @return 每张卡片一个字段映射，缺失的字段为空字符串
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Map<String, String>> extractCards(Page page, String cardSelector, Map<String, String> fields) {
+        List<Map<String, String>> cards = new ArrayList<>();
+        try {
+            Object result = page.evaluate(EXTRACT_CARDS_SCRIPT, List.of(cardSelector, fields));
+            for (Object card : (List<Object>) result) {
+                Map<String, String> values = new LinkedHashMap<>();
+                ((Map<String, Object>) card).forEach((k, v) -> values.put(k, v == null ? "" : v.toString()));
+                cards.add(values);
+            }
+        } catch (PlaywrightException e) {
+            log.error("批量提取卡片失败: {}", cardSelector, e);
+        }
+        // 逐个提取的次数是估算值：按每个字段一次count()与一次innerText()计，另加一次获取卡片列表，并非实测
+        log.debug("批量提取{}张卡片、{}个字段：实际1次页面调用，逐个提取估算约{}次", cards.size(), fields.size(), cards.size() * fields.size() * 2 + 1);
+        return cards;
+    }
+
     /**
      * 等待页面加载完成
      *
@@ -1317,13 +1494,27 @@ public class PlaywrightUtil {
     }
 
     /**
-     * 检查Cookie文件是否有效（从SeleniumUtil移植）
+     * 离线检查Cookie文件是否有效，不打开页面：文件存在且登录cookie未过期，
+     * browser.storageState开启时优先检查登录状态快照
      *
-     * @param cookiePath Cookie文件路径
-     * @return 文件是否存在
+     * @param cookiePath  Cookie文件路径
+     * @param authCookies 平台的登录cookie名称，可为空，见 CookieFile.isValid
+     * @return 是否可以直接使用
+     */
+    public static boolean isCookieValid(String cookiePath, String... authCookies) {
+        if (BROWSER_CONFIG.getStorageState() && CookieFile.isValid(storageStatePath(cookiePath), authCookies)) {
+            return true;
+        }
+        return CookieFile.isValid(cookiePath, authCookies);
+    }
+
+    /**
+     * 登录状态快照的路径，与cookie文件同目录，如 cookie.json 对应 cookie-state.json
      */
-    public static boolean isCookieValid(String cookiePath) {
-        return Files.exists(Paths.get(cookiePath));
+    public static String storageStatePath(String cookiePath) {
+        return cookiePath.endsWith(".json")
+                ? cookiePath.substring(0, cookiePath.length() - ".json".length()) + "-state.json"
+                : cookiePath + "-state.json";
     }
 
     /**
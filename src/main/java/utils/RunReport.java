@@ -0,0 +1,51 @@
+package utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 各平台本次运行的结果
+ * 平台的main方法会自行捕获异常，调用方无法从是否抛出异常判断成败；
+ * 各平台在输出投递结果时登记投递数量与跳过的岗位数量，发生异常或无法继续时登记失败原因，
+ * StartAll执行完一个平台后取出结果汇总输出。以平台名称（如boss、liepin）为键，线程安全。
+ */
+public class RunReport {
+
+    /**
+     * 单个平台的结果
+     *
+     * @param submitted 投递（发起聊天）的岗位数量
+     * @param skipped   跳过的已投递或重复岗位数量
+     * @param error     失败原因，成功时为null
+     */
+    public record Result(int submitted, int skipped, String error) {
+    }
+
+    private static final Map<String, Result> RESULTS = new ConcurrentHashMap<>();
+
+    /**
+     * 登记投递数量，保留已登记的失败原因
+     */
+    public static void record(String platform, int submitted, int skipped) {
+        RESULTS.merge(platform, new Result(submitted, skipped, null),
+                (old, now) -> new Result(submitted, skipped, old.error()));
+    }
+
+    /**
+     * 登记失败原因，保留已登记的投递数量
+     */
+    public static void fail(String platform, String error) {
+        String reason = error == null || error.isBlank() ? "未知错误" : error;
+        RESULTS.merge(platform, new Result(0, 0, reason),
+                (old, now) -> new Result(old.submitted(), old.skipped(), reason));
+    }
+
+    /**
+     * 取出并清除平台的结果
+     *
+     * @return 平台登记的结果，未登记时返回null
+     */
+    public static Result take(String platform) {
+        return RESULTS.remove(platform);
+    }
+}
@@ -0,0 +1,206 @@
+package utils;
+
+import java.util.List;
+
+/**
+ * 薪资解析，各平台共用
+ * 支持的写法：15-25K、15-25k·14薪、8千-1.2万、1-1.5万/月、20-30万/年、年薪20-30万、200-300元/天、50元/时、8000-12000元；
+ * Boss直聘用自定义字体显示的数字（U+E030~U+E039）在同一次扫描中还原，无需先调用decode。
+ * 单次遍历字符完成解析，不使用正则，不创建中间字符串，结果统一换算为年薪（元）：
+ * 月薪按·N薪中的N个月计算，未注明按12个月；日薪按每月21.75个工作日，时薪按每天8小时。
+ */
+public final class SalaryParser {
+
+    /**
+     * Boss直聘薪资字体中数字0对应的字符，0~9连续排列
+     */
+    private static final char GLYPH_ZERO = '\uE030';
+    private static final char[] GLYPH_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
+
+    private static final double WORK_DAYS_PER_MONTH = 21.75;
+    private static final int HOURS_PER_DAY = 8;
+
+    private static final int PERIOD_HOUR = 0;
+    private static final int PERIOD_DAY = 1;
+    private static final int PERIOD_WEEK = 2;
+    private static final int PERIOD_MONTH = 3;
+    private static final int PERIOD_YEAR = 4;
+
+    /**
+     * 年薪范围（元）
+     */
+    public record Range(int min, int max) {
+    }
+
+    private SalaryParser() {
+    }
+
+    /**
+     * 还原Boss直聘的字体数字
+     *
+     * @param text 页面上的薪资文本
+     * @return 数字还原后的文本
+     */
+    public static String decode(String text) {
+        if (text == null) {
+            return null;
+        }
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = decodeChar(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 解析薪资文本
+     *
+     * @param text 薪资文本，可包含Boss直聘的字体数字
+     * @return 年薪范围，没有数字（如“面议”）时返回null
+     */
+    public static Range parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        double low = 0;
+        double high = 0;
+        int lowUnit = 0;
+        int highUnit = 0;
+        int count = 0;
+
+        double value = 0;
+        double fraction = 0;
+        boolean inNumber = false;
+        boolean inBonus = false;
+        int months = 0;
+        int period = PERIOD_MONTH;
+
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = decodeChar(text.charAt(i));
+            if (c >= '0' && c <= '9') {
+                int digit = c - '0';
+                if (inBonus) {
+                    months = months * 10 + digit;
+                } else if (inNumber) {
+                    if (fraction == 0) {
+                        value = value * 10 + digit;
+                    } else {
+                        fraction /= 10;
+                        value += digit * fraction;
+                    }
+                } else if (count < 2) {
+                    inNumber = true;
+                    value = digit;
+                    fraction = 0;
+                }
+                continue;
+            }
+            if (c == '.' && inNumber) {
+                fraction = 1;
+                continue;
+            }
+            if (inNumber) {
+                if (count == 0) {
+                    low = value;
+                } else {
+                    high = value;
+                }
+                count++;
+                inNumber = false;
+            }
+            inBonus = false;
+
+            int unit = switch (c) {
+                case 'k', 'K', '千' -> 1000;
+                case 'w', 'W', '万' -> 10000;
+                case '元' -> 1;
+                default -> 0;
+            };
+            if (unit > 0) {
+                if (count == 1 && lowUnit == 0) {
+                    lowUnit = unit;
+                } else if (count == 2 && highUnit == 0) {
+                    highUnit = unit;
+                }
+                continue;
+            }
+            switch (c) {
+                case '·' -> inBonus = true;
+                case '时' -> period = PERIOD_HOUR;
+                case '天', '日' -> period = PERIOD_DAY;
+                case '周' -> period = PERIOD_WEEK;
+                case '月' -> period = PERIOD_MONTH;
+                case '年' -> period = PERIOD_YEAR;
+                default -> {
+                }
+            }
+        }
+        if (inNumber) {
+            if (count == 0) {
+                low = value;
+            } else {
+                high = value;
+            }
+            count++;
+        }
+        if (count == 0) {
+            return null;
+        }
+        if (count == 1) {
+            high = low;
+            highUnit = lowUnit;
+        }
+
+        // 只写了一个单位时两端共用（如“1-1.5万”“8-12K”），都没写时日薪、时薪按元，月薪按千
+        if (lowUnit == 0) {
+            lowUnit = highUnit;
+        }
+        if (highUnit == 0) {
+            highUnit = lowUnit;
+        }
+        if (lowUnit == 0) {
+            lowUnit = highUnit = period < PERIOD_MONTH || high >= 1000 ? 1 : 1000;
+        }
+
+        double factor = switch (period) {
+            case PERIOD_HOUR -> WORK_DAYS_PER_MONTH * HOURS_PER_DAY * 12;
+            case PERIOD_DAY -> WORK_DAYS_PER_MONTH * 12;
+            case PERIOD_WEEK -> 52;
+            case PERIOD_YEAR -> 1;
+            default -> months > 0 ? months : 12;
+        };
+        int min = (int) Math.round(low * lowUnit * factor);
+        int max = (int) Math.round(high * highUnit * factor);
+        return min <= max ? new Range(min, max) : new Range(max, min);
+    }
+
+    /**
+     * 判断岗位薪资是否不符合期望
+     * 期望的最低薪资高于岗位最高薪资（给的太少），或期望的最高薪资低于岗位最低薪资（要求太高满足不了），都视为不符合。
+     * 未设置期望薪资、薪资无法解析（如“面议”）时不过滤。
+     *
+     * @param text           岗位薪资文本
+     * @param expectedSalary 期望月薪[最低, 最高]，单位K，可只写最低
+     * @return true 不符合预期
+     */
+    public static boolean isNotExpected(String text, List<Integer> expectedSalary) {
+        if (expectedSalary == null || expectedSalary.isEmpty() || expectedSalary.get(0) == null) {
+            return false;
+        }
+        Range range = parse(text);
+        if (range == null) {
+            return false;
+        }
+        long expectedMin = expectedSalary.get(0) * 12_000L;
+        if (range.max() < expectedMin) {
+            return true;
+        }
+        Integer max = expectedSalary.size() > 1 ? expectedSalary.get(1) : null;
+        return max != null && range.min() > max * 12_000L;
+    }
+
+    private static char decodeChar(char c) {
+        int index = c - GLYPH_ZERO;
+        return index >= 0 && index < GLYPH_DIGITS.length ? GLYPH_DIGITS[index] : c;
+    }
+}
@@ -0,0 +1,67 @@
+package utils;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 定时任务配置，对应config.yaml中的schedule节点
+ * <pre>
+ * schedule:
+ *   jitterSeconds: 300
+ *   cron:
+ *     boss: ["0 0 10 * * *", "0 0 15 * * *"]
+ *     liepin: ["0 30 10 * * *"]
+ * </pre>
+ * cron表达式为6位（秒 分 时 日 月 周），未配置的平台默认每天10:00执行
+ */
+@Data
+@Slf4j
+public class ScheduleConfig {
+
+    private static final String DEFAULT_CRON = "0 0 10 * * *";
+
+    /**
+     * 各平台的cron表达式，键为平台枚举名的小写形式（boss、liepin、job51、lagou、zhilian）
+     */
+    private Map<String, List<String>> cron;
+
+    /**
+     * 每次触发时间的随机抖动上限（秒），避免每天在完全相同的时刻访问
+     */
+    private Integer jitterSeconds;
+
+    public static ScheduleConfig init() {
+        ScheduleConfig config = null;
+        try {
+            config = JobUtils.getConfig(ScheduleConfig.class);
+        } catch (Exception e) {
+            log.warn("读取schedule配置失败，使用默认定时配置: {}", e.getMessage());
+        }
+        if (config == null) {
+            config = new ScheduleConfig();
+        }
+        if (config.cron == null) {
+            config.cron = new HashMap<>();
+        }
+        // 保持原有的默认时间：Boss每天10:00与15:00，其他平台每天10:00
+        config.cron.putIfAbsent(Platform.BOSS.name().toLowerCase(), List.of(DEFAULT_CRON, "0 0 15 * * *"));
+        if (config.jitterSeconds == null || config.jitterSeconds < 0) {
+            config.jitterSeconds = 0;
+        }
+        return config;
+    }
+
+    /**
+     * 获取指定平台的cron表达式
+     *
+     * @param platform 平台
+     * @return cron表达式列表
+     */
+    public List<String> getCron(Platform platform) {
+        return cron.getOrDefault(platform.name().toLowerCase(), List.of(DEFAULT_CRON));
+    }
+}
@@ -0,0 +1,95 @@
+package utils;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 无限滚动加载
+ * 整个加载过程在页面内的一次调用中完成：滚动到底部后用MutationObserver监听列表，
+ * 新卡片挂载到页面时立即进行下一次滚动；安静期内没有新卡片或出现列表结束标识时结束。
+ * 不再每次滚动后固定等待一到两秒再重新统计数量。
+ */
+public class ScrollLoader {
+    private static final Logger log = LoggerFactory.getLogger(ScrollLoader.class);
+
+    /**
+     * 默认安静期（毫秒）：滚动后这段时间内没有新卡片即认为已全部加载
+     */
+    public static final int DEFAULT_QUIET_MILLIS = 1500;
+
+    /**
+     * 默认最多滚动次数，避免列表异常时无限滚动
+     */
+    public static final int DEFAULT_MAX_ROUNDS = 50;
+
+    private static final String LOAD_SCRIPT = """
+            async ([itemSelector, endSelector, quietMillis, maxRounds]) => {
+                const count = () => document.querySelectorAll(itemSelector).length;
+                const ended = () => !!endSelector && !!document.querySelector(endSelector);
+                let rounds = 0;
+                let reason = 'quiet';
+                while (true) {
+                    if (ended()) { reason = 'end'; break; }
+                    if (rounds >= maxRounds) { reason = 'limit'; break; }
+                    const before = count();
+                    const grew = await new Promise(resolve => {
+                        let timer;
+                        const observer = new MutationObserver(() => {
+                            if (count() > before || ended()) {
+                                observer.disconnect();
+                                clearTimeout(timer);
+                                resolve(true);
+                            }
+                        });
+                        timer = setTimeout(() => { observer.disconnect(); resolve(false); }, quietMillis);
+                        observer.observe(document.body, {childList: true, subtree: true});
+                        window.scrollTo(0, document.body.scrollHeight);
+                    });
+                    rounds++;
+                    if (!grew) break;
+                }
+                window.scrollTo(0, 0);
+                return {count: count(), rounds, reason};
+            }
+            """;
+
+    /**
+     * 使用默认安静期与滚动次数加载全部卡片
+     *
+     * @see #loadAll(Page, String, String, int, int)
+     */
+    public static int loadAll(Page page, String itemSelector, String endSelector) {
+        return loadAll(page, itemSelector, endSelector, DEFAULT_QUIET_MILLIS, DEFAULT_MAX_ROUNDS);
+    }
+
+    /**
+     * 滚动加载全部卡片，完成后回到页面顶部
+     *
+     * @param page         页面
+     * @param itemSelector 卡片的CSS选择器
+     * @param endSelector  列表结束标识的CSS选择器，没有时为null
+     * @param quietMillis  安静期（毫秒）
+     * @param maxRounds    最多滚动次数
+     * @return 加载完成后的卡片数量
+     */
+    @SuppressWarnings("unchecked")
+    public static int loadAll(Page page, String itemSelector, String endSelector, int quietMillis, int maxRounds) {
+        long start = System.currentTimeMillis();
+        try {
+            Map<String, Object> result = (Map<String, Object>) page.evaluate(LOAD_SCRIPT,
+                    Arrays.asList(itemSelector, endSelector, quietMillis, maxRounds));
+            int count = ((Number) result.get("count")).intValue();
+            log.debug("滚动加载完成：{}张卡片，滚动{}次，结束原因：{}，耗时{}ms",
+                    count, result.get("rounds"), result.get("reason"), System.currentTimeMillis() - start);
+            return count;
+        } catch (PlaywrightException e) {
+            log.warn("滚动加载失败: {}", e.getMessage());
+            return page.locator(itemSelector).count();
+        }
+    }
+}
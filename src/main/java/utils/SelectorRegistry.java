@@ -0,0 +1,196 @@
+package utils;
+
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 选择器注册表：同一个页面元素有多个候选选择器时，记录每个平台、每个逻辑元素上命中的选择器，
+ * 之后优先尝试上次命中的选择器，其次按历史命中次数排序，多数查找一次即可命中。
+ * 通配的兜底选择器（如按文本扫描所有元素）只在所有候选都未命中时按固定顺序尝试，命中也不参与排名、不保存，
+ * 避免某次兜底命中了外层容器后一直优先点击错误的元素。
+ * 排名保存在 src/main/java/平台/selectors.json，重启后继续使用。
+ * <pre>
+ * {"chatButton": {"last": "a.op-btn-chat", "wins": {"a.op-btn-chat": 42, "div.btn-chat": 1}}}
+ * </pre>
+ */
+public class SelectorRegistry {
+    private static final Logger log = LoggerFactory.getLogger(SelectorRegistry.class);
+
+    private static final Map<String, SelectorRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+    private final String platform;
+    private final Path path;
+    private final Map<String, String> last = new HashMap<>();
+    private final Map<String, Map<String, Integer>> wins = new HashMap<>();
+    private int lookups;
+    private int firstProbeHits;
+    private int misses;
+    private int fallbackHits;
+    private long probes;
+
+    private SelectorRegistry(String platform) {
+        this.platform = platform;
+        this.path = Paths.get("src/main/java", platform, "selectors.json");
+        load();
+    }
+
+    /**
+     * 获取平台的注册表，多账号或工作线程（如 boss@账号名、boss#1）共用同一个
+     *
+     * @param platformName 平台名称
+     * @return 注册表
+     */
+    public static SelectorRegistry of(String platformName) {
+        String platform = platformName.split("[@#]", 2)[0].toLowerCase();
+        return REGISTRIES.computeIfAbsent(platform, SelectorRegistry::new);
+    }
+
+    /**
+     * 按排名依次尝试候选选择器，返回第一个命中的结果
+     *
+     * @param element    逻辑元素名称，如 chatButton
+     * @param candidates 候选选择器，未命中过时按此顺序尝试
+     * @param probe      尝试一个选择器，命中时返回非null结果，抛出异常视为未命中
+     * @return 命中的结果，全部未命中返回null
+     */
+    public <T> T resolve(String element, List<String> candidates, Function<String, T> probe) {
+        return resolve(element, candidates, List.of(), probe);
+    }
+
+    /**
+     * 按排名依次尝试候选选择器，都未命中时再按固定顺序尝试兜底选择器
+     *
+     * @param element    逻辑元素名称，如 chatButton
+     * @param candidates 具体的候选选择器，参与排名
+     * @param fallbacks  通配的兜底选择器，始终排在最后，命中时不记录排名
+     * @param probe      尝试一个选择器，命中时返回非null结果，抛出异常视为未命中
+     * @return 命中的结果，全部未命中返回null
+     */
+    public <T> T resolve(String element, List<String> candidates, List<String> fallbacks, Function<String, T> probe) {
+        List<String> ranked = rank(element, candidates);
+        for (int i = 0; i < ranked.size(); i++) {
+            T result = tryProbe(probe, ranked.get(i));
+            if (result != null) {
+                record(element, ranked.get(i), i + 1);
+                return result;
+            }
+        }
+        for (int i = 0; i < fallbacks.size(); i++) {
+            T result = tryProbe(probe, fallbacks.get(i));
+            if (result != null) {
+                log.debug("[{}] {} 由兜底选择器命中: {}", platform, element, fallbacks.get(i));
+                recordFallback(ranked.size() + i + 1);
+                return result;
+            }
+        }
+        record(element, null, ranked.size() + fallbacks.size());
+        return null;
+    }
+
+    private static <T> T tryProbe(Function<String, T> probe, String selector) {
+        try {
+            return probe.apply(selector);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private synchronized List<String> rank(String element, List<String> candidates) {
+        Map<String, Integer> counts = wins.getOrDefault(element, Map.of());
+        String winner = last.get(element);
+        List<String> ranked = new ArrayList<>(candidates);
+        // 稳定排序：上次命中的最先，其次按命中次数，相同时保持原顺序
+        ranked.sort(Comparator.comparing((String s) -> !s.equals(winner))
+                .thenComparing(s -> -counts.getOrDefault(s, 0)));
+        return ranked;
+    }
+
+    private synchronized void recordFallback(int probeCount) {
+        lookups++;
+        probes += probeCount;
+        fallbackHits++;
+    }
+
+    private synchronized void record(String element, String selector, int probeCount) {
+        lookups++;
+        probes += probeCount;
+        if (selector == null) {
+            misses++;
+            return;
+        }
+        if (probeCount == 1) {
+            firstProbeHits++;
+        }
+        wins.computeIfAbsent(element, k -> new HashMap<>()).merge(selector, 1, Integer::sum);
+        if (!selector.equals(last.put(element, selector))) {
+            log.debug("[{}] {} 命中的选择器变为: {}", platform, element, selector);
+            save();
+        }
+    }
+
+    /**
+     * 命中统计
+     *
+     * @return 统计描述
+     */
+    public synchronized String stats() {
+        return String.format("[%s] 选择器查找%d次，首次命中%d次（%.0f%%），兜底命中%d次，未命中%d次，平均尝试%.2f个选择器",
+                platform, lookups, firstProbeHits, lookups == 0 ? 0.0 : firstProbeHits * 100.0 / lookups,
+                fallbackHits, misses, lookups == 0 ? 0.0 : (double) probes / lookups);
+    }
+
+    /**
+     * 保存排名，命中选择器变化时会自动保存，结束运行前调用以保存命中次数
+     */
+    public synchronized void save() {
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, Map<String, Integer>> entry : wins.entrySet()) {
+            json.put(entry.getKey(), new JSONObject()
+                    .put("last", last.get(entry.getKey()))
+                    .put("wins", new JSONObject(entry.getValue())));
+        }
+        try {
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, json.toString(2), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            log.warn("保存选择器排名失败: {}", e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            JSONObject json = new JSONObject(Files.readString(path, StandardCharsets.UTF_8));
+            for (String element : json.keySet()) {
+                JSONObject entry = json.getJSONObject(element);
+                if (entry.has("last")) {
+                    last.put(element, entry.getString("last"));
+                }
+                JSONObject counts = entry.optJSONObject("wins");
+                if (counts != null) {
+                    Map<String, Integer> map = new HashMap<>();
+                    counts.keySet().forEach(s -> map.put(s, counts.getInt(s)));
+                    wins.put(element, map);
+                }
+            }
+            log.info("[{}] 已加载{}个元素的选择器排名", platform, wins.size());
+        } catch (Exception e) {
+            log.warn("读取选择器排名失败，重新统计: {}", e.getMessage());
+        }
+    }
+}
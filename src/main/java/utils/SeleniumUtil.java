@@ -30,7 +30,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
-import static utils.Constant.*;
+import static utils.Constant.WAIT_TIME;
 
 /**
  * @author loks666
@@ -53,43 +53,37 @@ public class SeleniumUtil {
     // 多平台资源映射
     private static final Map<String, PlatformResources> platformResourcesMap = new ConcurrentHashMap<>();
 
-    public static void initDriver(boolean mobile) {
-        initDriver(DEFAULT_PLATFORM, mobile);
+    public static BrowserSession initDriver(boolean mobile) {
+        return initDriver(DEFAULT_PLATFORM, mobile);
     }
 
-    public static void initDriver() {
-        initDriver(DEFAULT_PLATFORM, false);
+    public static BrowserSession initDriver() {
+        return initDriver(DEFAULT_PLATFORM, false);
     }
     
     /**
      * 为特定平台初始化浏览器驱动
      * @param platformName 平台名称
      * @param mobile 是否初始化移动设备驱动
+     * @return 该平台本次运行的浏览器会话
      */
-    public static void initDriver(String platformName, boolean mobile) {
+    public static BrowserSession initDriver(String platformName, boolean mobile) {
         log.info("初始化 [{}] 平台的浏览器驱动...", platformName);
         getChromeDriver(platformName, mobile);
         getActions(platformName);
         getWait(platformName, WAIT_TIME);
-        // 向后兼容：同步回填全局常量，供历史代码直接使用
-        PlatformResources resourcesForCompat = platformResourcesMap.get(platformName);
-        if (resourcesForCompat != null) {
-            try {
-                utils.Constant.CHROME_DRIVER = resourcesForCompat.chromeDriver;
-                utils.Constant.MOBILE_CHROME_DRIVER = resourcesForCompat.mobileChromeDriver;
-                utils.Constant.ACTIONS = resourcesForCompat.actions;
-                utils.Constant.WAIT = resourcesForCompat.wait;
-            } catch (Exception ignore) {
-            }
-        }
+        PlatformResources resources = platformResourcesMap.get(platformName);
+        return new BrowserSession(platformName, resources.chromeDriver, resources.mobileChromeDriver,
+                resources.actions, resources.wait);
     }
     
     /**
      * 为特定平台初始化浏览器驱动（默认非移动设备）
      * @param platformName 平台名称
+     * @return 该平台本次运行的浏览器会话
      */
-    public static void initDriver(String platformName) {
-        initDriver(platformName, false);
+    public static BrowserSession initDriver(String platformName) {
+        return initDriver(platformName, false);
     }
 
     public static void getChromeDriver() {
@@ -406,25 +400,28 @@ public class SeleniumUtil {
         }
     }
 
-    public static Optional<WebElement> findElement(String xpath, String message) {
+    public static Optional<WebElement> findElement(BrowserSession session, String xpath, String message) {
         try {
-            return Optional.of(CHROME_DRIVER.findElement(By.xpath(xpath)));
+            return Optional.of(session.getDriver().findElement(By.xpath(xpath)));
         } catch (Exception e) {
             log.error(message);
             return Optional.empty();
         }
     }
 
-    public static void click(By by) {
+    public static void click(BrowserSession session, By by) {
         try {
-            CHROME_DRIVER.findElement(by).click();
+            session.getDriver().findElement(by).click();
         } catch (Exception e) {
             log.error("click element:{}", by, e);
         }
     }
 
+    /**
+     * 离线检查cookie文件：文件存在且cookie未全部过期
+     */
     public static boolean isCookieValid(String cookiePath) {
-        return Files.exists(Paths.get(cookiePath));
+        return CookieFile.isValid(cookiePath);
     }
 
     /**
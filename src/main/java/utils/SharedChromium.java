@@ -0,0 +1,220 @@
+package utils;
+
+import com.microsoft.playwright.Playwright;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 进程内共享的常驻Chromium进程池
+ * Playwright对象只能在创建它的线程中使用，多个线程无法直接共用同一个Browser对象。
+ * 这里以远程调试模式启动Chromium进程，各线程通过PlaywrightUtil.init用自己的Playwright实例
+ * 连接到其中一个进程并创建独立的BrowserContext：
+ * - 进程按需启动，数量不超过browser.poolSize，优先分配给当前使用者最少的进程
+ * - 平台关闭时只释放上下文，进程保持运行，下一次定时任务可以直接复用，省去浏览器冷启动
+ * - 进程意外退出后会在下次获取时重新启动；JVM退出时关闭全部进程
+ * - 启动参数与Playwright的launch()相同（非无头、不启用沙箱），root用户下也能启动，后台标签页不会被降频
+ */
+@Slf4j
+public class SharedChromium {
+
+    private static final Pattern DEVTOOLS_PATTERN = Pattern.compile("DevTools listening on (ws://\\S+)");
+    private static final long START_TIMEOUT_SECONDS = 30;
+    private static final int POOL_SIZE = Math.max(1, BrowserConfig.init().getPoolSize());
+
+    /**
+     * Playwright 1.51 的launch()为Chromium添加的默认参数（chromiumSwitches与chromiumSandbox=false），
+     * 其中关闭后台定时器降频、渲染进程后台化等参数保证预加载的后台标签页正常加载
+     */
+    private static final List<String> LAUNCH_ARGS = List.of(
+            "--disable-field-trial-config",
+            "--disable-background-networking",
+            "--disable-background-timer-throttling",
+            "--disable-backgrounding-occluded-windows",
+            "--disable-back-forward-cache",
+            "--disable-breakpad",
+            "--disable-client-side-phishing-detection",
+            "--disable-component-extensions-with-background-pages",
+            "--disable-component-update",
+            "--no-default-browser-check",
+            "--disable-default-apps",
+            "--disable-dev-shm-usage",
+            "--disable-extensions",
+            "--disable-features=ImprovedCookieControls,LazyFrameLoading,GlobalMediaControls,DestroyProfileOnBrowserClose,"
+                    + "MediaRouter,DialMediaRouteProvider,AcceptCHFrame,AutoExpandDetailsElement,"
+                    + "CertificateTransparencyComponentUpdater,AvoidUnnecessaryBeforeUnloadCheckSync,Translate,"
+                    + "HttpsUpgrades,PaintHolding,ThirdPartyStoragePartitioning,LensOverlay,PlzDedicatedWorker",
+            "--allow-pre-commit-input",
+            "--disable-hang-monitor",
+            "--disable-ipc-flooding-protection",
+            "--disable-popup-blocking",
+            "--disable-prompt-on-repost",
+            "--disable-renderer-backgrounding",
+            "--force-color-profile=srgb",
+            "--metrics-recording-only",
+            "--no-first-run",
+            "--enable-automation",
+            "--password-store=basic",
+            "--use-mock-keychain",
+            "--no-service-autorun",
+            "--export-tagged-pdf",
+            "--disable-search-engine-choice-screen",
+            "--unsafely-disable-devtools-self-xss-warnings",
+            "--no-sandbox");
+
+    private static final List<Instance> INSTANCES = new ArrayList<>();
+    private static boolean shutdownHookAdded = false;
+
+    private static class Instance {
+        Process process;
+        String endpoint;
+        Path userDataDir;
+        int leases;
+    }
+
+    /**
+     * 获取一个常驻Chromium的调试地址，用完后调用release归还
+     *
+     * @return CDP调试地址
+     */
+    public static synchronized String acquire() {
+        INSTANCES.removeIf(instance -> {
+            boolean dead = !instance.process.isAlive();
+            if (dead) {
+                log.warn("共享Chromium进程已退出，将重新启动: {}", instance.endpoint);
+                destroy(instance);
+            }
+            return dead;
+        });
+        Instance target = null;
+        for (Instance instance : INSTANCES) {
+            if (target == null || instance.leases < target.leases) {
+                target = instance;
+            }
+        }
+        if (target == null || (target.leases > 0 && INSTANCES.size() < POOL_SIZE)) {
+            target = startInstance();
+            INSTANCES.add(target);
+        }
+        target.leases++;
+        return target.endpoint;
+    }
+
+    /**
+     * 归还调试地址，进程保持运行
+     *
+     * @param endpoint acquire得到的调试地址
+     */
+    public static synchronized void release(String endpoint) {
+        for (Instance instance : INSTANCES) {
+            if (instance.endpoint.equals(endpoint) && instance.leases > 0) {
+                instance.leases--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 关闭全部常驻Chromium进程
+     */
+    public static synchronized void stop() {
+        for (Instance instance : INSTANCES) {
+            destroy(instance);
+        }
+        if (!INSTANCES.isEmpty()) {
+            log.info("共享Chromium已全部关闭");
+        }
+        INSTANCES.clear();
+    }
+
+    private static Instance startInstance() {
+        Instance instance = new Instance();
+        try {
+            String executable;
+            try (Playwright playwright = Playwright.create()) {
+                executable = playwright.chromium().executablePath();
+            }
+            instance.userDataDir = Files.createTempDirectory("get-jobs-chromium");
+            List<String> command = new ArrayList<>();
+            command.add(executable);
+            command.addAll(LAUNCH_ARGS);
+            command.add("--remote-debugging-port=0");
+            command.add("--user-data-dir=" + instance.userDataDir);
+            command.add("about:blank");
+            instance.process = new ProcessBuilder(command).start();
+            instance.endpoint = readEndpoint(instance.process).get(START_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (!shutdownHookAdded) {
+                Runtime.getRuntime().addShutdownHook(new Thread(SharedChromium::stop, "shared-chromium-shutdown"));
+                shutdownHookAdded = true;
+            }
+            log.info("共享Chromium已启动，调试地址: {}", instance.endpoint);
+            return instance;
+        } catch (Exception e) {
+            destroy(instance);
+            throw new IllegalStateException("启动共享Chromium失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Chromium启动后会在stderr输出调试地址，之后持续读取stderr避免缓冲区写满阻塞浏览器
+     */
+    private static CompletableFuture<String> readEndpoint(Process process) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    Matcher matcher = DEVTOOLS_PATTERN.matcher(line);
+                    if (!future.isDone() && matcher.find()) {
+                        future.complete(matcher.group(1));
+                    }
+                }
+            } catch (IOException e) {
+                future.completeExceptionally(e);
+            }
+            future.completeExceptionally(new IllegalStateException("Chromium进程已退出"));
+        }, "shared-chromium-stderr");
+        reader.setDaemon(true);
+        reader.start();
+        return future;
+    }
+
+    private static void destroy(Instance instance) {
+        Process process = instance.process;
+        if (process != null) {
+            process.destroy();
+            try {
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+        deleteQuietly(instance.userDataDir);
+    }
+
+    private static void deleteQuietly(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (var paths = Files.walk(dir)) {
+            paths.sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+        } catch (IOException e) {
+            log.debug("删除临时目录失败: {}", e.getMessage());
+        }
+    }
+}
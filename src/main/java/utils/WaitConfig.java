@@ -0,0 +1,52 @@
+package utils;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 等待配置，对应config.yaml中的wait节点
+ * <pre>
+ * wait:
+ *   pacing:
+ *     boss.submit: 1000
+ *     liepin.submit: 1000
+ *     lagou.submit: 2000
+ * </pre>
+ * pacing为各动作之后必须保留的最短停顿（毫秒），模拟真人操作节奏；
+ * 只配置部分动作时，其余动作仍使用默认值，配置为0表示不停顿；没有默认值且未配置的动作不停顿
+ */
+@Data
+@Slf4j
+public class WaitConfig {
+
+    /**
+     * 动作名称到最短停顿时间（毫秒）的映射
+     */
+    private Map<String, Integer> pacing;
+
+    public static WaitConfig init() {
+        WaitConfig config = null;
+        try {
+            config = JobUtils.getConfig(WaitConfig.class);
+        } catch (Exception e) {
+            log.warn("读取wait配置失败，使用默认配置: {}", e.getMessage());
+        }
+        if (config == null) {
+            config = new WaitConfig();
+        }
+        config.pacing = config.pacing == null ? new HashMap<>() : new HashMap<>(config.pacing);
+        // 默认只在发起聊天后保留停顿，避免短时间内连续打招呼
+        config.pacing.putIfAbsent("boss.submit", 1000);
+        config.pacing.putIfAbsent("liepin.submit", 1000);
+        config.pacing.putIfAbsent("liepin.mouse", 50);
+        // 51job更新后翻页过快会触发验证，每页投递前停顿
+        config.pacing.putIfAbsent("job51.page", 10000);
+        // 拉勾投递前保留停顿；详情页或投递弹窗异常时等待一段时间再继续
+        config.pacing.putIfAbsent("lagou.submit", 2000);
+        config.pacing.putIfAbsent("lagou.retry", 10000);
+        return config;
+    }
+}
@@ -0,0 +1,194 @@
+package utils;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitForSelectorState;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 基于条件的等待，替代固定时长的sleep
+ * 每种等待都有超时上限，条件满足立即返回，超时不抛异常，由调用方根据返回值决定后续处理：
+ * - 元素出现、消失或可见
+ * - 元素数量变化（滚动加载）
+ * - 元素文本变化（点击后详情区域刷新）
+ * - 指定地址的接口响应
+ * - 网络空闲、文档加载完成
+ * 需要模拟真人操作节奏的地方调用pace，停顿时间由config.yaml中的wait.pacing配置。
+ */
+@Slf4j
+public class WaitEngine {
+
+    private static final WaitConfig CONFIG = WaitConfig.init();
+
+    /**
+     * 等待元素可见
+     *
+     * @return 超时前元素是否可见
+     */
+    public static boolean visible(Page page, String selector, int timeoutMillis) {
+        return state(page, selector, WaitForSelectorState.VISIBLE, timeoutMillis);
+    }
+
+    /**
+     * 等待元素进入指定状态
+     *
+     * @return 超时前是否进入该状态
+     */
+    public static boolean state(Page page, String selector, WaitForSelectorState state, int timeoutMillis) {
+        try {
+            page.waitForSelector(selector, new Page.WaitForSelectorOptions().setState(state).setTimeout(timeoutMillis));
+            return true;
+        } catch (Exception e) {
+            log.debug("等待元素 {} 进入 {} 状态超时", selector, state);
+            return false;
+        }
+    }
+
+    /**
+     * 等待定位器的第一个元素可见且可用
+     *
+     * @return 超时前是否就绪
+     */
+    public static boolean ready(Locator locator, int timeoutMillis) {
+        try {
+            locator.first().waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE).setTimeout(timeoutMillis));
+            return locator.first().isEnabled();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * 等待匹配的元素数量与previous不同，用于滚动加载
+     *
+     * @param selector CSS选择器
+     * @param previous 之前的数量
+     * @return 当前数量，超时时与previous相同
+     */
+    public static int countChange(Page page, String selector, int previous, int timeoutMillis) {
+        try {
+            page.waitForFunction("([sel, n]) => document.querySelectorAll(sel).length !== n",
+                    List.of(selector, previous), new Page.WaitForFunctionOptions().setTimeout(timeoutMillis));
+        } catch (Exception e) {
+            log.debug("等待 {} 数量变化超时，当前数量: {}", selector, previous);
+        }
+        return page.locator(selector).count();
+    }
+
+    /**
+     * 等待元素文本与previous不同，用于点击后等待内容刷新
+     *
+     * @param selector CSS选择器
+     * @param previous 之前的文本，为null时只等待元素出现且文本非空
+     * @return 超时前文本是否已变化
+     */
+    public static boolean textChange(Page page, String selector, String previous, int timeoutMillis) {
+        try {
+            page.waitForFunction("([sel, prev]) => { const el = document.querySelector(sel);"
+                            + " return !!el && el.innerText.trim() !== '' && el.innerText !== prev; }",
+                    Arrays.asList(selector, previous), new Page.WaitForFunctionOptions().setTimeout(timeoutMillis));
+            return true;
+        } catch (Exception e) {
+            log.debug("等待 {} 文本变化超时", selector);
+            return false;
+        }
+    }
+
+    /**
+     * 等待输入框被清空（或被移除），用于判断消息已发出
+     *
+     * @return 超时前是否已清空
+     */
+    public static boolean inputCleared(Page page, Locator input, int timeoutMillis) {
+        try {
+            page.waitForFunction("el => !el.isConnected || (el.value !== undefined ? el.value : el.innerText).trim() === ''",
+                    input.elementHandle(), new Page.WaitForFunctionOptions().setTimeout(timeoutMillis));
+            return true;
+        } catch (Exception e) {
+            log.debug("等待输入框清空超时");
+            return false;
+        }
+    }
+
+    /**
+     * 执行操作并等待地址包含urlPart的接口响应
+     *
+     * @return 接口响应，超时返回null
+     */
+    public static Response response(Page page, String urlPart, int timeoutMillis, Runnable action) {
+        try {
+            return page.waitForResponse(response -> response.url().contains(urlPart),
+                    new Page.WaitForResponseOptions().setTimeout(timeoutMillis), action);
+        } catch (Exception e) {
+            log.debug("等待接口 {} 响应超时", urlPart);
+            return null;
+        }
+    }
+
+    /**
+     * 等待网络空闲（500ms内没有新的请求）
+     *
+     * @return 超时前是否空闲
+     */
+    public static boolean networkIdle(Page page, int timeoutMillis) {
+        return loadState(page, LoadState.NETWORKIDLE, timeoutMillis);
+    }
+
+    /**
+     * 等待页面达到指定加载状态
+     *
+     * @return 超时前是否达到
+     */
+    public static boolean loadState(Page page, LoadState state, int timeoutMillis) {
+        try {
+            page.waitForLoadState(state, new Page.WaitForLoadStateOptions().setTimeout(timeoutMillis));
+            return true;
+        } catch (Exception e) {
+            log.debug("等待页面 {} 超时", state);
+            return false;
+        }
+    }
+
+    /**
+     * 等待Selenium条件满足
+     *
+     * @return 条件的结果，超时返回null
+     */
+    public static <T> T until(BrowserSession session, ExpectedCondition<T> condition, int timeoutSeconds) {
+        try {
+            return session.waitFor(timeoutSeconds).until(condition);
+        } catch (Exception e) {
+            log.debug("等待条件超时: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 等待Selenium页面文档加载完成
+     *
+     * @return 超时前是否加载完成
+     */
+    public static boolean documentReady(BrowserSession session, int timeoutSeconds) {
+        return until(session, driver -> "complete".equals(((JavascriptExecutor) driver).executeScript("return document.readyState")),
+                timeoutSeconds) != null;
+    }
+
+    /**
+     * 保留配置的最短停顿，模拟真人操作节奏；未配置的动作立即返回
+     *
+     * @param action 动作名称，如 boss.submit
+     */
+    public static void pace(String action) {
+        Integer millis = CONFIG.getPacing().get(action);
+        if (millis != null && millis > 0) {
+            PlaywrightUtil.sleepMillis(millis);
+        }
+    }
+}
@@ -7,9 +7,18 @@ import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utils.AppliedIndex;
+import utils.BrowserSession;
+import utils.CrossPlatformIndex;
 import utils.Job;
+import utils.JobDedupe;
 import utils.JobUtils;
+import utils.LoginWaiter;
+import utils.Platform;
+import utils.RunReport;
+import utils.SelectorRegistry;
 import utils.SeleniumUtil;
+import utils.WaitEngine;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -17,7 +26,6 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static utils.Bot.sendMessageByTime;
-import static utils.Constant.*;
 import static utils.JobUtils.formatDuration;
 
 /**
@@ -38,46 +46,74 @@ public class ZhiLian {
     static ZhilianConfig config = ZhilianConfig.init();
     static List<Job> resultList = new ArrayList<>();
     static Date startDate;
-    // 平台特定的浏览器实例
-    private static ChromeDriver driver;
-    private static WebDriverWait wait;
-    private static Actions actions;
+    static String appliedPath = "./src/main/java/zhilian/applied.log";
+    static AppliedIndex applied;
+    // 本次运行中各关键词之间共享的岗位去重
+    static JobDedupe dedupe = new JobDedupe();
+    static CrossPlatformIndex crossPlatform = CrossPlatformIndex.shared();
+    // 智联页面加载较慢，等待时间比默认值更长
+    private static final int WAIT_SECONDS = 60;
+    static SelectorRegistry selectors = SelectorRegistry.of("zhilian");
+    static String cookiePath = "./src/main/java/zhilian/cookie.json";
+    // 全选与批量投递按钮的候选选择器，以//开头的为XPath，其余为CSS
+    private static final List<String> SELECT_ALL_CANDIDATES = List.of(
+            "//i[@class='betch__checkall__checkbox']",
+            ".betch__checkall__checkbox, .checkall .checkbox, .select-all input, .select-all .checkbox",
+            "//div[contains(@class,'checkall') or contains(@class,'select-all')]//input | //div[contains(@class,'checkall') or contains(@class,'select-all')]//i");
+    private static final List<String> SUBMIT_CANDIDATES = List.of(
+            "//button[@class='betch__button']",
+            ".betch__button, button.apply, button.submit, button[class*='batch']",
+            "//button[contains(text(),'投递') or contains(text(),'申请') or contains(text(),'提交')]");
 
     public static void main(String[] args) {
         log.info("智联招聘投递任务开始");
         try {
             // 使用平台特定的浏览器实例初始化
-            SeleniumUtil.initDriver("zhilian");
-            driver = SeleniumUtil.getChromeDriverInstance("zhilian");
+            BrowserSession session = SeleniumUtil.initDriver("zhilian");
+            ChromeDriver driver = session.getDriver();
             if (driver == null) {
                 log.error("获取智联招聘浏览器实例失败");
+                RunReport.fail("zhilian", "获取浏览器实例失败");
                 return;
             }
-            wait = SeleniumUtil.fetchWait("zhilian", 60);
-            actions = SeleniumUtil.fetchActions("zhilian");
             startDate = new Date();
-            login();
+            applied = AppliedIndex.open(appliedPath);
+            dedupe = new JobDedupe();
+            login(session);
             config.getKeywords().forEach(keyword -> {
                 if (isLimit) {
                     return;
                 }
                 driver.get(getSearchUrl(keyword, 1));
-                submitJobs(keyword);
+                submitJobs(session, keyword);
             });
             log.info(resultList.isEmpty() ? "未投递新的岗位..." : "新投递公司如下:\n{}", resultList.stream().map(Object::toString).collect(Collectors.joining("\n")));
+            log.info(selectors.stats());
+            selectors.save();
+            log.info(applied.stats());
+            log.info(crossPlatform.stats());
             printResult();
         } catch (Exception e) {
             log.error("智联招聘投递任务发生异常", e);
+            RunReport.fail("zhilian", e.getMessage());
             printResult();
         } finally {
+            if (applied != null) {
+                applied.close();
+            }
             // 关闭该平台的浏览器实例
             SeleniumUtil.closePlatform("zhilian");
         }
     }
 
+    private static By toBy(String selector) {
+        return selector.startsWith("//") ? By.xpath(selector) : By.cssSelector(selector);
+    }
+
     private static void printResult() {
-        String message = String.format("\n智联招聘投递完成，共投递%d个岗位，用时%s", resultList.size(), formatDuration(startDate, new Date()));
+        String message = String.format("\n智联招聘投递完成，共投递%d个岗位，跳过重复岗位%d个，用时%s", resultList.size(), dedupe.duplicates(), formatDuration(startDate, new Date()));
         log.info(message);
+        RunReport.record("zhilian", resultList.size(), dedupe.duplicates() + (applied == null ? 0 : applied.skipped()));
         try {
             sendMessageByTime(message);
         } catch (Exception e) {
@@ -86,14 +122,61 @@ public class ZhiLian {
         resultList.clear();
         
         // 确保所有日志都被刷新到文件
-        try {
-            Thread.sleep(1000); // 等待1秒确保日志写入完成
-            // 强制刷新日志 - 使用正确的方法
-            ch.qos.logback.classic.LoggerContext loggerContext = (ch.qos.logback.classic.LoggerContext) org.slf4j.LoggerFactory.getILoggerFactory();
-            loggerContext.stop();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        JobUtils.flushLogs();
+    }
+
+    /**
+     * 取消勾选之前的运行中已投递过、本次运行中其他关键词已投递过、或已在其他平台投递过的岗位，未勾选的岗位不登记
+     *
+     * @param kept 收集仍勾选且取到公司与岗位名称的岗位
+     * @return 仍勾选的新岗位数量，无法判断勾选状态时返回-1
+     */
+    private static int deselectDuplicates(ChromeDriver driver, List<String[]> kept) {
+        int checked = 0;
+        int fresh = 0;
+        for (WebElement item : driver.findElements(By.xpath("//div[contains(@class,'joblist-box__item')]"))) {
+            try {
+                List<WebElement> boxes = item.findElements(By.xpath(".//input[@type='checkbox' or contains(@class,'checkbox')] | .//i[contains(@class,'checkbox')]"));
+                if (boxes.isEmpty()) {
+                    continue;
+                }
+                WebElement box = boxes.get(0);
+                if (!box.isSelected() && !String.valueOf(box.getDomAttribute("class")).contains("checked")) {
+                    continue;
+                }
+                checked++;
+                List<WebElement> links = item.findElements(By.cssSelector("a[href*='jobdetail']"));
+                String href = links.isEmpty() ? null : links.get(0).getDomProperty("href");
+                String key = href == null ? null : href.split("\\?")[0];
+                String jobName = firstText(item, "[class*='jobinfo__name']");
+                String companyName = firstText(item, "[class*='companyinfo__name']");
+                if (jobName != null && companyName != null && applied.isKnown(AppliedIndex.key(companyName, jobName))) {
+                    log.info("之前已投递，取消勾选：{} - {}", companyName, jobName);
+                    ((JavascriptExecutor) driver).executeScript("arguments[0].click();", box);
+                    continue;
+                }
+                Platform owner = crossPlatform.claimedBy(Platform.ZHILIAN, companyName, jobName, null);
+                if (owner != null) {
+                    log.info("同一岗位已在{}投递，取消勾选：{} - {}", owner.getPlatformName(), companyName, jobName);
+                }
+                if (owner == null && dedupe.firstSeen(key)) {
+                    fresh++;
+                    if (jobName != null && companyName != null) {
+                        kept.add(new String[]{companyName, jobName});
+                    }
+                } else {
+                    ((JavascriptExecutor) driver).executeScript("arguments[0].click();", box);
+                }
+            } catch (Exception e) {
+                log.debug("检查重复岗位失败: {}", e.getMessage());
+            }
         }
+        return checked == 0 ? -1 : fresh;
+    }
+
+    private static String firstText(WebElement item, String css) {
+        List<WebElement> elements = item.findElements(By.cssSelector(css));
+        return elements.isEmpty() ? null : elements.get(0).getText();
     }
 
     private static String getSearchUrl(String keyword, int page) {
@@ -104,12 +187,14 @@ public class ZhiLian {
                 "&p=" + page;
     }
 
-    private static void submitJobs(String keyword) {
+    private static void submitJobs(BrowserSession session, String keyword) {
+        ChromeDriver driver = session.getDriver();
+        WebDriverWait wait = session.waitFor(WAIT_SECONDS);
         if (isLimit) {
             return;
         }
         wait.until(ExpectedConditions.presenceOfElementLocated(By.xpath("//div[contains(@class, 'joblist-box__item')]")));
-        setMaxPages();
+        setMaxPages(session);
         for (int i = 1; i <= maxPage; i++) {
             if (i != 1) {
                 driver.get(getSearchUrl(keyword, i));
@@ -120,24 +205,14 @@ public class ZhiLian {
                 wait.until(ExpectedConditions.presenceOfElementLocated(By.xpath("//div[@class='positionlist']")));
             } catch (Exception ignore) {
                 driver.navigate().refresh();
-                SeleniumUtil.sleep(1);
+                WaitEngine.documentReady(session, 10);
             }
             // 全选（增强选择器 + 回退为逐条勾选前 N 个）
             boolean selectedAny = false;
             try {
-                // 多种候选选择器
-                By[] allSelectors = new By[] {
-                        By.xpath("//i[@class='betch__checkall__checkbox']"),
-                        By.cssSelector(".betch__checkall__checkbox, .checkall .checkbox, .select-all input, .select-all .checkbox"),
-                        By.xpath("//div[contains(@class,'checkall') or contains(@class,'select-all')]//input | //div[contains(@class,'checkall') or contains(@class,'select-all')]//i")
-                };
-                WebElement allSelect = null;
-                for (By by : allSelectors) {
-                    try {
-                        allSelect = wait.until(ExpectedConditions.presenceOfElementLocated(by));
-                        if (allSelect != null) break;
-                    } catch (Exception ignore) {}
-                }
+                // 多种候选选择器，按历史命中排名尝试，未命中的候选要等到超时，排名靠前可以省去这段等待
+                WebElement allSelect = selectors.resolve("selectAll", SELECT_ALL_CANDIDATES,
+                        selector -> wait.until(ExpectedConditions.presenceOfElementLocated(toBy(selector))));
                 if (allSelect != null) {
                     ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block:'center'});", allSelect);
                     wait.until(ExpectedConditions.elementToBeClickable(allSelect));
@@ -165,34 +240,34 @@ public class ZhiLian {
                     continue;
                 }
             }
+            // 本页仍勾选的岗位（公司、岗位名称），投递成功后记录到已投递索引与跨平台索引
+            List<String[]> pageJobs = new ArrayList<>();
+            if (deselectDuplicates(driver, pageJobs) == 0) {
+                log.info("本页勾选的岗位均已在其他关键词或其他平台下投递，跳过本页");
+                continue;
+            }
 
             // 投递（增强选择器 + JS 点击）
-            WebElement submit = null;
-            By[] submitSelectors = new By[] {
-                    By.xpath("//button[@class='betch__button']"),
-                    By.cssSelector(".betch__button, button.apply, button.submit, button[class*='batch']"),
-                    By.xpath("//button[contains(text(),'投递') or contains(text(),'申请') or contains(text(),'提交')]")
-            };
-            for (By by : submitSelectors) {
-                try {
-                    submit = wait.until(ExpectedConditions.presenceOfElementLocated(by));
-                    if (submit != null) break;
-                } catch (Exception ignore) {}
-            }
+            WebElement submit = selectors.resolve("batchSubmit", SUBMIT_CANDIDATES,
+                    selector -> wait.until(ExpectedConditions.presenceOfElementLocated(toBy(selector))));
             if (submit == null) {
                 log.info("未找到投递按钮，跳过本页");
                 continue;
             }
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block:'center'});", submit);
             wait.until(ExpectedConditions.elementToBeClickable(submit));
+            int windows = driver.getWindowHandles().size();
             ((JavascriptExecutor) driver).executeScript("arguments[0].click();", submit);
-            if (checkIsLimit()) {
+            // 投递后在新标签页打开结果页，达到上限时改为弹出提示
+            WaitEngine.until(session, d -> d.getWindowHandles().size() > windows
+                    || !d.findElements(By.xpath("//div[@class='a-job-apply-workflow']")).isEmpty(), 10);
+            if (checkIsLimit(session)) {
                 break;
             }
-            SeleniumUtil.sleep(1);
             // 切换到新的标签页
             ArrayList<String> tabs = new ArrayList<>(driver.getWindowHandles());
             driver.switchTo().window(tabs.get(tabs.size() - 1));
+            WaitEngine.documentReady(session, 10);
             
             // 尝试发送打招呼消息
             try {
@@ -201,11 +276,11 @@ public class ZhiLian {
                 if (!contactButtons.isEmpty()) {
                     WebElement contactButton = contactButtons.get(0);
                     contactButton.click();
-                    SeleniumUtil.sleep(2);
                     
                     // 查找消息输入框
                     try {
-                        WebElement messageInput = driver.findElement(By.xpath(".//*[@class='message-input' or @class='chat-input' or @placeholder='请输入消息内容' or @type='text']"));
+                        WebElement messageInput = WaitEngine.until(session, ExpectedConditions.visibilityOfElementLocated(
+                                By.xpath(".//*[@class='message-input' or @class='chat-input' or @placeholder='请输入消息内容' or @type='text']")), 5);
                         if (messageInput != null) {
                             String greeting = "您好，我对贵公司的岗位很感兴趣，期待能进一步沟通！";
                             messageInput.sendKeys(greeting);
@@ -215,7 +290,6 @@ public class ZhiLian {
                             if (sendButton != null) {
                                 sendButton.click();
                                 log.info("成功发送打招呼消息");
-                                SeleniumUtil.sleep(1);
                             }
                         }
                     } catch (Exception e) {
@@ -228,9 +302,15 @@ public class ZhiLian {
             
             //关闭弹框
             try {
-                WebElement result = driver.findElement(By.xpath("//div[@class='deliver-dialog']"));
-                if (result.getText().contains("申请成功")) {
+                WebElement result = WaitEngine.until(session, ExpectedConditions.visibilityOfElementLocated(By.xpath("//div[@class='deliver-dialog']")), 10);
+                if (result == null) {
+                    log.error("投递弹框未出现...");
+                } else if (result.getText().contains("申请成功")) {
                     log.info("岗位申请成功！");
+                    for (String[] job : pageJobs) {
+                        applied.markApplied(AppliedIndex.key(job[0], job[1]));
+                        crossPlatform.record(Platform.ZHILIAN, job[0], job[1], null);
+                    }
                 }
             } catch (Exception e) {
                 log.error("关闭投递弹框失败...");
@@ -239,7 +319,7 @@ public class ZhiLian {
                 WebElement close = driver.findElement(By.xpath("//img[@title='close-icon']"));
                 close.click();
             } catch (Exception e) {
-                if (checkIsLimit()) {
+                if (checkIsLimit(session)) {
                     break;
                 }
             }
@@ -249,11 +329,17 @@ public class ZhiLian {
                 if (!checkButton.isSelected()) {
                     checkButton.click();
                 }
-                List<WebElement> jobs = driver.findElements(By.xpath("//div[@class='recommend-job']"));
-                WebElement post = driver.findElement(By.xpath("//div[contains(@class, 'applied-select-all')]//button"));
-                post.click();
-                printRecommendJobs(jobs);
-                log.info("相似职位投递成功！");
+                List<WebElement> jobs = deselectRecommendJobs(driver, driver.findElements(By.xpath("//div[@class='recommend-job']")));
+                if (jobs == null) {
+                    log.info("存在无法取消勾选的已投递相似职位，跳过相似职位投递");
+                } else if (jobs.isEmpty()) {
+                    log.info("相似职位均已投递，跳过相似职位投递");
+                } else {
+                    WebElement post = driver.findElement(By.xpath("//div[contains(@class, 'applied-select-all')]//button"));
+                    post.click();
+                    printRecommendJobs(jobs);
+                    log.info("相似职位投递成功！");
+                }
             } catch (NoSuchElementException e) {
                 log.error("没有匹配到相似职位...");
             } catch (Exception e) {
@@ -265,9 +351,9 @@ public class ZhiLian {
         }
     }
 
-    private static boolean checkIsLimit() {
+    private static boolean checkIsLimit(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
         try {
-            SeleniumUtil.sleepByMilliSeconds(500);
             WebElement result = driver.findElement(By.xpath("//div[@class='a-job-apply-workflow']"));
             if (result.getText().contains("达到上限")) {
                 log.info("今日投递已达上限！");
@@ -280,7 +366,9 @@ public class ZhiLian {
         }
     }
 
-    private static void setMaxPages() {
+    private static void setMaxPages(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
+        Actions actions = session.getActions();
         try {
             // 到底部
             actions.keyDown(Keys.CONTROL).sendKeys(Keys.END).keyUp(Keys.CONTROL).perform();
@@ -302,6 +390,35 @@ public class ZhiLian {
         }
     }
 
+    /**
+     * 取消勾选之前已投递过、或已在其他平台投递过的相似职位
+     *
+     * @return 仍勾选的相似职位，需要跳过的职位无法取消勾选时返回null
+     */
+    private static List<WebElement> deselectRecommendJobs(ChromeDriver driver, List<WebElement> jobs) {
+        List<WebElement> kept = new ArrayList<>();
+        for (WebElement job : jobs) {
+            String jobName = firstText(job, "[class*='recommend-job__position']");
+            String companyName = firstText(job, "[class*='recommend-job__cname']");
+            boolean known = jobName != null && companyName != null && applied.isKnown(AppliedIndex.key(companyName, jobName));
+            Platform owner = known ? null : crossPlatform.claimedBy(Platform.ZHILIAN, companyName, jobName, null);
+            if (!known && owner == null) {
+                kept.add(job);
+                continue;
+            }
+            List<WebElement> boxes = job.findElements(By.xpath(".//input[@type='checkbox'] | .//*[contains(@class,'checkbox')]"));
+            if (boxes.isEmpty()) {
+                return null;
+            }
+            WebElement box = boxes.get(0);
+            if (box.isSelected() || String.valueOf(box.getDomAttribute("class")).contains("checked")) {
+                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", box);
+            }
+            log.info("相似职位已在{}投递，取消勾选：{} - {}", (known ? Platform.ZHILIAN : owner).getPlatformName(), companyName, jobName);
+        }
+        return kept;
+    }
+
     private static void printRecommendJobs(List<WebElement> jobs) {
         jobs.forEach(j -> {
             String jobName = j.findElement(By.xpath(".//*[contains(@class, 'recommend-job__position')]")).getText();
@@ -318,22 +435,33 @@ public class ZhiLian {
             job.setJobInfo(years + "·" + education);
             log.info("投递【{}】公司【{}】岗位，薪资【{}】，要求【{}·{}】，规模【{}】", companyName, jobName, salary, years, education, companyTag);
             resultList.add(job);
+            applied.markApplied(AppliedIndex.key(companyName, jobName));
+            crossPlatform.record(Platform.ZHILIAN, companyName, jobName, null);
         });
     }
 
-    private static void login() {
+    /**
+     * 离线检查登录状态是否有效（不打开浏览器）
+     */
+    public static boolean isLoginValid() {
+        return SeleniumUtil.isCookieValid(cookiePath);
+    }
+
+    private static void login(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
         driver.get(loginUrl);
-        if (SeleniumUtil.isCookieValid("./src/main/java/zhilian/cookie.json")) {
-            SeleniumUtil.loadCookie("./src/main/java/zhilian/cookie.json", "zhilian");
+        if (SeleniumUtil.isCookieValid(cookiePath)) {
+            SeleniumUtil.loadCookie("zhilian", cookiePath);
             driver.navigate().refresh();
-            SeleniumUtil.sleep(1);
+            WaitEngine.documentReady(session, 10);
         }
-        if (isLoginRequired()) {
-            scanLogin();
+        if (isLoginRequired(session)) {
+            scanLogin(session);
         }
     }
 
-    private static void scanLogin() {
+    private static void scanLogin(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
         int maxRetries = 3;
         int retryCount = 0;
         
@@ -362,27 +490,14 @@ public class ZhiLian {
                 button.click();
                 log.info("等待扫码登录中... ({}秒后超时，可刷新页面重新扫码)", 60 * (retryCount + 1));
                 
-                // 使用自定义等待逻辑，避免直接抛出异常
-                long endTime = System.currentTimeMillis() + 60000L * (retryCount + 1); // 动态增加等待时间
-                boolean loginSuccess = false;
-                
-                while (System.currentTimeMillis() < endTime) {
-                    try {
-                        if (isLoginRequired()) {
-                            SeleniumUtil.sleep(2);
-                            continue;
-                        }
-                        loginSuccess = true;
-                        break;
-                    } catch (Exception e) {
-                        SeleniumUtil.sleep(2);
-                    }
-                }
+                // 推送二维码并检测登录状态，等待时间随重试次数增加
+                boolean loginSuccess = LoginWaiter.await("智联招聘", () -> !isLoginRequired(session),
+                        () -> driver.getScreenshotAs(OutputType.BYTES), 60000L * (retryCount + 1));
                 
                 if (loginSuccess) {
                     log.info("扫码登录成功！");
                     try {
-                        SeleniumUtil.saveCookie("./src/main/java/zhilian/cookie.json");
+                        SeleniumUtil.saveCookie("zhilian", cookiePath);
                         log.info("Cookie已保存");
                     } catch (Exception e) {
                         log.warn("保存Cookie失败，但不影响登录状态: {}", e.getMessage());
@@ -391,7 +506,7 @@ public class ZhiLian {
                 } else {
                     log.warn("扫码登录超时，正在重试 ({}/{})...", retryCount + 1, maxRetries);
                     SeleniumUtil.sleep(3);
-                    CHROME_DRIVER.navigate().refresh();
+                    driver.navigate().refresh();
                     SeleniumUtil.sleep(3);
                 }
                 
@@ -410,7 +525,8 @@ public class ZhiLian {
         // 不再使用System.exit，让调用者决定如何处理
     }
 
-    private static boolean isLoginRequired() {
+    private static boolean isLoginRequired(BrowserSession session) {
+        ChromeDriver driver = session.getDriver();
         return !driver.getCurrentUrl().contains("i.zhaopin.com");
     }
 }
@@ -0,0 +1,90 @@
+package utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 黑名单匹配基准：逐个关键词contains（原有stream写法）与KeywordMatcher.find对比
+ * 每次调用检查一批随机生成的公司名称，约5%包含黑名单关键词，结果按每条文本的平均耗时输出。
+ * 运行：mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main KeywordMatcherBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeywordMatcherBenchmark {
+
+    private static final String HAN = "科技网络信息数据智能软件服务咨询教育文化传媒电子商务金融投资管理集团有限公司深圳北京上海杭州广州";
+    private static final int TEXT_COUNT = 1000;
+
+    /**
+     * 黑名单规则数量
+     */
+    @Param({"50", "500", "5000"})
+    private int ruleCount;
+
+    private Set<String> rules;
+    private KeywordMatcher matcher;
+    private List<String> texts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rules = new HashSet<>();
+        while (rules.size() < ruleCount) {
+            rules.add(randomHan(random, 3 + random.nextInt(4)));
+        }
+        List<String> ruleList = new ArrayList<>(rules);
+        texts = new ArrayList<>(TEXT_COUNT);
+        for (int i = 0; i < TEXT_COUNT; i++) {
+            String text = randomHan(random, 8 + random.nextInt(8));
+            if (random.nextInt(20) == 0) {
+                text = text.substring(0, 4) + ruleList.get(random.nextInt(ruleList.size())) + text.substring(4);
+            }
+            texts.add(text);
+        }
+        matcher = KeywordMatcher.of(rules);
+    }
+
+    @Benchmark
+    public void streamAnyMatch(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(rules.stream().anyMatch(text::contains));
+        }
+    }
+
+    @Benchmark
+    public void keywordMatcherFind(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(matcher.find(text));
+        }
+    }
+
+    private static String randomHan(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(HAN.charAt(random.nextInt(HAN.length())));
+        }
+        return sb.toString();
+    }
+}
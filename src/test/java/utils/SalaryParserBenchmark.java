@@ -0,0 +1,103 @@
+package utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 薪资解析基准：原Boss薪资处理流程（HashMap字体还原、正则清理、Integer[]、BigDecimal换算）与SalaryParser对比
+ * 原流程已从Boss中移除，这里保留一份作为对比基线。每次调用解析一组常见的薪资写法，含Boss的字体加密数字。
+ * 运行：mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main SalaryParserBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SalaryParserBenchmark {
+
+    private static final String[] SAMPLES = {
+            "15-25K", "15-25K·14薪", "20-40K·16薪", "200-300元/天", "8-12K", "30-60K·15薪", "150-200元/天", "10-15K·13薪",
+            "\uE031\uE035-\uE032\uE035K", "\uE032\uE030-\uE033\uE030K·\uE031\uE034薪"
+    };
+    private static final List<Integer> EXPECTED = List.of(15, 30);
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (String sample : SAMPLES) {
+            blackhole.consume(legacyNotExpected(legacyDecode(sample)));
+        }
+    }
+
+    @Benchmark
+    public void salaryParser(Blackhole blackhole) {
+        for (String sample : SAMPLES) {
+            blackhole.consume(SalaryParser.isNotExpected(sample, EXPECTED));
+        }
+    }
+
+    /**
+     * 原Boss.decodeSalary
+     */
+    private static String legacyDecode(String text) {
+        Map<Character, Character> fontMap = new HashMap<>();
+        for (char c = 0; c < 10; c++) {
+            fontMap.put((char) ('\uE030' + c), (char) ('0' + c));
+        }
+        StringBuilder result = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            result.append(fontMap.getOrDefault(c, c));
+        }
+        return result.toString();
+    }
+
+    /**
+     * 原Boss.isSalaryNotExpected及其调用的清理、解析、比较方法
+     */
+    private static boolean legacyNotExpected(String salary) {
+        try {
+            if (salary.contains("薪")) {
+                salary = salary.replaceAll("·\\d+薪", "");
+            }
+            salary = salary.replace("K", "").replace("k", "");
+            int dotIndex = salary.indexOf('·');
+            if (dotIndex != -1) {
+                salary = salary.substring(0, dotIndex);
+            }
+            boolean day = salary.contains("元/天");
+            if (day) {
+                salary = salary.replaceAll("元/天", "");
+            }
+            Integer[] range = Arrays.stream(salary.split("-")).map(s -> s.replaceAll("[^0-9]", ""))
+                    .map(Integer::parseInt).toArray(Integer[]::new);
+            Integer min = EXPECTED.get(0);
+            Integer max = EXPECTED.get(1);
+            if (day) {
+                max = BigDecimal.valueOf(max).multiply(BigDecimal.valueOf(1000))
+                        .divide(BigDecimal.valueOf(21.75), 0, RoundingMode.HALF_UP).intValue();
+                min = BigDecimal.valueOf(min).multiply(BigDecimal.valueOf(1000))
+                        .divide(BigDecimal.valueOf(21.75), 0, RoundingMode.HALF_UP).intValue();
+            }
+            return range[1] < min || range[0] > max;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}